@@ -0,0 +1,70 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response mapping and JSON serialization of a submitted and a reviewed consultation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultationResponseBenchmark {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    private ObjectMapper objectMapper;
+    private Consultation submitted;
+    private Consultation reviewed;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        submitted = new Consultation(IDS.nextId(), "pear-allergy", List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "NO"),
+                new Answer("Q4", "NO")
+        ), EligibilityResult.eligible());
+        reviewed = submitted.withDoctorReview(
+                new DoctorReview("dr-smith", Instant.now(), true, "Approved for treatment"));
+    }
+
+    @Benchmark
+    public ConsultationResponse from_submitted() {
+        return ConsultationResponse.from(submitted);
+    }
+
+    @Benchmark
+    public byte[] serialize_submitted() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ConsultationResponse.from(submitted));
+    }
+
+    @Benchmark
+    public byte[] serialize_reviewed() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ConsultationResponse.from(reviewed));
+    }
+}
@@ -0,0 +1,103 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Heap footprint and GC cost of holding {@code consultations} records in
+ * {@link InMemoryConsultationRepository} versus {@link OffHeapConsultationRepository}.
+ * Each measurement fills a fresh store; the {@code heapUsedBytes}, {@code offHeapBytes},
+ * {@code gcCount} and {@code gcPauseMillis} counters are reported next to the fill time
+ * (the {@code gc} profiler adds allocation rates).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-XX:MaxDirectMemorySize=4g"})
+public class ConsultationStoreFootprintBenchmark {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    @Param({"heap", "off-heap"})
+    public String store;
+
+    @Param({"1000000"})
+    public int consultations;
+
+    private ConsultationRepository repository;
+    private List<Answer> answers;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long heapUsedBytes;
+        public long offHeapBytes;
+        public long gcCount;
+        public long gcPauseMillis;
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repository = null;
+        System.gc();
+        answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"), new Answer("Q3", "NO"));
+    }
+
+    @Benchmark
+    public ConsultationRepository fill(Footprint footprint) {
+        repository = "off-heap".equals(store) ? new OffHeapConsultationRepository() : new InMemoryConsultationRepository();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        for (int i = 0; i < consultations; i++) {
+            repository.save(new Consultation(IDS.nextId(), "pear-allergy", answers,
+                    i % 4 == 0 ? EligibilityResult.ineligible("Not suitable") : EligibilityResult.eligible(), 1L));
+        }
+        footprint.gcCount = gcCount() - gcCountBefore;
+        footprint.gcPauseMillis = gcMillis() - gcMillisBefore;
+
+        System.gc();
+        footprint.heapUsedBytes = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        footprint.offHeapBytes = repository instanceof OffHeapConsultationRepository offHeap ? offHeap.usedBytes() : 0L;
+        return repository;
+    }
+
+    private static long gcCount() {
+        long total = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0L, gc.getCollectionCount());
+        }
+        return total;
+    }
+
+    private static long gcMillis() {
+        long total = 0L;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            total += Math.max(0L, gc.getCollectionTime());
+        }
+        return total;
+    }
+}
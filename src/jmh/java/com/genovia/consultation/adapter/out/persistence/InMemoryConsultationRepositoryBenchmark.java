@@ -0,0 +1,78 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mixed save/findById load on {@link InMemoryConsultationRepository}: two writer threads
+ * and six reader threads share one repository.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryConsultationRepositoryBenchmark {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    private static final int PRELOADED = 10_000;
+
+    private InMemoryConsultationRepository repository;
+    private String[] ids;
+    private List<Answer> answers;
+    private EligibilityResult eligibilityResult;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repository = new InMemoryConsultationRepository();
+        answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"));
+        eligibilityResult = EligibilityResult.eligible();
+        ids = new String[PRELOADED];
+        for (int i = 0; i < PRELOADED; i++) {
+            ids[i] = repository.save(new Consultation(IDS.nextId(), "pear-allergy", answers, eligibilityResult)).getId();
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        repository.clear();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public Consultation save() {
+        return repository.save(new Consultation(IDS.nextId(), "pear-allergy", answers, eligibilityResult));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Optional<Consultation> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(PRELOADED)]);
+    }
+}
@@ -0,0 +1,103 @@
+package com.genovia.consultation.adapter.out.persistence.jdbc;
+
+import com.genovia.consultation.adapter.out.persistence.InMemoryConsultationRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * save and findById throughput of {@link JdbcConsultationRepository} on an embedded H2 file
+ * versus {@link InMemoryConsultationRepository}, from eight threads so the JDBC writer can
+ * coalesce concurrent saves into shared transactions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class JdbcConsultationRepositoryBenchmark {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    private static final int PRELOADED = 10_000;
+
+    @Param({"in-memory", "jdbc"})
+    public String store;
+
+    private ConsultationRepository repository;
+    private Path directory;
+    private String[] ids;
+    private List<Answer> answers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"), new Answer("Q3", "NO"));
+        if ("jdbc".equals(store)) {
+            directory = Files.createTempDirectory("consultation-jdbc-bench");
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:file:" + directory.resolve("consultations").toAbsolutePath());
+            dataSource.setMaximumPoolSize(8);
+            repository = new JdbcConsultationRepository(dataSource, 512);
+        } else {
+            repository = new InMemoryConsultationRepository();
+        }
+        ids = new String[PRELOADED];
+        for (int i = 0; i < PRELOADED; i++) {
+            ids[i] = repository.save(new Consultation(IDS.nextId(), "pear-allergy", answers, EligibilityResult.eligible())).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (repository instanceof JdbcConsultationRepository jdbc) {
+            jdbc.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Consultation save() {
+        return repository.save(new Consultation(IDS.nextId(), "pear-allergy", answers, EligibilityResult.eligible()));
+    }
+
+    @Benchmark
+    public Optional<Consultation> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(PRELOADED)]);
+    }
+}
@@ -0,0 +1,115 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import com.genovia.consultation.adapter.out.persistence.ConsultationBinaryCodec;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup time of {@link JournaledConsultationRepository}: load a snapshot of
+ * {@code consultations} entries and replay a {@code tail}-record journal after it.
+ * Each measurement is one cold recovery, so the score is the restart time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class JournalRecoveryBenchmark {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    @Param({"1000000", "10000000"})
+    public int consultations;
+
+    @Param({"10000"})
+    public int tail;
+
+    private Path directory;
+    private JournalSettings settings;
+    private JournaledConsultationRepository recovered;
+
+    @Setup(Level.Trial)
+    public void writeSnapshotAndJournal() throws IOException {
+        directory = Files.createTempDirectory("journal-recovery");
+        settings = new JournalSettings(directory, FsyncPolicy.OS, Duration.ofMillis(10), 64L << 20);
+
+        List<Answer> answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"), new Answer("Q3", "NO"));
+        EligibilityResult eligible = EligibilityResult.eligible();
+        Iterator<Consultation> generated = new Iterator<>() {
+            private int written;
+
+            @Override
+            public boolean hasNext() {
+                return written < consultations;
+            }
+
+            @Override
+            public Consultation next() {
+                written++;
+                return new Consultation(IDS.nextId(), "pear-allergy", answers, eligible, 1L);
+            }
+        };
+        ConsultationSnapshots.write(directory, consultations, generated);
+
+        // Journal continues right after the snapshot
+        try (ConsultationJournal journal = ConsultationJournal.open(settings, consultations + 1L, (s, r) -> { })) {
+            List<byte[]> records = new ArrayList<>(tail);
+            for (int i = 0; i < tail; i++) {
+                records.add(ConsultationBinaryCodec.encode(new Consultation(IDS.nextId(), "pear-allergy", answers, eligible, 1L)));
+            }
+            journal.appendAll(records);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRecovered() throws IOException {
+        if (recovered != null) {
+            recovered.close();
+            recovered = null;
+        }
+        System.gc();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public int recover() {
+        recovered = new JournaledConsultationRepository(settings);
+        return recovered.count();
+    }
+}
@@ -0,0 +1,89 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.adapter.out.persistence.InMemoryConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.InMemoryQuestionRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import com.genovia.consultation.domain.service.eligibility.HairLossEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConsultationService#submitConsultation} end to end with the in-memory adapters:
+ * catalog lookup, eligibility, consultation construction and save. Kafka is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsultationServiceBenchmark {
+
+    @Param({"false", "true"})
+    public boolean resultCacheEnabled;
+
+    private InMemoryConsultationRepository consultationRepository;
+    private ConsultationService consultationService;
+    private List<Answer> eligibleAnswers;
+    private List<Answer> ineligibleAnswers;
+
+    @Setup
+    public void setUp() {
+        consultationRepository = new InMemoryConsultationRepository();
+        EligibilityService eligibilityService = new EligibilityService(
+                new EligibilityStrategyFactory(List.of(new PearAllergyEligibilityStrategy(), new HairLossEligibilityStrategy())),
+                resultCacheEnabled ? new EligibilityResultCache(10_000) : null
+        );
+        consultationService = new ConsultationService(
+                new InMemoryQuestionRepository(),
+                consultationRepository,
+                eligibilityService,
+                null
+        );
+        eligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "NO"),
+                new Answer("Q4", "NO")
+        );
+        ineligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "YES"),
+                new Answer("Q4", "NO")
+        );
+    }
+
+    // Keeps the map from growing across iterations so every iteration measures the same work
+    @TearDown(Level.Iteration)
+    public void clearRepository() {
+        consultationRepository.clear();
+    }
+
+    @Benchmark
+    public Consultation submit_eligible() {
+        return consultationService.submitConsultation("pear-allergy", eligibleAnswers);
+    }
+
+    @Benchmark
+    public Consultation submit_ineligible() {
+        return consultationService.submitConsultation("pear-allergy", ineligibleAnswers);
+    }
+}
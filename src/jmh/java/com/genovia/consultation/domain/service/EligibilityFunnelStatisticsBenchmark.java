@@ -0,0 +1,78 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.adapter.out.persistence.InMemoryQuestionRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityAssessment;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EligibilityService#assessEligibility} with and without {@link EligibilityFunnelStatistics},
+ * from eight threads all incrementing the same product's counters, so the difference is the
+ * recording cost under contention.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class EligibilityFunnelStatisticsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean statsEnabled;
+
+    private EligibilityService eligibilityService;
+    private List<Question> questions;
+    private List<Answer> eligibleAnswers;
+    private List<Answer> ineligibleAnswers;
+
+    @Setup
+    public void setUp() {
+        eligibilityService = new EligibilityService(
+                new EligibilityStrategyFactory(List.of(new PearAllergyEligibilityStrategy())),
+                null,
+                statsEnabled ? new EligibilityFunnelStatistics() : null
+        );
+        questions = new InMemoryQuestionRepository().findByProductId("pear-allergy");
+        eligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "NO"),
+                new Answer("Q4", "NO")
+        );
+        ineligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "YES"),
+                new Answer("Q4", "NO")
+        );
+    }
+
+    @Benchmark
+    public EligibilityAssessment assess_eligible() {
+        return eligibilityService.assessEligibility("pear-allergy", 0L, questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityAssessment assess_ineligible() {
+        return eligibilityService.assessEligibility("pear-allergy", 0L, questions, ineligibleAnswers);
+    }
+}
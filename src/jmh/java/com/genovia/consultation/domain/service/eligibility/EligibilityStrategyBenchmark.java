@@ -0,0 +1,107 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import com.genovia.consultation.adapter.out.persistence.InMemoryQuestionRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the compiled decision table (bitmask and generic paths) with the
+ * per-request map building the strategies used before it. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EligibilityStrategyBenchmark {
+
+    private static final String INELIGIBLE_MESSAGE = "Based on your answers, we recommend speaking with your GP before proceeding.";
+
+    private List<Question> questions;
+    private List<Answer> eligibleAnswers;
+    private List<Answer> ineligibleAnswers;
+    private PearAllergyEligibilityStrategy strategy;
+
+    @Setup
+    public void setUp() {
+        questions = new InMemoryQuestionRepository().findByProductId("pear-allergy");
+        eligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "NO"),
+                new Answer("Q4", "NO")
+        );
+        ineligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "YES"),
+                new Answer("Q4", "NO")
+        );
+        strategy = new PearAllergyEligibilityStrategy();
+        strategy.decisionTableFor(questions);
+    }
+
+    @Benchmark
+    public EligibilityResult mapBased_eligible() {
+        return evaluateWithAnswerMap(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult mapBased_ineligible() {
+        return evaluateWithAnswerMap(questions, ineligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult genericPath_eligible() {
+        return strategy.decisionTableFor(questions).evaluateGeneric(eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult compiled_eligible() {
+        return strategy.evaluate(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult compiled_ineligible() {
+        return strategy.evaluate(questions, ineligibleAnswers);
+    }
+
+    private static EligibilityResult evaluateWithAnswerMap(List<Question> questions, List<Answer> answers) {
+        Map<String, String> answerMap = answers.stream()
+                .collect(Collectors.toMap(Answer::questionId, Answer::answer));
+
+        for (Question question : questions) {
+            String answer = answerMap.get(question.id());
+
+            if (question.required() && (answer == null || answer.trim().isEmpty())) {
+                return EligibilityResult.ineligible(
+                        String.format("Required question '%s' was not answered.", question.id())
+                );
+            }
+
+            if (question.disqualifyingAnswer() != null &&
+                question.disqualifyingAnswer().equalsIgnoreCase(answer)) {
+                return EligibilityResult.ineligible(INELIGIBLE_MESSAGE);
+            }
+        }
+
+        return EligibilityResult.eligible();
+    }
+}
@@ -0,0 +1,75 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EligibilityStrategy#evaluate} for both shipped strategies over synthetic YES_NO
+ * questionnaires of increasing size. The eligible case walks every question; the
+ * ineligible one fails on the last.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyEvaluationBenchmark {
+
+    @Param({"pear-allergy", "hair-loss"})
+    public String productId;
+
+    @Param({"4", "16", "64"})
+    public int questionCount;
+
+    private EligibilityStrategy strategy;
+    private List<Question> questions;
+    private List<Answer> eligibleAnswers;
+    private List<Answer> ineligibleAnswers;
+
+    @Setup
+    public void setUp() {
+        strategy = "hair-loss".equals(productId)
+                ? new HairLossEligibilityStrategy()
+                : new PearAllergyEligibilityStrategy();
+
+        questions = new ArrayList<>(questionCount);
+        eligibleAnswers = new ArrayList<>(questionCount);
+        ineligibleAnswers = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            String id = "Q" + (i + 1);
+            questions.add(new Question(id, "Question " + (i + 1), QuestionType.YES_NO, true, "YES", null));
+            eligibleAnswers.add(new Answer(id, "NO"));
+            ineligibleAnswers.add(new Answer(id, i == questionCount - 1 ? "YES" : "NO"));
+        }
+        questions = List.copyOf(questions);
+        strategy.evaluate(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult evaluate_eligible() {
+        return strategy.evaluate(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult evaluate_ineligible() {
+        return strategy.evaluate(questions, ineligibleAnswers);
+    }
+}
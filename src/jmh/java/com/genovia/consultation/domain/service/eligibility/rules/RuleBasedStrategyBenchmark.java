@@ -0,0 +1,89 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import com.genovia.consultation.adapter.out.persistence.InMemoryQuestionRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pear-allergy questionnaire written as a rule set, evaluated through its hidden-class
+ * method handle tree, against the hand-written {@link PearAllergyEligibilityStrategy} (compiled
+ * decision table, bitmask path). Both see the same catalog and answers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleBasedStrategyBenchmark {
+
+    private static final String INELIGIBLE_MESSAGE = "Based on your answers, we recommend speaking with your GP before proceeding.";
+
+    private List<Question> questions;
+    private List<Answer> eligibleAnswers;
+    private List<Answer> ineligibleAnswers;
+    private PearAllergyEligibilityStrategy handWritten;
+    private RuleBasedEligibilityStrategy ruleBased;
+
+    @Setup
+    public void setUp() {
+        questions = new InMemoryQuestionRepository().findByProductId("pear-allergy");
+        eligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "NO"),
+                new Answer("Q4", "NO")
+        );
+        ineligibleAnswers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "YES"),
+                new Answer("Q3", "YES"),
+                new Answer("Q4", "NO")
+        );
+        handWritten = new PearAllergyEligibilityStrategy();
+        ruleBased = RuleSetCompiler.compile(new EligibilityRuleSet("pear-allergy", INELIGIBLE_MESSAGE,
+                List.of("Q1", "Q2", "Q3"),
+                List.of(
+                        new DisqualificationRule(new RuleCondition.AnswerIn("Q1", List.of("NO")), null),
+                        new DisqualificationRule(new RuleCondition.AnswerIn("Q2", List.of("NO")), null),
+                        new DisqualificationRule(new RuleCondition.AnswerIn("Q3", List.of("YES")), null),
+                        new DisqualificationRule(new RuleCondition.AnswerIn("Q4", List.of("YES")), null)
+                )));
+        handWritten.evaluate(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult handWritten_eligible() {
+        return handWritten.evaluate(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult handWritten_ineligible() {
+        return handWritten.evaluate(questions, ineligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult ruleBased_eligible() {
+        return ruleBased.evaluate(questions, eligibleAnswers);
+    }
+
+    @Benchmark
+    public EligibilityResult ruleBased_ineligible() {
+        return ruleBased.evaluate(questions, ineligibleAnswers);
+    }
+}
@@ -0,0 +1,138 @@
+package com.genovia.consultation.adapter.in.cli;
+
+import com.genovia.consultation.adapter.in.export.ConsultationExportWriter;
+import com.genovia.consultation.adapter.in.export.ExportFormat;
+import com.genovia.consultation.adapter.out.persistence.jdbc.JdbcConsultationRepository;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.service.ConsultationExportService;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline export of a JDBC consultation store, for dumps without a running node:
+ * {@code ./gradlew exportConsultations -PexportArgs="--jdbc-url=jdbc:h2:file:./data/consultations --out=consultations.ndjson"}.
+ * Opens the store read-only and streams it a page at a time like {@code GET /api/consultations/export}.
+ * <p>
+ * There is no journal source: a journal can only be read by replaying it into memory (later
+ * records overwrite earlier ones), so heap use would grow with the store, and opening it for
+ * append could truncate its tail. Export a journaled node through the HTTP endpoint instead.
+ */
+public final class ConsultationExportCommand {
+    static final String USAGE = "Usage: --jdbc-url=URL [--format=ndjson|binary] [--product=ID]"
+            + " [--status=STATUS] [--from=ISO-8601] [--to=ISO-8601] [--out=FILE]";
+
+    private ConsultationExportCommand() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args, System.out, System.err));
+    }
+
+    /** @return process exit code: 0 on success, 2 for bad arguments, 1 when the export failed */
+    static int run(String[] args, PrintStream stdout, PrintStream stderr) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                stderr.println(USAGE);
+                return 2;
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+
+        ExportFormat format;
+        ConsultationQuery filter;
+        try {
+            if (!options.containsKey("jdbc-url")) {
+                throw new IllegalArgumentException("--jdbc-url is required");
+            }
+            format = ExportFormat.parse(options.getOrDefault("format", "ndjson"));
+            filter = new ConsultationQuery(
+                    options.get("product"),
+                    options.containsKey("status") ? ConsultationStatus.valueOf(options.get("status")) : null,
+                    instant(options.get("from")),
+                    instant(options.get("to")),
+                    null,
+                    ConsultationQuery.MAX_LIMIT);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            stderr.println(e.getMessage());
+            stderr.println(USAGE);
+            return 2;
+        }
+
+        ConsultationRepository repository = open(options);
+        try (OutputStream out = options.containsKey("out")
+                ? new BufferedOutputStream(Files.newOutputStream(Path.of(options.get("out"))))
+                : new CloseShieldOutputStream(stdout)) {
+            ConsultationExportWriter writer = ConsultationExportWriter.open(format, out);
+            long exported = new ConsultationExportService(repository).exportConsultations(filter, writer);
+            writer.finish();
+            stderr.println("Exported " + exported + " consultations");
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            stderr.println("Export failed: " + e.getMessage());
+            return 1;
+        } finally {
+            close(repository, stderr);
+        }
+    }
+
+    private static ConsultationRepository open(Map<String, String> options) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("consultation-export");
+        dataSource.setJdbcUrl(options.get("jdbc-url"));
+        dataSource.setMaximumPoolSize(1);
+        dataSource.setReadOnly(true);
+        return JdbcConsultationRepository.readOnly(dataSource);
+    }
+
+    private static void close(ConsultationRepository repository, PrintStream stderr) {
+        if (repository instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                stderr.println("Could not close consultation store: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Instant instant(String value) {
+        return value == null ? null : Instant.parse(value);
+    }
+
+    /** Lets try-with-resources flush stdout without closing it. */
+    private static final class CloseShieldOutputStream extends OutputStream {
+        private final OutputStream delegate;
+
+        CloseShieldOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.flush();
+        }
+    }
+}
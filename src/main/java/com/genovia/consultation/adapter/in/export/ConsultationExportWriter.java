@@ -0,0 +1,147 @@
+package com.genovia.consultation.adapter.in.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.genovia.consultation.adapter.out.persistence.ConsultationBinaryCodec;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.port.in.ConsultationSink;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported consultations straight to an output stream, keeping nothing per record.
+ * <p>
+ * NDJSON lines carry the fields of the consultation API response plus the answers. The binary
+ * layout is magic, format version, then {@code [1][consultation]} per record in
+ * {@link ConsultationBinaryCodec} form and a {@code [0][long count]} trailer; read it back with
+ * {@link #readBinary}.
+ */
+public abstract class ConsultationExportWriter implements ConsultationSink {
+    private static final int MAGIC = 0x47435831; // "GCX1"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final JsonFactory JSON = JsonFactory.builder().build();
+
+    protected long written;
+
+    public static ConsultationExportWriter open(ExportFormat format, OutputStream out) throws IOException {
+        return format == ExportFormat.NDJSON ? new NdjsonWriter(out) : new BinaryWriter(out);
+    }
+
+    /** Writes any trailer and flushes; the output stream stays open. */
+    public abstract void finish() throws IOException;
+
+    public long written() {
+        return written;
+    }
+
+    /**
+     * Streams every record of a binary export to {@code consumer}.
+     *
+     * @return records read
+     * @throws IOException when the stream is not a complete binary export
+     */
+    public static long readBinary(InputStream input, Consumer<Consultation> consumer) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(input, BUFFER_BYTES));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a consultation export");
+        }
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported export format " + version);
+        }
+        long count = 0L;
+        while (in.readByte() == 1) {
+            consumer.accept(ConsultationBinaryCodec.read(in));
+            count++;
+        }
+        if (in.readLong() != count) {
+            throw new IOException("Truncated consultation export");
+        }
+        return count;
+    }
+
+    private static final class NdjsonWriter extends ConsultationExportWriter {
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.json = JSON.createGenerator(out);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void accept(Consultation consultation) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("consultationId", consultation.getId());
+            json.writeStringField("productId", consultation.getProductId());
+            json.writeBooleanField("eligible", consultation.getEligibilityResult().isEligible());
+            json.writeStringField("message", consultation.getEligibilityResult().getReason());
+            json.writeStringField("submittedAt", consultation.getSubmittedAt().toString());
+            json.writeStringField("status", consultation.getStatus().name());
+            DoctorReview review = consultation.getDoctorReview();
+            if (review == null) {
+                json.writeNullField("doctorReview");
+            } else {
+                json.writeObjectFieldStart("doctorReview");
+                json.writeStringField("reviewedBy", review.reviewedBy());
+                json.writeStringField("reviewedAt", review.reviewedAt().toString());
+                json.writeBooleanField("approved", review.approved());
+                json.writeStringField("notes", review.notes());
+                json.writeEndObject();
+            }
+            json.writeNumberField("strategyVersion", consultation.getStrategyVersion());
+            json.writeNumberField("version", consultation.getVersion());
+            json.writeArrayFieldStart("answers");
+            List<Answer> answers = consultation.getAnswers();
+            for (int i = 0, n = answers.size(); i < n; i++) {
+                json.writeStartObject();
+                json.writeStringField("questionId", answers.get(i).questionId());
+                json.writeStringField("answer", answers.get(i).answer());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+            written++;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.close();
+        }
+    }
+
+    private static final class BinaryWriter extends ConsultationExportWriter {
+        private final DataOutputStream out;
+
+        BinaryWriter(OutputStream target) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(target, BUFFER_BYTES));
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+        }
+
+        @Override
+        public void accept(Consultation consultation) throws IOException {
+            out.writeByte(1);
+            ConsultationBinaryCodec.write(consultation, out);
+            written++;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.writeByte(0);
+            out.writeLong(written);
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.genovia.consultation.adapter.in.export;
+
+public enum ExportFormat {
+    /** One JSON object per line. */
+    NDJSON("application/x-ndjson", "ndjson"),
+    /** {@link com.genovia.consultation.adapter.out.persistence.ConsultationBinaryCodec} records, see {@link ConsultationExportWriter}. */
+    BINARY("application/octet-stream", "bin");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileExtension() {
+        return fileExtension;
+    }
+
+    public static ExportFormat parse(String value) {
+        if (value != null) {
+            for (ExportFormat format : values()) {
+                if (format.name().equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + value + " (use ndjson or binary)");
+    }
+}
@@ -0,0 +1,54 @@
+package com.genovia.consultation.adapter.in.rules;
+
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleSetCompiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+public class ClasspathRuleSetLoader {
+    private static final Logger log = LoggerFactory.getLogger(ClasspathRuleSetLoader.class);
+
+    private final JsonRuleSetParser parser;
+    private final PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+
+    public ClasspathRuleSetLoader(JsonRuleSetParser parser) {
+        this.parser = parser;
+    }
+
+    /** Registers every rule file matching {@code locationPattern}; a blank pattern registers nothing. */
+    public int registerAll(String locationPattern, EligibilityStrategyFactory strategyFactory) {
+        if (locationPattern == null || locationPattern.isBlank()) {
+            return 0;
+        }
+        Resource[] resources;
+        try {
+            resources = resolver.getResources(locationPattern);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list eligibility rules at " + locationPattern, e);
+        }
+
+        for (Resource resource : resources) {
+            EligibilityRuleSet ruleSet;
+            try (InputStream json = resource.getInputStream()) {
+                ruleSet = parser.parse(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read eligibility rules from " + resource.getDescription(), e);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(
+                        "Invalid eligibility rules in " + resource.getDescription() + ": " + e.getMessage(), e);
+            }
+
+            // Replaces a hand-written strategy for the same product, the file wins
+            strategyFactory.register(RuleSetCompiler.compile(ruleSet));
+            log.info("Registered eligibility rules for product {} from {}", ruleSet.productId(), resource.getFilename());
+        }
+        return resources.length;
+    }
+}
@@ -0,0 +1,151 @@
+package com.genovia.consultation.adapter.in.rules;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.service.eligibility.rules.DisqualificationRule;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleCondition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the JSON rule format:
+ * <pre>
+ * {
+ *   "productId": "acne",
+ *   "ineligibleMessage": "Please speak with your GP first.",
+ *   "required": ["A1", "A2"],
+ *   "disqualifyWhen": [
+ *     {"question": "A1", "equals": "NO"},
+ *     {"all": [{"question": "A2", "in": ["YES"]}, {"question": "A3", "greaterThan": 40}],
+ *      "message": "Optional rule-specific message"}
+ *   ]
+ * }
+ * </pre>
+ * Leaf conditions name a question and one of {@code equals}, {@code in}, {@code answered},
+ * {@code lessThan}, {@code lessThanOrEqual}, {@code greaterThan}, {@code greaterThanOrEqual};
+ * they combine with {@code all}, {@code any} and {@code not}.
+ */
+public class JsonRuleSetParser {
+
+    private static final Map<String, RuleCondition.Comparison> COMPARISONS = Map.of(
+            "lessThan", RuleCondition.Comparison.LESS_THAN,
+            "lessThanOrEqual", RuleCondition.Comparison.LESS_THAN_OR_EQUAL,
+            "greaterThan", RuleCondition.Comparison.GREATER_THAN,
+            "greaterThanOrEqual", RuleCondition.Comparison.GREATER_THAN_OR_EQUAL
+    );
+
+    private final ObjectMapper objectMapper;
+
+    public JsonRuleSetParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public EligibilityRuleSet parse(InputStream json) throws IOException {
+        return parse(objectMapper.readTree(json));
+    }
+
+    public EligibilityRuleSet parse(JsonNode root) {
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Rule set must be a JSON object");
+        }
+
+        List<String> required = new ArrayList<>();
+        for (JsonNode questionId : arrayField(root, "required")) {
+            required.add(text(questionId, "required"));
+        }
+
+        List<DisqualificationRule> disqualifications = new ArrayList<>();
+        for (JsonNode rule : arrayField(root, "disqualifyWhen")) {
+            String message = rule.hasNonNull("message") ? rule.get("message").asText() : null;
+            disqualifications.add(new DisqualificationRule(condition(rule), message));
+        }
+
+        return new EligibilityRuleSet(
+                requiredText(root, "productId"),
+                requiredText(root, "ineligibleMessage"),
+                required,
+                disqualifications
+        );
+    }
+
+    private RuleCondition condition(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Condition must be a JSON object");
+        }
+        if (node.has("all")) {
+            return new RuleCondition.AllOf(conditions(node, "all"));
+        }
+        if (node.has("any")) {
+            return new RuleCondition.AnyOf(conditions(node, "any"));
+        }
+        if (node.has("not")) {
+            return new RuleCondition.Not(condition(node.get("not")));
+        }
+
+        String questionId = requiredText(node, "question");
+        if (node.has("equals")) {
+            return new RuleCondition.AnswerIn(questionId, List.of(text(node.get("equals"), "equals")));
+        }
+        if (node.has("in")) {
+            List<String> values = new ArrayList<>();
+            for (JsonNode value : arrayField(node, "in")) {
+                values.add(text(value, "in"));
+            }
+            return new RuleCondition.AnswerIn(questionId, values);
+        }
+        if (node.has("answered")) {
+            RuleCondition answered = new RuleCondition.Answered(questionId);
+            return node.get("answered").asBoolean() ? answered : new RuleCondition.Not(answered);
+        }
+        for (Map.Entry<String, RuleCondition.Comparison> comparison : COMPARISONS.entrySet()) {
+            JsonNode threshold = node.get(comparison.getKey());
+            if (threshold != null) {
+                if (!threshold.isNumber()) {
+                    throw new IllegalArgumentException(
+                            "'" + comparison.getKey() + "' must be a number for question: " + questionId);
+                }
+                return new RuleCondition.NumericThreshold(questionId, comparison.getValue(), threshold.asDouble());
+            }
+        }
+        throw new IllegalArgumentException("Unsupported condition for question: " + questionId);
+    }
+
+    private List<RuleCondition> conditions(JsonNode node, String field) {
+        List<RuleCondition> conditions = new ArrayList<>();
+        for (JsonNode nested : arrayField(node, field)) {
+            conditions.add(condition(nested));
+        }
+        return conditions;
+    }
+
+    private static Iterable<JsonNode> arrayField(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return List.of();
+        }
+        if (!value.isArray()) {
+            throw new IllegalArgumentException("'" + field + "' must be an array");
+        }
+        return value;
+    }
+
+    private static String requiredText(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            throw new IllegalArgumentException("'" + field + "' is required");
+        }
+        return text(value, field);
+    }
+
+    private static String text(JsonNode value, String field) {
+        if (!value.isValueNode()) {
+            throw new IllegalArgumentException("'" + field + "' must be a plain value");
+        }
+        return value.asText();
+    }
+}
@@ -0,0 +1,86 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.BatchSubmissionResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchConsultationResponse {
+    private int accepted;
+    private int rejected;
+    private List<BatchItemResponse> results;
+
+    public BatchConsultationResponse() {
+    }
+
+    public BatchConsultationResponse(int accepted, int rejected, List<BatchItemResponse> results) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.results = results;
+    }
+
+    public static BatchConsultationResponse from(List<BatchSubmissionResult> batchResults) {
+        List<BatchItemResponse> items = new ArrayList<>(batchResults.size());
+        int accepted = 0;
+        for (BatchSubmissionResult result : batchResults) {
+            if (result.isAccepted()) {
+                accepted++;
+                items.add(new BatchItemResponse(result.index(), "CREATED",
+                        ConsultationResponse.from(result.consultation()), null));
+            } else {
+                items.add(new BatchItemResponse(result.index(), "REJECTED", null, result.error()));
+            }
+        }
+        return new BatchConsultationResponse(accepted, batchResults.size() - accepted, items);
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public List<BatchItemResponse> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResponse> results) {
+        this.results = results;
+    }
+
+    public static class BatchItemResponse {
+        private int index;
+        private String status;
+        private ConsultationResponse consultation;
+        private String error;
+
+        public BatchItemResponse() {
+        }
+
+        public BatchItemResponse(int index, String status, ConsultationResponse consultation, String error) {
+            this.index = index;
+            this.status = status;
+            this.consultation = consultation;
+            this.error = error;
+        }
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public ConsultationResponse getConsultation() { return consultation; }
+        public void setConsultation(ConsultationResponse consultation) { this.consultation = consultation; }
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -1,9 +1,16 @@
 package com.genovia.consultation.adapter.in.web;
 
+import com.genovia.consultation.domain.model.BatchSubmissionResult;
 import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationCursor;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
 import com.genovia.consultation.domain.model.Question;
 import com.genovia.consultation.domain.port.in.GetConsultationUseCase;
 import com.genovia.consultation.domain.port.in.GetQuestionsUseCase;
+import com.genovia.consultation.domain.port.in.QueryConsultationsUseCase;
+import com.genovia.consultation.domain.port.in.ReviewConsultationUseCase;
 import com.genovia.consultation.domain.port.in.SubmitConsultationUseCase;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,10 +21,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -25,35 +38,68 @@ import java.util.List;
 @Tag(name = "Consultations", description = "Online consultation APIs")
 public class ConsultationController {
 
+    private static final CacheControl QUESTIONS_CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
     private final GetQuestionsUseCase getQuestionsUseCase;
     private final SubmitConsultationUseCase submitConsultationUseCase;
     private final GetConsultationUseCase getConsultationUseCase;
+    private final QueryConsultationsUseCase queryConsultationsUseCase;
+    private final ReviewConsultationUseCase reviewConsultationUseCase;
+    private final QuestionListRenderer questionListRenderer;
 
     public ConsultationController(GetQuestionsUseCase getQuestionsUseCase,
                                  SubmitConsultationUseCase submitConsultationUseCase,
-                                 GetConsultationUseCase getConsultationUseCase) {
+                                 GetConsultationUseCase getConsultationUseCase,
+                                 QueryConsultationsUseCase queryConsultationsUseCase,
+                                 ReviewConsultationUseCase reviewConsultationUseCase,
+                                 QuestionListRenderer questionListRenderer) {
         this.getQuestionsUseCase = getQuestionsUseCase;
         this.submitConsultationUseCase = submitConsultationUseCase;
         this.getConsultationUseCase = getConsultationUseCase;
+        this.queryConsultationsUseCase = queryConsultationsUseCase;
+        this.reviewConsultationUseCase = reviewConsultationUseCase;
+        this.questionListRenderer = questionListRenderer;
     }
 
     @Operation(
             summary = "Get questions",
-            description = "Get consultation questions for a product"
+            description = "Get consultation questions for a product. Served from pre-rendered JSON with a strong ETag per encoding; "
+                    + "send If-None-Match to get 304 while the catalog is unchanged"
     )
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "200", description = "Success", content = @Content(schema = @Schema(implementation = QuestionListResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "400", description = "Invalid product ID", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
     })
     @GetMapping("/questions")
-    public ResponseEntity<QuestionListResponse> getQuestions(
+    public ResponseEntity<byte[]> getQuestions(
             @Parameter(description = "Product ID", example = "pear-allergy")
-            @RequestParam(name = "productId", defaultValue = "pear-allergy") String productId) {
+            @RequestParam(name = "productId", defaultValue = "pear-allergy") String productId,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
         List<Question> questions = getQuestionsUseCase.getQuestions(productId);
-        QuestionListResponse response = QuestionListResponse.from(productId, questions);
+        QuestionListRenderer.RenderedQuestionList rendered = questionListRenderer.render(productId, questions);
+        boolean gzip = QuestionListRenderer.acceptsGzip(acceptEncoding);
+
+        if (rendered.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(rendered.etag(gzip))
+                    .cacheControl(QUESTIONS_CACHE_CONTROL)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
 
-        return ResponseEntity.ok(response);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(rendered.etag(gzip))
+                .cacheControl(QUESTIONS_CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.gzippedJson());
+        }
+        return response.body(rendered.json());
     }
 
     @Operation(
@@ -119,6 +165,23 @@ public class ConsultationController {
                 .body(response);
     }
 
+    @Operation(
+            summary = "Submit consultations in bulk",
+            description = "Submit up to 500 consultations in one call and get a result per item"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Processed, see per-item status"),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchConsultationResponse> submitConsultations(
+            @Valid @RequestBody SubmitConsultationBatchRequest request) {
+
+        List<BatchSubmissionResult> results = submitConsultationUseCase.submitConsultations(request.toSubmissions());
+
+        return ResponseEntity.ok(BatchConsultationResponse.from(results));
+    }
+
     @Operation(
             summary = "Get consultation",
             description = "Get consultation by ID"
@@ -135,4 +198,81 @@ public class ConsultationController {
                 .map(consultation -> ResponseEntity.ok(ConsultationResponse.from(consultation)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    @Operation(
+            summary = "Review consultation",
+            description = "Record a doctor's decision. expectedVersion is the version the reviewer read; "
+                    + "if the consultation changed since, nothing is stored and 409 is returned"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reviewed"),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ErrorResponse.class))),
+            @ApiResponse(responseCode = "404", description = "Not found"),
+            @ApiResponse(responseCode = "409", description = "Changed since expectedVersion", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PostMapping("/{id}/review")
+    public ResponseEntity<ConsultationResponse> reviewConsultation(
+            @Parameter(description = "Consultation ID")
+            @PathVariable String id,
+            @Valid @RequestBody ReviewConsultationRequest request) {
+        return reviewConsultationUseCase.reviewConsultation(id, request.getExpectedVersion(), request.toDoctorReview())
+                .map(consultation -> ResponseEntity.ok(ConsultationResponse.from(consultation)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @Operation(
+            summary = "List consultations",
+            description = "List consultations oldest first, filtered by product, status and submission time. "
+                    + "Pass the returned nextCursor to get the next page"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Success"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or cursor", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping
+    public ResponseEntity<ConsultationPageResponse> listConsultations(
+            @Parameter(description = "Product ID", example = "hair-loss")
+            @RequestParam(name = "productId", required = false) String productId,
+            @Parameter(description = "Status", example = "PENDING_REVIEW")
+            @RequestParam(name = "status", required = false) String status,
+            @Parameter(description = "Submitted at or after (ISO-8601)", example = "2024-01-01T00:00:00Z")
+            @RequestParam(name = "submittedFrom", required = false) String submittedFrom,
+            @Parameter(description = "Submitted before (ISO-8601)", example = "2024-01-02T00:00:00Z")
+            @RequestParam(name = "submittedTo", required = false) String submittedTo,
+            @Parameter(description = "Cursor from the previous page")
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @Parameter(description = "Page size (max 500)")
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+
+        ConsultationQuery query = new ConsultationQuery(
+                productId,
+                status == null ? null : parseStatus(status),
+                parseInstant("submittedFrom", submittedFrom),
+                parseInstant("submittedTo", submittedTo),
+                cursor == null ? null : ConsultationCursor.decode(cursor),
+                limit
+        );
+
+        ConsultationPage page = queryConsultationsUseCase.queryConsultations(query);
+        return ResponseEntity.ok(ConsultationPageResponse.from(page));
+    }
+
+    static ConsultationStatus parseStatus(String status) {
+        try {
+            return ConsultationStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    static Instant parseInstant(String name, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be an ISO-8601 instant: " + value);
+        }
+    }
 }
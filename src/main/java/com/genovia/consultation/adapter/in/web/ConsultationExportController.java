@@ -0,0 +1,85 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.adapter.in.export.ConsultationExportWriter;
+import com.genovia.consultation.adapter.in.export.ExportFormat;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.port.in.ExportConsultationsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Bulk export, off unless {@code consultation.export.enabled=true}. The body is written on the
+ * MVC async executor ({@code spring.task.execution.*}) and cut off after
+ * {@code spring.mvc.async.request-timeout}, both set in application.properties.
+ */
+@RestController
+@RequestMapping("/api/consultations")
+@ConditionalOnProperty(name = "consultation.export.enabled", havingValue = "true", matchIfMissing = false)
+@Tag(name = "Consultations", description = "Online consultation APIs")
+public class ConsultationExportController {
+
+    private final ExportConsultationsUseCase exportConsultationsUseCase;
+
+    public ConsultationExportController(ExportConsultationsUseCase exportConsultationsUseCase) {
+        this.exportConsultationsUseCase = exportConsultationsUseCase;
+    }
+
+    @Operation(
+            summary = "Export consultations",
+            description = "Stream every matching consultation, oldest first, as NDJSON or in the binary export format. "
+                    + "The store is read a page at a time while writing, so consultations saved during the export may "
+                    + "or may not be included"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or format", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportConsultations(
+            @Parameter(description = "ndjson or binary", example = "ndjson")
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            @Parameter(description = "Product ID", example = "hair-loss")
+            @RequestParam(name = "productId", required = false) String productId,
+            @Parameter(description = "Status", example = "APPROVED")
+            @RequestParam(name = "status", required = false) String status,
+            @Parameter(description = "Submitted at or after (ISO-8601)", example = "2024-01-01T00:00:00Z")
+            @RequestParam(name = "submittedFrom", required = false) String submittedFrom,
+            @Parameter(description = "Submitted before (ISO-8601)", example = "2024-02-01T00:00:00Z")
+            @RequestParam(name = "submittedTo", required = false) String submittedTo) {
+
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        ConsultationQuery filter = new ConsultationQuery(
+                productId,
+                status == null ? null : ConsultationController.parseStatus(status),
+                ConsultationController.parseInstant("submittedFrom", submittedFrom),
+                ConsultationController.parseInstant("submittedTo", submittedTo),
+                null,
+                ConsultationQuery.MAX_LIMIT
+        );
+
+        StreamingResponseBody body = out -> {
+            ConsultationExportWriter writer = ConsultationExportWriter.open(exportFormat, out);
+            exportConsultationsUseCase.exportConsultations(filter, writer);
+            writer.finish();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"consultations." + exportFormat.fileExtension() + "\"")
+                .body(body);
+    }
+}
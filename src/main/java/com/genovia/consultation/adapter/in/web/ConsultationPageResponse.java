@@ -0,0 +1,44 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ConsultationPageResponse {
+    private List<ConsultationResponse> consultations;
+    private String nextCursor;
+
+    public ConsultationPageResponse() {
+    }
+
+    public ConsultationPageResponse(List<ConsultationResponse> consultations, String nextCursor) {
+        this.consultations = consultations;
+        this.nextCursor = nextCursor;
+    }
+
+    public static ConsultationPageResponse from(ConsultationPage page) {
+        List<ConsultationResponse> items = new ArrayList<>(page.consultations().size());
+        for (Consultation consultation : page.consultations()) {
+            items.add(ConsultationResponse.from(consultation));
+        }
+        return new ConsultationPageResponse(items, page.hasNext() ? page.next().encode() : null);
+    }
+
+    public List<ConsultationResponse> getConsultations() {
+        return consultations;
+    }
+
+    public void setConsultations(List<ConsultationResponse> consultations) {
+        this.consultations = consultations;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -10,6 +10,8 @@ public class ConsultationResponse {
     private String submittedAt;
     private String status;
     private DoctorReviewResponse doctorReview;
+    private long strategyVersion;
+    private long version;
 
     public ConsultationResponse() {
     }
@@ -35,7 +37,7 @@ public class ConsultationResponse {
                 consultation.getDoctorReview().notes()
             ) : null;
 
-        return new ConsultationResponse(
+        ConsultationResponse response = new ConsultationResponse(
                 consultation.getId(),
                 consultation.getProductId(),
                 consultation.getEligibilityResult().isEligible(),
@@ -44,6 +46,9 @@ public class ConsultationResponse {
                 consultation.getStatus().name(),
                 reviewResponse
         );
+        response.setStrategyVersion(consultation.getStrategyVersion());
+        response.setVersion(consultation.getVersion());
+        return response;
     }
 
     public String getConsultationId() {
@@ -102,6 +107,22 @@ public class ConsultationResponse {
         this.doctorReview = doctorReview;
     }
 
+    public long getStrategyVersion() {
+        return strategyVersion;
+    }
+
+    public void setStrategyVersion(long strategyVersion) {
+        this.strategyVersion = strategyVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public static class DoctorReviewResponse {
         private String reviewedBy;
         private String reviewedAt;
@@ -0,0 +1,56 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.EligibilityCacheStats;
+
+public class EligibilityCacheStatsResponse {
+    private boolean enabled;
+    private long hits;
+    private long misses;
+    private int size;
+
+    public EligibilityCacheStatsResponse() {
+    }
+
+    public EligibilityCacheStatsResponse(boolean enabled, long hits, long misses, int size) {
+        this.enabled = enabled;
+        this.hits = hits;
+        this.misses = misses;
+        this.size = size;
+    }
+
+    public static EligibilityCacheStatsResponse from(EligibilityCacheStats stats) {
+        return new EligibilityCacheStatsResponse(stats.enabled(), stats.hits(), stats.misses(), stats.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,46 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.port.in.GetEligibilityStatsUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stats")
+@Tag(name = "Statistics", description = "Live eligibility outcome counts")
+public class EligibilityStatsController {
+
+    private final GetEligibilityStatsUseCase getEligibilityStatsUseCase;
+
+    public EligibilityStatsController(GetEligibilityStatsUseCase getEligibilityStatsUseCase) {
+        this.getEligibilityStatsUseCase = getEligibilityStatsUseCase;
+    }
+
+    @Operation(
+            summary = "Eligibility funnel",
+            description = "Eligible and ineligible totals, and per product and question how often it was answered, "
+                    + "left blank while required, or answered with its disqualifying answer, since startup"
+    )
+    @GetMapping("/eligibility")
+    public ResponseEntity<EligibilityStatsResponse> getEligibilityStats() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(EligibilityStatsResponse.from(getEligibilityStatsUseCase.getEligibilityFunnel()));
+    }
+
+    @Operation(
+            summary = "Eligibility result cache",
+            description = "Hits, misses and entries of the eligibility result cache since startup; "
+                    + "enabled is false and all counts are zero when the cache is off"
+    )
+    @GetMapping("/eligibility-cache")
+    public ResponseEntity<EligibilityCacheStatsResponse> getEligibilityCacheStats() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(EligibilityCacheStatsResponse.from(getEligibilityStatsUseCase.getResultCacheStats()));
+    }
+}
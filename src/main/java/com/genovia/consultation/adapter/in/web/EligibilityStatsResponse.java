@@ -0,0 +1,114 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.EligibilityFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.ProductFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.QuestionFunnel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class EligibilityStatsResponse {
+    private long eligible;
+    private long ineligible;
+    private List<ProductStatsResponse> products;
+
+    public EligibilityStatsResponse() {
+    }
+
+    public EligibilityStatsResponse(long eligible, long ineligible, List<ProductStatsResponse> products) {
+        this.eligible = eligible;
+        this.ineligible = ineligible;
+        this.products = products;
+    }
+
+    public static EligibilityStatsResponse from(EligibilityFunnel funnel) {
+        List<ProductStatsResponse> products = new ArrayList<>(funnel.products().size());
+        for (ProductFunnel product : funnel.products()) {
+            List<QuestionStatsResponse> questions = new ArrayList<>(product.questions().size());
+            for (QuestionFunnel question : product.questions()) {
+                questions.add(new QuestionStatsResponse(question.questionId(), question.answered(),
+                        question.missingRequired(), question.disqualified()));
+            }
+            products.add(new ProductStatsResponse(product.productId(), product.eligible(), product.ineligible(),
+                    questions));
+        }
+        return new EligibilityStatsResponse(funnel.eligible(), funnel.ineligible(), products);
+    }
+
+    public long getEligible() {
+        return eligible;
+    }
+
+    public void setEligible(long eligible) {
+        this.eligible = eligible;
+    }
+
+    public long getIneligible() {
+        return ineligible;
+    }
+
+    public void setIneligible(long ineligible) {
+        this.ineligible = ineligible;
+    }
+
+    public List<ProductStatsResponse> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductStatsResponse> products) {
+        this.products = products;
+    }
+
+    public static class ProductStatsResponse {
+        private String productId;
+        private long eligible;
+        private long ineligible;
+        private List<QuestionStatsResponse> questions;
+
+        public ProductStatsResponse() {
+        }
+
+        public ProductStatsResponse(String productId, long eligible, long ineligible,
+                                    List<QuestionStatsResponse> questions) {
+            this.productId = productId;
+            this.eligible = eligible;
+            this.ineligible = ineligible;
+            this.questions = questions;
+        }
+
+        public String getProductId() { return productId; }
+        public void setProductId(String productId) { this.productId = productId; }
+        public long getEligible() { return eligible; }
+        public void setEligible(long eligible) { this.eligible = eligible; }
+        public long getIneligible() { return ineligible; }
+        public void setIneligible(long ineligible) { this.ineligible = ineligible; }
+        public List<QuestionStatsResponse> getQuestions() { return questions; }
+        public void setQuestions(List<QuestionStatsResponse> questions) { this.questions = questions; }
+    }
+
+    public static class QuestionStatsResponse {
+        private String questionId;
+        private long answered;
+        private long missingRequired;
+        private long disqualified;
+
+        public QuestionStatsResponse() {
+        }
+
+        public QuestionStatsResponse(String questionId, long answered, long missingRequired, long disqualified) {
+            this.questionId = questionId;
+            this.answered = answered;
+            this.missingRequired = missingRequired;
+            this.disqualified = disqualified;
+        }
+
+        public String getQuestionId() { return questionId; }
+        public void setQuestionId(String questionId) { this.questionId = questionId; }
+        public long getAnswered() { return answered; }
+        public void setAnswered(long answered) { this.answered = answered; }
+        public long getMissingRequired() { return missingRequired; }
+        public void setMissingRequired(long missingRequired) { this.missingRequired = missingRequired; }
+        public long getDisqualified() { return disqualified; }
+        public void setDisqualified(long disqualified) { this.disqualified = disqualified; }
+    }
+}
@@ -1,8 +1,11 @@
 package com.genovia.consultation.adapter.in.web;
 
+import com.genovia.consultation.domain.port.out.ConsultationStoreBusyException;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -10,6 +13,7 @@ import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 
 @ControllerAdvice
@@ -56,6 +60,59 @@ public class GlobalExceptionHandler {
                 .body(error);
     }
 
+    @ExceptionHandler(ConsultationStoreBusyException.class)
+    public ResponseEntity<ErrorResponse> handleStoreBusy(ConsultationStoreBusyException ex, HttpServletRequest request) {
+        log.warn("Store busy: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                ex.getMessage(),
+                "STORE_BUSY",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                request.getRequestURI(),
+                Instant.now()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<ErrorResponse> handleExecutorFull(RejectedExecutionException ex, HttpServletRequest request) {
+        log.warn("Async executor full: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                "Too many requests in progress, retry later",
+                "SERVER_BUSY",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                request.getRequestURI(),
+                Instant.now()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+
+    @ExceptionHandler(ConsultationVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(ConsultationVersionConflictException ex, HttpServletRequest request) {
+        log.info("Version conflict: {}", ex.getMessage());
+
+        ErrorResponse error = new ErrorResponse(
+                ex.getMessage(),
+                "VERSION_CONFLICT",
+                HttpStatus.CONFLICT.value(),
+                request.getRequestURI(),
+                Instant.now()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(error);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleUnexpectedError(Exception ex, HttpServletRequest request) {
         log.error("Unexpected error", ex);
@@ -0,0 +1,135 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.model.Question;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the serialized question list of each product, plain and gzipped, together with a
+ * strong ETag derived from the JSON bytes. A product is re-rendered only when the catalog
+ * hands out a different question list, i.e. when its questions were replaced.
+ * <p>
+ * The gzipped body is a different representation, so it gets its own strong ETag (the same
+ * hash with a {@code -gzip} suffix); {@code If-None-Match} accepts either, since both only
+ * change together.
+ */
+public class QuestionListRenderer {
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, RenderedQuestionList> renderedByProduct = new ConcurrentHashMap<>();
+
+    public QuestionListRenderer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public RenderedQuestionList render(String productId, List<Question> questions) {
+        RenderedQuestionList rendered = renderedByProduct.get(productId);
+        if (rendered == null || rendered.source() != questions) {
+            rendered = renderNow(productId, questions);
+            renderedByProduct.put(productId, rendered);
+        }
+        return rendered;
+    }
+
+    private RenderedQuestionList renderNow(String productId, List<Question> questions) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(QuestionListResponse.from(productId, questions));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize questions for product: " + productId, e);
+        }
+        String hash = hash(json);
+        return new RenderedQuestionList(questions, json, gzip(json), "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header allows gzip: listed as {@code gzip} (or
+     * {@code x-gzip}) with a non-zero q-value, or not listed while {@code *} has one.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            int semicolon = element.indexOf(';');
+            String coding = (semicolon < 0 ? element : element.substring(0, semicolon)).trim();
+            boolean accepted = semicolon < 0 || qualityOf(element.substring(semicolon + 1)) > 0.0;
+            if (coding.equalsIgnoreCase("gzip") || coding.equalsIgnoreCase("x-gzip")) {
+                return accepted;
+            }
+            if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return Boolean.TRUE.equals(wildcard);
+    }
+
+    private static double qualityOf(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).trim().equalsIgnoreCase("q")) {
+                try {
+                    return Double.parseDouble(parameter.substring(equals + 1).trim());
+                } catch (NumberFormatException e) {
+                    // A malformed q-value does not count as acceptance
+                    return 0.0;
+                }
+            }
+        }
+        return 1.0;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String hash(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record RenderedQuestionList(List<Question> source, byte[] json, byte[] gzippedJson,
+                                       String etag, String gzipEtag) {
+
+        public String etag(boolean gzipped) {
+            return gzipped ? gzipEtag : etag;
+        }
+
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                // GET uses weak comparison, so W/"x" matches "x"
+                String opaque = tag.startsWith("W/") ? tag.substring(2) : tag;
+                if (tag.equals("*") || opaque.equals(etag) || opaque.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.genovia.consultation.adapter.in.web;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public class RegisterStrategyRequest {
+    @NotBlank(message = "Ineligible message blank")
+    @Size(max = 500, message = "Ineligible message max 500 chars")
+    private String ineligibleMessage;
+
+    public RegisterStrategyRequest() {
+    }
+
+    public RegisterStrategyRequest(String ineligibleMessage) {
+        this.ineligibleMessage = ineligibleMessage;
+    }
+
+    public String getIneligibleMessage() {
+        return ineligibleMessage;
+    }
+
+    public void setIneligibleMessage(String ineligibleMessage) {
+        this.ineligibleMessage = ineligibleMessage;
+    }
+}
@@ -0,0 +1,71 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.DoctorReview;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.time.Instant;
+
+public class ReviewConsultationRequest {
+    @NotBlank(message = "Reviewer blank")
+    @Size(max = 255, message = "Reviewer max 255 chars")
+    private String reviewedBy;
+
+    @NotNull(message = "Approved missing")
+    private Boolean approved;
+
+    @Size(max = 4000, message = "Notes max 4000 chars")
+    private String notes;
+
+    @NotNull(message = "Expected version missing")
+    @PositiveOrZero(message = "Expected version negative")
+    private Long expectedVersion;
+
+    public ReviewConsultationRequest() {
+    }
+
+    public ReviewConsultationRequest(String reviewedBy, Boolean approved, String notes, Long expectedVersion) {
+        this.reviewedBy = reviewedBy;
+        this.approved = approved;
+        this.notes = notes;
+        this.expectedVersion = expectedVersion;
+    }
+
+    public DoctorReview toDoctorReview() {
+        return new DoctorReview(reviewedBy, Instant.now(), approved, notes);
+    }
+
+    public String getReviewedBy() {
+        return reviewedBy;
+    }
+
+    public void setReviewedBy(String reviewedBy) {
+        this.reviewedBy = reviewedBy;
+    }
+
+    public Boolean getApproved() {
+        return approved;
+    }
+
+    public void setApproved(Boolean approved) {
+        this.approved = approved;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public void setExpectedVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+    }
+}
@@ -0,0 +1,112 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.adapter.in.rules.JsonRuleSetParser;
+import com.genovia.consultation.domain.port.in.ManageEligibilityStrategiesUseCase;
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/strategies")
+@ConditionalOnProperty(name = "admin.endpoints.enabled", havingValue = "true", matchIfMissing = false)
+@Tag(name = "Strategy Administration", description = "Register, replace and retire eligibility strategies at runtime")
+public class StrategyAdminController {
+
+    private final ManageEligibilityStrategiesUseCase manageStrategiesUseCase;
+    private final JsonRuleSetParser ruleSetParser;
+
+    public StrategyAdminController(ManageEligibilityStrategiesUseCase manageStrategiesUseCase,
+                                   ObjectMapper objectMapper) {
+        this.manageStrategiesUseCase = manageStrategiesUseCase;
+        this.ruleSetParser = new JsonRuleSetParser(objectMapper);
+    }
+
+    @Operation(
+            summary = "List strategies",
+            description = "List the active strategy and its version for every product"
+    )
+    @GetMapping
+    public ResponseEntity<List<StrategyResponse>> getStrategies() {
+        List<StrategyResponse> response = manageStrategiesUseCase.getStrategies().stream()
+                .map(StrategyResponse::from)
+                .toList();
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(
+            summary = "Register or replace strategy",
+            description = "Register a questionnaire-driven strategy for a product, replacing any active one"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Registered"),
+            @ApiResponse(responseCode = "400", description = "Invalid request", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{productId}")
+    public ResponseEntity<StrategyResponse> registerStrategy(
+            @Parameter(description = "Product ID", example = "hair-loss")
+            @PathVariable String productId,
+            @Valid @RequestBody RegisterStrategyRequest request) {
+
+        StrategyRegistration registration = manageStrategiesUseCase.registerStrategy(
+                productId,
+                request.getIneligibleMessage()
+        );
+
+        return ResponseEntity.ok(StrategyResponse.from(registration));
+    }
+
+    @Operation(
+            summary = "Register or replace rules",
+            description = "Compile a declarative rule set and register it for the product, replacing any active strategy"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Registered"),
+            @ApiResponse(responseCode = "400", description = "Invalid rule set", content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+    })
+    @PutMapping("/{productId}/rules")
+    public ResponseEntity<StrategyResponse> registerRuleSet(
+            @Parameter(description = "Product ID", example = "acne")
+            @PathVariable String productId,
+            @RequestBody JsonNode rules) {
+
+        EligibilityRuleSet ruleSet = ruleSetParser.parse(rules);
+        if (!productId.equals(ruleSet.productId())) {
+            throw new IllegalArgumentException("Rule set product ID does not match path: " + ruleSet.productId());
+        }
+
+        return ResponseEntity.ok(StrategyResponse.from(manageStrategiesUseCase.registerRuleSet(ruleSet)));
+    }
+
+    @Operation(
+            summary = "Retire strategy",
+            description = "Stop accepting consultations for a product"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Retired"),
+            @ApiResponse(responseCode = "404", description = "Not found")
+    })
+    @DeleteMapping("/{productId}")
+    public ResponseEntity<Void> retireStrategy(
+            @Parameter(description = "Product ID")
+            @PathVariable String productId) {
+        if (!manageStrategiesUseCase.retireStrategy(productId)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
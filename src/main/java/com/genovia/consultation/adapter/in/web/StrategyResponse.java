@@ -0,0 +1,50 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
+
+public class StrategyResponse {
+    private String productId;
+    private long version;
+    private String strategy;
+
+    public StrategyResponse() {
+    }
+
+    public StrategyResponse(String productId, long version, String strategy) {
+        this.productId = productId;
+        this.version = version;
+        this.strategy = strategy;
+    }
+
+    public static StrategyResponse from(StrategyRegistration registration) {
+        return new StrategyResponse(
+                registration.productId(),
+                registration.version(),
+                registration.strategy().getClass().getSimpleName()
+        );
+    }
+
+    public String getProductId() {
+        return productId;
+    }
+
+    public void setProductId(String productId) {
+        this.productId = productId;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+}
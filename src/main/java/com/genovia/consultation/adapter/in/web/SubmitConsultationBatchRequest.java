@@ -0,0 +1,39 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.ConsultationSubmission;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SubmitConsultationBatchRequest {
+    @NotEmpty(message = "At least one consultation")
+    @Size(max = 500, message = "At most 500 consultations per batch")
+    @Valid
+    private List<SubmitConsultationRequest> consultations;
+
+    public SubmitConsultationBatchRequest() {
+    }
+
+    public SubmitConsultationBatchRequest(List<SubmitConsultationRequest> consultations) {
+        this.consultations = consultations;
+    }
+
+    public List<SubmitConsultationRequest> getConsultations() {
+        return consultations;
+    }
+
+    public void setConsultations(List<SubmitConsultationRequest> consultations) {
+        this.consultations = consultations;
+    }
+
+    public List<ConsultationSubmission> toSubmissions() {
+        List<ConsultationSubmission> submissions = new ArrayList<>(consultations.size());
+        for (SubmitConsultationRequest request : consultations) {
+            submissions.add(new ConsultationSubmission(request.getProductId(), request.toAnswers()));
+        }
+        return submissions;
+    }
+}
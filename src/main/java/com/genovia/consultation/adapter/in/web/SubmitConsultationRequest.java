@@ -8,7 +8,6 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class SubmitConsultationRequest {
     @NotBlank(message = "Product ID blank")
@@ -44,9 +43,13 @@ public class SubmitConsultationRequest {
     }
 
     public List<Answer> toAnswers() {
-        return answers.stream()
-                .map(dto -> new Answer(dto.getQuestionId(), dto.getAnswer()))
-                .collect(Collectors.toList());
+        // List.of over the array is already immutable, so Consultation keeps it without copying
+        Answer[] converted = new Answer[answers.size()];
+        for (int i = 0; i < converted.length; i++) {
+            AnswerDto dto = answers.get(i);
+            converted[i] = new Answer(dto.getQuestionId(), dto.getAnswer());
+        }
+        return List.of(converted);
     }
 
     public static class AnswerDto {
@@ -7,6 +7,8 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 
 @Component
 @ConditionalOnProperty(name = "kafka.enabled", havingValue = "true", matchIfMissing = false)
@@ -24,4 +26,15 @@ public class ConsultationEventPublisher {
         log.info("Publishing event: {}", event.consultationId());
         kafkaTemplate.send(TOPIC, event.consultationId(), event);
     }
+
+    public void publishConsultationsSubmitted(List<ConsultationSubmittedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        log.info("Publishing {} events", events.size());
+        for (ConsultationSubmittedEvent event : events) {
+            kafkaTemplate.send(TOPIC, event.consultationId(), event);
+        }
+        kafkaTemplate.flush();
+    }
 }
@@ -0,0 +1,273 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Read-only question catalog backed by a memory-mapped file.
+ * <p>
+ * Layout (big endian): magic {@code GQC1}, product count, then an index of
+ * (productId, offset, length) entries, then one block per product holding its questions.
+ * Strings are u16-length-prefixed UTF-8, with 0xFFFF meaning null. Opening a catalog reads
+ * the index and walks every block to check its structure without building anything, so a bad
+ * block fails the open rather than a later request; a product's questions are built on first
+ * access and kept.
+ * <p>
+ * Versions are per product: opened against the previous catalog, a product whose block bytes
+ * are unchanged keeps its version and its already decoded questions.
+ */
+public final class BinaryQuestionCatalog {
+    static final int MAGIC = 0x47514331; // "GQC1"
+
+    private static final int NULL_STRING = 0xFFFF;
+    private static final QuestionType[] TYPES = QuestionType.values();
+
+    private final MappedByteBuffer buffer;
+    private final Map<String, Block> blockByProductId;
+    private final Map<String, List<Question>> decodedByProductId = new ConcurrentHashMap<>();
+
+    private BinaryQuestionCatalog(MappedByteBuffer buffer, Map<String, Block> blockByProductId) {
+        this.buffer = buffer;
+        this.blockByProductId = blockByProductId;
+    }
+
+    /**
+     * @param previous    catalog being replaced, or {@code null}; unchanged products carry over from it
+     * @param nextVersion source of versions for new or changed products
+     */
+    public static BinaryQuestionCatalog open(Path file, BinaryQuestionCatalog previous, LongSupplier nextVersion)
+            throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        ByteBuffer header = buffer.duplicate();
+        try {
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a question catalog: " + file);
+            }
+            int productCount = header.getInt();
+            Map<String, Block> blocks = new HashMap<>(productCount * 2);
+            Map<String, List<Question>> carried = new HashMap<>();
+            for (int i = 0; i < productCount; i++) {
+                String productId = readString(header);
+                long offset = header.getLong();
+                int length = header.getInt();
+                if (offset < 0 || length < 0 || offset + length > buffer.capacity()) {
+                    throw new IOException("Catalog block for " + productId + " is out of bounds in " + file);
+                }
+                ByteBuffer data = buffer.slice((int) offset, length);
+                if (!isWellFormed(data.duplicate())) {
+                    throw new IOException("Catalog block for " + productId + " is malformed in " + file);
+                }
+                Block unchanged = previous != null ? previous.blockByProductId.get(productId) : null;
+                if (unchanged != null && previous.slice(unchanged).equals(data)) {
+                    blocks.put(productId, new Block(offset, length, unchanged.version()));
+                    List<Question> decoded = previous.decodedByProductId.get(productId);
+                    if (decoded != null) {
+                        carried.put(productId, decoded);
+                    }
+                } else {
+                    blocks.put(productId, new Block(offset, length, nextVersion.getAsLong()));
+                }
+            }
+            BinaryQuestionCatalog catalog = new BinaryQuestionCatalog(buffer, Map.copyOf(blocks));
+            catalog.decodedByProductId.putAll(carried);
+            return catalog;
+        } catch (RuntimeException e) {
+            // Truncated or half-written file
+            throw new IOException("Corrupt question catalog: " + file, e);
+        }
+    }
+
+    public List<Question> findByProductId(String productId) {
+        if (productId == null) {
+            return List.of();
+        }
+        List<Question> decoded = decodedByProductId.get(productId);
+        if (decoded != null) {
+            return decoded;
+        }
+        Block block = blockByProductId.get(productId);
+        if (block == null) {
+            return List.of();
+        }
+        // computeIfAbsent hands every reader the same list instance, which strategies use as the version identity
+        return decodedByProductId.computeIfAbsent(productId, id -> decode(block));
+    }
+
+    boolean isDecoded(String productId) {
+        return productId != null && decodedByProductId.containsKey(productId);
+    }
+
+    Set<String> decodedProductIds() {
+        return Set.copyOf(decodedByProductId.keySet());
+    }
+
+    public int productCount() {
+        return blockByProductId.size();
+    }
+
+    /** Version of the product's questions, or 0 when the catalog does not have the product. */
+    public long version(String productId) {
+        Block block = productId != null ? blockByProductId.get(productId) : null;
+        return block != null ? block.version() : 0L;
+    }
+
+    private ByteBuffer slice(Block block) {
+        return buffer.slice((int) block.offset(), block.length());
+    }
+
+    // Same walk as decode, but only checks bounds and type codes and must end exactly at the block's end
+    private static boolean isWellFormed(ByteBuffer data) {
+        int questionCount = data.getInt();
+        if (questionCount < 0) {
+            return false;
+        }
+        for (int i = 0; i < questionCount; i++) {
+            skipString(data);
+            skipString(data);
+            if (Byte.toUnsignedInt(data.get()) >= TYPES.length) {
+                return false;
+            }
+            data.get();
+            skipString(data);
+            int subPointCount = Short.toUnsignedInt(data.getShort());
+            for (int s = 0; s < subPointCount; s++) {
+                skipString(data);
+            }
+        }
+        return !data.hasRemaining();
+    }
+
+    private static void skipString(ByteBuffer data) {
+        int length = Short.toUnsignedInt(data.getShort());
+        if (length != NULL_STRING) {
+            data.position(data.position() + length);
+        }
+    }
+
+    private List<Question> decode(Block block) {
+        ByteBuffer data = slice(block);
+        int questionCount = data.getInt();
+        Question[] questions = new Question[questionCount];
+        for (int i = 0; i < questionCount; i++) {
+            String id = readString(data);
+            String text = readString(data);
+            QuestionType type = TYPES[data.get()];
+            boolean required = data.get() != 0;
+            String disqualifyingAnswer = readString(data);
+            int subPointCount = Short.toUnsignedInt(data.getShort());
+            List<String> subPoints = new ArrayList<>(subPointCount);
+            for (int s = 0; s < subPointCount; s++) {
+                subPoints.add(readString(data));
+            }
+            questions[i] = new Question(id, text, type, required, disqualifyingAnswer, subPoints);
+        }
+        return List.of(questions);
+    }
+
+    private record Block(long offset, int length, long version) {
+    }
+
+    private static String readString(ByteBuffer data) {
+        int length = Short.toUnsignedInt(data.getShort());
+        if (length == NULL_STRING) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        data.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a catalog next to {@code file} and moves it into place atomically, so a watching
+     * repository never maps a half-written file.
+     */
+    public static void write(Path file, Map<String, List<Question>> questionsByProduct) throws IOException {
+        List<String> productIds = new ArrayList<>(questionsByProduct.keySet());
+        List<byte[]> blocks = new ArrayList<>(productIds.size());
+        for (String productId : productIds) {
+            blocks.add(encode(questionsByProduct.get(productId)));
+        }
+
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        long headerSize = 8;
+        for (String productId : productIds) {
+            headerSize += 2 + productId.getBytes(StandardCharsets.UTF_8).length + 8 + 4;
+        }
+        long offset = headerSize;
+        indexOut.writeInt(MAGIC);
+        indexOut.writeInt(productIds.size());
+        for (int i = 0; i < productIds.size(); i++) {
+            writeString(indexOut, productIds.get(i));
+            indexOut.writeLong(offset);
+            indexOut.writeInt(blocks.get(i).length);
+            offset += blocks.get(i).length;
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.wrap(index.toByteArray()));
+            for (byte[] block : blocks) {
+                channel.write(ByteBuffer.wrap(block));
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static byte[] encode(List<Question> questions) throws IOException {
+        ByteArrayOutputStream block = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(block);
+        out.writeInt(questions.size());
+        for (Question question : questions) {
+            writeString(out, question.id());
+            writeString(out, question.text());
+            out.writeByte(question.type().ordinal());
+            out.writeByte(question.required() ? 1 : 0);
+            writeString(out, question.disqualifyingAnswer());
+            out.writeShort(question.subPoints().size());
+            for (String subPoint : question.subPoints()) {
+                writeString(out, subPoint);
+            }
+        }
+        out.flush();
+        return block.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_STRING) {
+            throw new IllegalArgumentException("Catalog string too long: " + bytes.length + " bytes");
+        }
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
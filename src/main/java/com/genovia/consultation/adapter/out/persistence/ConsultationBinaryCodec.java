@@ -0,0 +1,149 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Compact binary form of a {@link Consultation}, shared by the journal and snapshots.
+ * Strings are int-length-prefixed UTF-8 (-1 for null); instants are epoch seconds plus nanos.
+ * Compact ids are stored as two longs, other ids as strings; the record ends with the
+ * strategy version and the update version.
+ */
+public final class ConsultationBinaryCodec {
+    private static final byte FORMAT_VERSION = 1;
+    private static final ConsultationStatus[] STATUSES = ConsultationStatus.values();
+
+    private ConsultationBinaryCodec() {
+    }
+
+    public static byte[] encode(Consultation consultation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            write(consultation, new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Consultation decode(byte[] data) {
+        try {
+            return read(new DataInputStream(new ByteArrayInputStream(data)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void write(Consultation consultation, DataOutput out) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        ConsultationId id = consultation.getConsultationId();
+        out.writeBoolean(id.isCompact());
+        if (id.isCompact()) {
+            out.writeLong(id.mostSignificantBits());
+            out.writeLong(id.leastSignificantBits());
+        } else {
+            writeString(out, id.toString());
+        }
+        writeString(out, consultation.getProductId());
+
+        List<Answer> answers = consultation.getAnswers();
+        out.writeInt(answers.size());
+        for (Answer answer : answers) {
+            writeString(out, answer.questionId());
+            writeString(out, answer.answer());
+        }
+
+        writeInstant(out, consultation.getSubmittedAt());
+        out.writeBoolean(consultation.getEligibilityResult().isEligible());
+        writeString(out, consultation.getEligibilityResult().getReason());
+        out.writeByte(consultation.getStatus().ordinal());
+
+        DoctorReview review = consultation.getDoctorReview();
+        out.writeBoolean(review != null);
+        if (review != null) {
+            writeString(out, review.reviewedBy());
+            writeInstant(out, review.reviewedAt());
+            out.writeBoolean(review.approved());
+            writeString(out, review.notes());
+        }
+        out.writeLong(consultation.getStrategyVersion());
+        out.writeLong(consultation.getVersion());
+    }
+
+    public static Consultation read(DataInput in) throws IOException {
+        byte version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported consultation format version: " + version);
+        }
+        ConsultationId id = in.readBoolean() ? ConsultationId.of(in.readLong(), in.readLong()) : ConsultationId.of(readString(in));
+        String productId = readString(in);
+
+        int answerCount = in.readInt();
+        Answer[] answers = new Answer[answerCount];
+        for (int i = 0; i < answerCount; i++) {
+            answers[i] = new Answer(readString(in), readString(in));
+        }
+
+        Instant submittedAt = readInstant(in);
+        boolean eligible = in.readBoolean();
+        String reason = readString(in);
+        // Eligible results all share one instance, only the ineligible reason needs restoring
+        EligibilityResult eligibilityResult = eligible ? EligibilityResult.eligible() : EligibilityResult.ineligible(reason);
+        ConsultationStatus status = STATUSES[in.readByte()];
+
+        DoctorReview review = null;
+        if (in.readBoolean()) {
+            review = new DoctorReview(readString(in), readInstant(in), in.readBoolean(), readString(in));
+        }
+        long strategyVersion = in.readLong();
+        long updateVersion = in.readLong();
+
+        return new Consultation(id, productId, List.of(answers), submittedAt, eligibilityResult,
+                status, review, strategyVersion, updateVersion);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutput out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInput in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+}
@@ -0,0 +1,155 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationCursor;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+
+/**
+ * Secondary indexes over consultations: one skip list ordered by (submittedAt, id) for all
+ * consultations, per product, per status and per product and status. A query picks the most
+ * selective list, seeks to the start of its time range (or past its cursor) and reads only
+ * as many entries as the page needs, so a page costs O(page size + log n).
+ * <p>
+ * Owners call {@link #update} with the previous and new version of a record, serialized
+ * per id. Readers load each hit through the owner and re-check the filter, so an entry that
+ * briefly lags a concurrent update is skipped rather than returned stale.
+ */
+public class ConsultationIndex {
+    private final NavigableSet<Key> all = new ConcurrentSkipListSet<>();
+    private final Map<String, NavigableSet<Key>> byProduct = new ConcurrentHashMap<>();
+    private final Map<ConsultationStatus, NavigableSet<Key>> byStatus = new ConcurrentHashMap<>();
+    private final Map<ProductStatus, NavigableSet<Key>> byProductAndStatus = new ConcurrentHashMap<>();
+
+    public void update(Consultation previous, Consultation current) {
+        if (previous != null) {
+            if (previous.getProductId().equals(current.getProductId())
+                    && previous.getStatus() == current.getStatus()
+                    && previous.getSubmittedAt().equals(current.getSubmittedAt())) {
+                return;
+            }
+            remove(previous);
+        }
+        Key key = Key.of(current);
+        all.add(key);
+        byProduct.computeIfAbsent(current.getProductId(), p -> new ConcurrentSkipListSet<>()).add(key);
+        byStatus.computeIfAbsent(current.getStatus(), s -> new ConcurrentSkipListSet<>()).add(key);
+        byProductAndStatus.computeIfAbsent(new ProductStatus(current.getProductId(), current.getStatus()),
+                ps -> new ConcurrentSkipListSet<>()).add(key);
+    }
+
+    public void remove(Consultation consultation) {
+        Key key = Key.of(consultation);
+        all.remove(key);
+        removeFrom(byProduct.get(consultation.getProductId()), key);
+        removeFrom(byStatus.get(consultation.getStatus()), key);
+        removeFrom(byProductAndStatus.get(new ProductStatus(consultation.getProductId(), consultation.getStatus())), key);
+    }
+
+    public void clear() {
+        all.clear();
+        byProduct.clear();
+        byStatus.clear();
+        byProductAndStatus.clear();
+    }
+
+    public ConsultationPage query(ConsultationQuery query, Function<ConsultationId, Optional<Consultation>> loader) {
+        NavigableSet<Key> index = select(query);
+        if (index == null) {
+            return new ConsultationPage(List.of(), null);
+        }
+
+        List<Consultation> page = new ArrayList<>(Math.min(query.limit(), 64));
+        Iterator<Key> keys = range(index, query).iterator();
+        while (keys.hasNext()) {
+            Optional<Consultation> loaded = loader.apply(keys.next().id());
+            if (loaded.isEmpty() || !query.matches(loaded.get())) {
+                continue;
+            }
+            if (page.size() == query.limit()) {
+                // One more match exists, so the page is not the last one
+                return new ConsultationPage(page, ConsultationCursor.after(page.get(page.size() - 1)));
+            }
+            page.add(loaded.get());
+        }
+        return new ConsultationPage(page, null);
+    }
+
+    private NavigableSet<Key> select(ConsultationQuery query) {
+        if (query.productId() != null && query.status() != null) {
+            return byProductAndStatus.get(new ProductStatus(query.productId(), query.status()));
+        }
+        if (query.productId() != null) {
+            return byProduct.get(query.productId());
+        }
+        if (query.status() != null) {
+            return byStatus.get(query.status());
+        }
+        return all;
+    }
+
+    private static NavigableSet<Key> range(NavigableSet<Key> index, ConsultationQuery query) {
+        Key from = query.submittedFrom() == null ? null : Key.first(query.submittedFrom());
+        boolean fromInclusive = true;
+        if (query.after() != null) {
+            Key cursor = new Key(query.after().submittedAt().getEpochSecond(),
+                    query.after().submittedAt().getNano(), ConsultationId.of(query.after().consultationId()));
+            if (from == null || cursor.compareTo(from) >= 0) {
+                from = cursor;
+                fromInclusive = false;
+            }
+        }
+        NavigableSet<Key> view = from == null ? index : index.tailSet(from, fromInclusive);
+        return query.submittedTo() == null ? view : view.headSet(Key.first(query.submittedTo()), false);
+    }
+
+    private static void removeFrom(NavigableSet<Key> index, Key key) {
+        if (index != null) {
+            index.remove(key);
+        }
+    }
+
+    private record Key(long epochSecond, int nano, ConsultationId id) implements Comparable<Key> {
+        static Key of(Consultation consultation) {
+            Instant submittedAt = consultation.getSubmittedAt();
+            return new Key(submittedAt.getEpochSecond(), submittedAt.getNano(), consultation.getConsultationId());
+        }
+
+        // Sorts before every consultation submitted at that instant
+        static Key first(Instant instant) {
+            return new Key(instant.getEpochSecond(), instant.getNano(), null);
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int bySecond = Long.compare(epochSecond, other.epochSecond);
+            if (bySecond != 0) {
+                return bySecond;
+            }
+            int byNano = Integer.compare(nano, other.nano);
+            if (byNano != 0 || id == other.id) {
+                return byNano;
+            }
+            if (id == null || other.id == null) {
+                return id == null ? -1 : 1;
+            }
+            return id.compareTo(other.id);
+        }
+    }
+
+    private record ProductStatus(String productId, ConsultationStatus status) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * How long consultations are kept, per product. Products without an entry use
+ * {@code defaultRetention}; a zero or negative retention (or a null default) keeps them forever.
+ * Expiry works on {@code bucketWidth}-sized slices of submission time, so a consultation may
+ * outlive its retention by up to one bucket.
+ */
+public record ConsultationRetention(Duration defaultRetention, Map<String, Duration> byProduct, Duration bucketWidth) {
+    public static final ConsultationRetention KEEP_FOREVER =
+            new ConsultationRetention(null, Map.of(), Duration.ofHours(1));
+
+    public ConsultationRetention {
+        byProduct = Map.copyOf(byProduct);
+        Objects.requireNonNull(bucketWidth, "Bucket width cannot be null");
+        if (bucketWidth.getSeconds() < 1) {
+            throw new IllegalArgumentException("Bucket width must be at least one second");
+        }
+    }
+
+    /**
+     * @param productHours comma-separated {@code productId=hours} overrides, e.g.
+     *                     {@code hair-loss=720,pear-allergy=2160}; may be blank
+     */
+    public static ConsultationRetention parse(long defaultHours, String productHours, Duration bucketWidth) {
+        Map<String, Duration> byProduct = new HashMap<>();
+        if (productHours != null && !productHours.isBlank()) {
+            for (String entry : productHours.split(",")) {
+                String[] parts = entry.split("=");
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    throw new IllegalArgumentException("Retention must be productId=hours: " + entry.trim());
+                }
+                try {
+                    byProduct.put(parts[0].trim(), Duration.ofHours(Long.parseLong(parts[1].trim())));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Retention hours must be a number: " + entry.trim());
+                }
+            }
+        }
+        return new ConsultationRetention(defaultHours > 0 ? Duration.ofHours(defaultHours) : null, byProduct, bucketWidth);
+    }
+
+    /** Null when the product's consultations never expire. */
+    public Duration retentionFor(String productId) {
+        Duration retention = byProduct.getOrDefault(productId, defaultRetention);
+        return expires(retention) ? retention : null;
+    }
+
+    /** Whether any product's consultations expire at all. */
+    public boolean expires() {
+        return expires(defaultRetention) || byProduct.values().stream().anyMatch(ConsultationRetention::expires);
+    }
+
+    private static boolean expires(Duration retention) {
+        return retention != null && !retention.isZero() && !retention.isNegative();
+    }
+}
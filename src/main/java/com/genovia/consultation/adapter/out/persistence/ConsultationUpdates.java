@@ -0,0 +1,58 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * The rules every {@link ConsultationRepository#update} follows: check the version, apply the
+ * transform, bump the version. Stores whose write path has no per-key atomic step keep an
+ * instance and use {@link #lockedUpdate}, which serializes updates on that instance's lock
+ * stripes, so one store's I/O never holds up updates in another.
+ */
+public final class ConsultationUpdates {
+    private static final int STRIPES = 64;
+
+    private final Object[] locks = new Object[STRIPES];
+
+    public ConsultationUpdates() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /** The consultation to store in place of {@code current}. */
+    public static Consultation apply(Consultation current, long expectedVersion, UnaryOperator<Consultation> transform) {
+        if (current.getVersion() != expectedVersion) {
+            throw new ConsultationVersionConflictException(current.getId(), expectedVersion, current.getVersion());
+        }
+        Consultation next = transform.apply(current);
+        if (!next.getConsultationId().equals(current.getConsultationId())) {
+            throw new IllegalArgumentException("An update cannot change the consultation ID");
+        }
+        return next.withVersion(expectedVersion + 1);
+    }
+
+    /**
+     * Read, check and save under the id's stripe. Only atomic against other updates through
+     * this method; a plain save of the same id is not held back.
+     */
+    public Optional<Consultation> lockedUpdate(ConsultationRepository repository, String consultationId,
+                                               long expectedVersion, UnaryOperator<Consultation> transform) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        ConsultationId id = ConsultationId.of(consultationId);
+        synchronized (locks[Math.floorMod(id.hashCode(), STRIPES)]) {
+            Optional<Consultation> current = repository.findById(consultationId);
+            if (current.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(repository.save(apply(current.get(), expectedVersion, transform)));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.port.out.QuestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Question repository serving a {@link BinaryQuestionCatalog} file.
+ * <p>
+ * The active catalog sits in a volatile field: readers never lock, and a reload maps the new
+ * file and checks every product block before swapping it in. When watching, a daemon thread
+ * reloads on every change to the file. A file that fails to load is logged and the previous
+ * catalog stays active. Catalog versions are per product (see {@link #getCatalogVersion}).
+ * Catalog listeners hear about a product when it is first decoded and, on reload, about changed
+ * products that were already in use; those are decoded before the new catalog is swapped in.
+ * Writers must replace the file atomically ({@link BinaryQuestionCatalog#write} does) rather than
+ * rewrite it in place, because products of the active catalog are decoded lazily from its mapping.
+ */
+public class FileQuestionRepository implements QuestionRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(FileQuestionRepository.class);
+
+    private final Path file;
+    private final AtomicLong versions = new AtomicLong();
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
+    private volatile BinaryQuestionCatalog catalog;
+    private WatchService watchService;
+    private Thread watcher;
+
+    public FileQuestionRepository(Path file) {
+        this.file = file.toAbsolutePath();
+        try {
+            this.catalog = BinaryQuestionCatalog.open(this.file, null, versions::incrementAndGet);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load question catalog " + this.file, e);
+        }
+        log.info("Loaded question catalog {} with {} products", this.file, catalog.productCount());
+    }
+
+    @Override
+    public List<Question> findByProductId(String productId) {
+        BinaryQuestionCatalog current = catalog;
+        if (current.isDecoded(productId)) {
+            return current.findByProductId(productId);
+        }
+        List<Question> questions = current.findByProductId(productId);
+        if (!questions.isEmpty()) {
+            listeners.forEach(listener -> listener.catalogLoaded(productId, questions));
+        }
+        return questions;
+    }
+
+    @Override
+    public void addCatalogListener(CatalogListener listener) {
+        listeners.add(listener);
+        BinaryQuestionCatalog current = catalog;
+        for (String productId : current.decodedProductIds()) {
+            listener.catalogLoaded(productId, current.findByProductId(productId));
+        }
+    }
+
+    @Override
+    public long getCatalogVersion(String productId) {
+        return catalog.version(productId);
+    }
+
+    /** Products whose questions did not change keep their version, so their cached results stay valid. */
+    public synchronized boolean reload() {
+        try {
+            BinaryQuestionCatalog previous = catalog;
+            BinaryQuestionCatalog next = BinaryQuestionCatalog.open(file, previous, versions::incrementAndGet);
+            for (String productId : previous.decodedProductIds()) {
+                if (next.version(productId) != 0L && next.version(productId) != previous.version(productId)) {
+                    List<Question> questions = next.findByProductId(productId);
+                    listeners.forEach(listener -> listener.catalogLoaded(productId, questions));
+                }
+            }
+            catalog = next;
+            log.info("Reloaded question catalog {} with {} products", file, catalog.productCount());
+            return true;
+        } catch (IOException e) {
+            log.warn("Keeping previous question catalog, could not load {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    public synchronized void startWatching() {
+        if (watcher != null) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not watch question catalog " + file, e);
+        }
+        watcher = new Thread(this::watch, "question-catalog-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch() {
+        Path fileName = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (fileName.equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Shutting down
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watcher.interrupt();
+            watchService = null;
+            watcher = null;
+        }
+    }
+}
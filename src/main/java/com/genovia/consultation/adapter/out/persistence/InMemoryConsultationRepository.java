@@ -1,19 +1,82 @@
 package com.genovia.consultation.adapter.out.persistence;
 
 import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
 import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 
+/**
+ * Heap consultation store.
+ * <p>
+ * With a {@link ConsultationRetention}, every consultation whose product expires is also
+ * filed under a coarse bucket of its submission time, per product. {@link #sweepExpired()}
+ * (run in the background every {@code sweepInterval}) drops whole buckets once all of their
+ * time range is past retention, touching only the consultations in them. Each removal is a
+ * single-key {@code computeIfPresent}, so sweeping never blocks saves or reads of other ids.
+ */
+public class InMemoryConsultationRepository implements ConsultationRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(InMemoryConsultationRepository.class);
 
-public class InMemoryConsultationRepository implements ConsultationRepository {
-    private final Map<String, Consultation> consultations = new ConcurrentHashMap<>();
+    private final Map<ConsultationId, Consultation> consultations = new ConcurrentHashMap<>();
+    private final ConsultationIndex index = new ConsultationIndex();
+    private final ConsultationRetention retention;
+    private final Clock clock;
+    private final long bucketSeconds;
+    private final Map<String, ConcurrentSkipListMap<Long, Set<ConsultationId>>> buckets = new ConcurrentHashMap<>();
+    private final LongAdder expired = new LongAdder();
+    private final ScheduledExecutorService sweeper;
+
+    public InMemoryConsultationRepository() {
+        this(ConsultationRetention.KEEP_FOREVER, Clock.systemUTC(), Duration.ZERO);
+    }
+
+    /**
+     * @param sweepInterval delay between background sweeps, zero or negative to only sweep on
+     *                      {@link #sweepExpired()}
+     */
+    public InMemoryConsultationRepository(ConsultationRetention retention, Clock clock, Duration sweepInterval) {
+        this.retention = retention;
+        this.clock = clock;
+        this.bucketSeconds = retention.bucketWidth().getSeconds();
+        if (!retention.expires() || sweepInterval.isZero() || sweepInterval.isNegative()) {
+            this.sweeper = null;
+        } else {
+            this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "consultation-retention");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = sweepInterval.toMillis();
+            sweeper.scheduleWithFixedDelay(this::sweepQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
 
     @Override
     public Consultation save(Consultation consultation) {
-        consultations.put(consultation.getId(), consultation);
+        // compute serializes saves of the same id, keeping the index in step with the map
+        consultations.compute(consultation.getConsultationId(), (id, previous) -> {
+            index.update(previous, consultation);
+            file(previous, consultation);
+            return consultation;
+        });
         return consultation;
     }
 
@@ -22,14 +85,145 @@ public class InMemoryConsultationRepository implements ConsultationRepository {
         if (id == null) {
             return Optional.empty();
         }
-        return Optional.ofNullable(consultations.get(id));
+        return Optional.ofNullable(consultations.get(ConsultationId.of(id)));
+    }
+
+    /**
+     * The version check and swap run inside {@code computeIfPresent}, so they are atomic per key
+     * without a lock of our own; updates of different ids do not contend. A lost race throws out
+     * of the remapping function and leaves the entry untouched.
+     */
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(consultations.computeIfPresent(ConsultationId.of(consultationId), (id, current) -> {
+            Consultation next = ConsultationUpdates.apply(current, expectedVersion, transform);
+            index.update(current, next);
+            file(current, next);
+            return next;
+        }));
+    }
+
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        return index.query(query, id -> Optional.ofNullable(consultations.get(id)));
+    }
+
+    /**
+     * Removes every consultation in a bucket that lies wholly past its product's retention.
+     *
+     * @return consultations removed
+     */
+    public int sweepExpired() {
+        Instant now = clock.instant();
+        int removed = 0;
+        for (Map.Entry<String, ConcurrentSkipListMap<Long, Set<ConsultationId>>> product : buckets.entrySet()) {
+            Duration keep = retention.retentionFor(product.getKey());
+            if (keep == null) {
+                continue;
+            }
+            ConcurrentNavigableMap<Long, Set<ConsultationId>> past = product.getValue().headMap(firstLiveBucket(now, keep));
+            Map.Entry<Long, Set<ConsultationId>> bucket;
+            while ((bucket = past.pollFirstEntry()) != null) {
+                for (ConsultationId id : bucket.getValue()) {
+                    if (expire(id, now)) {
+                        removed++;
+                    }
+                }
+            }
+        }
+        expired.add(removed);
+        return removed;
+    }
+
+    /** Consultations removed by retention so far. */
+    public long expired() {
+        return expired.sum();
     }
 
     public void clear() {
         consultations.clear();
+        index.clear();
+        buckets.clear();
     }
 
     public int count() {
         return consultations.size();
     }
+
+    @Override
+    public void close() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    // Runs inside the map's compute for the id
+    private void file(Consultation previous, Consultation current) {
+        boolean moved = previous == null
+                || !previous.getProductId().equals(current.getProductId())
+                || bucketOf(previous) != bucketOf(current);
+        if (!moved) {
+            return;
+        }
+        if (previous != null) {
+            ConcurrentSkipListMap<Long, Set<ConsultationId>> product = buckets.get(previous.getProductId());
+            Set<ConsultationId> ids = product == null ? null : product.get(bucketOf(previous));
+            if (ids != null) {
+                ids.remove(previous.getConsultationId());
+            }
+        }
+        if (retention.retentionFor(current.getProductId()) == null) {
+            return;
+        }
+        ConcurrentSkipListMap<Long, Set<ConsultationId>> product =
+                buckets.computeIfAbsent(current.getProductId(), p -> new ConcurrentSkipListMap<>());
+        long bucket = bucketOf(current);
+        while (true) {
+            Set<ConsultationId> ids = product.computeIfAbsent(bucket, b -> ConcurrentHashMap.newKeySet());
+            ids.add(current.getConsultationId());
+            // A sweep that polled the bucket before our add would miss the id, so file it again
+            if (product.get(bucket) == ids) {
+                return;
+            }
+        }
+    }
+
+    private boolean expire(ConsultationId id, Instant now) {
+        boolean[] removed = new boolean[1];
+        consultations.computeIfPresent(id, (key, consultation) -> {
+            Duration keep = retention.retentionFor(consultation.getProductId());
+            // Saved again meanwhile under a live bucket or a product that keeps it
+            if (keep == null || bucketOf(consultation) >= firstLiveBucket(now, keep)) {
+                return consultation;
+            }
+            index.remove(consultation);
+            removed[0] = true;
+            return null;
+        });
+        return removed[0];
+    }
+
+    private long bucketOf(Consultation consultation) {
+        return Math.floorDiv(consultation.getSubmittedAt().getEpochSecond(), bucketSeconds);
+    }
+
+    // Buckets before this one end at or before now - keep
+    private long firstLiveBucket(Instant now, Duration keep) {
+        return Math.floorDiv(now.minus(keep).getEpochSecond(), bucketSeconds);
+    }
+
+    private void sweepQuietly() {
+        try {
+            int removed = sweepExpired();
+            if (removed > 0) {
+                log.info("Retention removed {} expired consultations", removed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Retention sweep failed", e);
+        }
+    }
 }
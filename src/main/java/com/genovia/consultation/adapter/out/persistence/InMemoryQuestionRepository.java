@@ -6,11 +6,16 @@ import com.genovia.consultation.domain.port.out.QuestionRepository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 
 public class InMemoryQuestionRepository implements QuestionRepository {
 
     private final Map<String, List<Question>> questionsByProduct = new ConcurrentHashMap<>();
+    private final Map<String, Long> catalogVersionByProduct = new ConcurrentHashMap<>();
+    private final AtomicLong catalogVersions = new AtomicLong();
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
 
     public InMemoryQuestionRepository() {
         loadPearAllergyQuestions();
@@ -24,8 +29,23 @@ public class InMemoryQuestionRepository implements QuestionRepository {
         return questionsByProduct.getOrDefault(productId, List.of());
     }
 
+    @Override
+    public long getCatalogVersion(String productId) {
+        if (productId == null) {
+            return 0L;
+        }
+        return catalogVersionByProduct.getOrDefault(productId, 0L);
+    }
+
+    @Override
+    public void addCatalogListener(CatalogListener listener) {
+        // Added before the replay, so a concurrent addProductQuestions is seen at least once
+        listeners.add(listener);
+        questionsByProduct.forEach(listener::catalogLoaded);
+    }
+
     private void loadPearAllergyQuestions() {
-        List<Question> pearAllergyQuestions = Arrays.asList(
+        List<Question> pearAllergyQuestions = List.of(
                 new Question(
                         "Q1",
                         "Are you aged 18 or over?",
@@ -60,10 +80,14 @@ public class InMemoryQuestionRepository implements QuestionRepository {
                 )
         );
 
-        questionsByProduct.put("pear-allergy", pearAllergyQuestions);
+        addProductQuestions("pear-allergy", pearAllergyQuestions);
     }
 
+    /** Stores an immutable copy, so callers cannot change a catalog behind a compiled strategy. */
     public void addProductQuestions(String productId, List<Question> questions) {
-        questionsByProduct.put(productId, questions);
+        List<Question> snapshot = List.copyOf(questions);
+        listeners.forEach(listener -> listener.catalogLoaded(productId, snapshot));
+        questionsByProduct.put(productId, snapshot);
+        catalogVersionByProduct.put(productId, catalogVersions.incrementAndGet());
     }
 }
@@ -0,0 +1,565 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.AnswerDictionary;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Consultation store that keeps records outside the Java heap.
+ * <p>
+ * Records are appended in a compact binary layout to direct {@link ByteBuffer} segments:
+ * {@link ConsultationId}s as two longs, instants as seconds plus nanos, and product IDs, reasons,
+ * catalog question IDs and closed-set answers (as marked by {@link AnswerDictionary}) as varint
+ * codes into a shared {@link StringDictionary}. Other answers and question IDs only reuse a code
+ * that already exists, which also keeps decoded-and-updated records compact; reviewer names and
+ * notes are always inline. Client input therefore cannot fill the dictionary.
+ * <p>
+ * An open-addressing table of primitive arrays maps the id to the record's segment and offset,
+ * so apart from the {@link ConsultationIndex} keys the heap holds no per-consultation objects;
+ * a {@link Consultation} is only materialized by {@link #findById} and {@link #findPage}.
+ * <p>
+ * Saving an existing id appends a new record and repoints the index; the old bytes stay in
+ * the segment (reported by {@link #deadBytes()}). Writers are serialized; readers resolve the
+ * index with an optimistic {@link StampedLock} read and decode from immutable bytes.
+ */
+public class OffHeapConsultationRepository implements ConsultationRepository {
+    public static final int DEFAULT_SEGMENT_BYTES = 64 << 20;
+
+    private static final int DICTIONARY_SIZE = 1 << 16;
+    private static final int INITIAL_CAPACITY = 1 << 10;
+    private static final ConsultationStatus[] STATUSES = ConsultationStatus.values();
+
+    private static final int FLAG_COMPACT_ID = 1;
+    private static final int FLAG_ELIGIBLE = 1 << 1;
+    private static final int FLAG_REVIEWED = 1 << 2;
+    private static final int FLAG_REVIEW_APPROVED = 1 << 3;
+
+    private final int segmentBytes;
+    private final StringDictionary dictionary = new StringDictionary(DICTIONARY_SIZE);
+    private final StampedLock lock = new StampedLock();
+    // Ids that are not compact fall back to a heap map
+    private final Map<String, Long> otherIds = new ConcurrentHashMap<>();
+    private final ConsultationIndex index = new ConsultationIndex();
+
+    // Guarded by lock
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private int writeOffset;
+    private Index idIndex = new Index(INITIAL_CAPACITY);
+    private int count;
+    private long usedBytes;
+    private long deadBytes;
+
+    public OffHeapConsultationRepository() {
+        this(DEFAULT_SEGMENT_BYTES);
+    }
+
+    public OffHeapConsultationRepository(int segmentBytes) {
+        if (segmentBytes < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+        }
+        this.segmentBytes = segmentBytes;
+    }
+
+    @Override
+    public Consultation save(Consultation consultation) {
+        RecordWriter record = encode(consultation);
+        long stamp = lock.writeLock();
+        try {
+            store(consultation, record);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return consultation;
+    }
+
+    /** Decodes, transforms and appends under the write lock, like any other write here. */
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        ConsultationId id = ConsultationId.of(consultationId);
+        long stamp = lock.writeLock();
+        try {
+            long location = id.isCompact()
+                    ? idIndex.get(id.mostSignificantBits(), id.leastSignificantBits())
+                    : otherIds.getOrDefault(id.toString(), Index.EMPTY);
+            if (location == Index.EMPTY) {
+                return Optional.empty();
+            }
+            Consultation next = ConsultationUpdates.apply(
+                    decode(segments[(int) (location >>> 32)], location), expectedVersion, transform);
+            store(next, encode(next));
+            return Optional.of(next);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public Optional<Consultation> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        long location = locate(ConsultationId.of(id));
+        if (location == Index.EMPTY) {
+            return Optional.empty();
+        }
+        return Optional.of(decode(segment(location), location));
+    }
+
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        return index.query(query, id -> {
+            long location = locate(id);
+            return location == Index.EMPTY ? Optional.empty() : Optional.of(decode(segment(location), location));
+        });
+    }
+
+    public int count() {
+        long stamp = lock.readLock();
+        try {
+            return count;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Direct memory reserved by segments. */
+    public long allocatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return (long) segments.length * segmentBytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public long usedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /** Bytes of records that were superseded by a later save of the same id. */
+    public long deadBytes() {
+        long stamp = lock.readLock();
+        try {
+            return deadBytes;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    int dictionarySize() {
+        return dictionary.size();
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            segments = new ByteBuffer[0];
+            writeOffset = 0;
+            idIndex = new Index(INITIAL_CAPACITY);
+            otherIds.clear();
+            index.clear();
+            count = 0;
+            usedBytes = 0L;
+            deadBytes = 0L;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private long locate(ConsultationId id) {
+        if (!id.isCompact()) {
+            Long location = otherIds.get(id.toString());
+            return location == null ? Index.EMPTY : location;
+        }
+        long msb = id.mostSignificantBits();
+        long lsb = id.leastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        long location = idIndex.get(msb, lsb);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                location = idIndex.get(msb, lsb);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return location;
+    }
+
+    private long putOther(String id, long location) {
+        Long previous = otherIds.put(id, location);
+        return previous == null ? Index.EMPTY : previous;
+    }
+
+    private RecordWriter encode(Consultation consultation) {
+        RecordWriter record = new RecordWriter();
+        encode(consultation, record);
+        if (record.length > segmentBytes) {
+            throw new IllegalArgumentException("Consultation " + consultation.getConsultationId() + " does not fit in a segment");
+        }
+        return record;
+    }
+
+    // Write lock held
+    private void store(Consultation consultation, RecordWriter record) {
+        ConsultationId id = consultation.getConsultationId();
+        long location = append(record);
+        long previous = id.isCompact()
+                ? idIndex.put(id.mostSignificantBits(), id.leastSignificantBits(), location)
+                : putOther(id.toString(), location);
+        if (idIndex.full()) {
+            idIndex = idIndex.grow();
+        }
+        if (previous == Index.EMPTY) {
+            count++;
+            index.update(null, consultation);
+        } else {
+            deadBytes += recordLength(previous);
+            index.update(decode(segments[(int) (previous >>> 32)], previous), consultation);
+        }
+        usedBytes += record.length;
+    }
+
+    // Write lock held
+    private long append(RecordWriter record) {
+        if (segments.length == 0 || writeOffset + record.length > segmentBytes) {
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            segments[segments.length - 1] = ByteBuffer.allocateDirect(segmentBytes);
+            writeOffset = 0;
+        }
+        int segment = segments.length - 1;
+        segments[segment].put(writeOffset, record.bytes, 0, record.length);
+        long location = (long) segment << 32 | writeOffset;
+        writeOffset += record.length;
+        return location;
+    }
+
+    // Write lock held
+    private int recordLength(long location) {
+        return segments[(int) (location >>> 32)].getInt((int) location);
+    }
+
+    private ByteBuffer segment(long location) {
+        long stamp = lock.tryOptimisticRead();
+        ByteBuffer[] current = segments;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                current = segments;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return current[(int) (location >>> 32)];
+    }
+
+    private void encode(Consultation consultation, RecordWriter out) {
+        ConsultationId id = consultation.getConsultationId();
+        EligibilityResult result = consultation.getEligibilityResult();
+        DoctorReview review = consultation.getDoctorReview();
+        int flags = (id.isCompact() ? FLAG_COMPACT_ID : 0)
+                | (result.isEligible() ? FLAG_ELIGIBLE : 0)
+                | (review != null ? FLAG_REVIEWED : 0)
+                | (review != null && review.approved() ? FLAG_REVIEW_APPROVED : 0);
+
+        out.putInt(0); // length, patched below
+        out.putByte(flags);
+        out.putByte(consultation.getStatus().ordinal());
+        if (id.isCompact()) {
+            out.putLong(id.mostSignificantBits());
+            out.putLong(id.leastSignificantBits());
+        } else {
+            out.putInlineString(id.toString());
+        }
+        out.putString(consultation.getProductId(), dictionary);
+        out.putLong(consultation.getSubmittedAt().getEpochSecond());
+        out.putInt(consultation.getSubmittedAt().getNano());
+        out.putVarLong(consultation.getStrategyVersion());
+        out.putVarLong(consultation.getVersion());
+        if (!result.isEligible()) {
+            out.putString(result.getReason(), dictionary);
+        }
+        List<Answer> answers = consultation.getAnswers();
+        out.putVarInt(answers.size());
+        for (int i = 0, n = answers.size(); i < n; i++) {
+            out.putString(answers.get(i).questionId(), dictionary, AnswerDictionary.isCatalogQuestion(answers, i));
+            out.putString(answers.get(i).answer(), dictionary, AnswerDictionary.isClosedSet(answers, i));
+        }
+        if (review != null) {
+            out.putInlineString(review.reviewedBy());
+            out.putLong(review.reviewedAt().getEpochSecond());
+            out.putInt(review.reviewedAt().getNano());
+            out.putInlineString(review.notes());
+        }
+        out.patchInt(0, out.length);
+    }
+
+    private Consultation decode(ByteBuffer segment, long location) {
+        RecordReader in = new RecordReader(segment, (int) location + Integer.BYTES, dictionary);
+        int flags = in.getByte();
+        ConsultationStatus status = STATUSES[in.getByte()];
+        ConsultationId id = (flags & FLAG_COMPACT_ID) != 0
+                ? ConsultationId.of(in.getLong(), in.getLong())
+                : ConsultationId.of(in.getInlineString());
+        String productId = in.getString();
+        Instant submittedAt = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        long strategyVersion = in.getVarLong();
+        long version = in.getVarLong();
+        EligibilityResult result = (flags & FLAG_ELIGIBLE) != 0
+                ? EligibilityResult.eligible()
+                : EligibilityResult.ineligible(in.getString());
+        Answer[] answers = new Answer[in.getVarInt()];
+        for (int i = 0; i < answers.length; i++) {
+            answers[i] = new Answer(in.getString(), in.getString());
+        }
+        DoctorReview review = null;
+        if ((flags & FLAG_REVIEWED) != 0) {
+            String reviewedBy = in.getInlineString();
+            Instant reviewedAt = Instant.ofEpochSecond(in.getLong(), in.getInt());
+            review = new DoctorReview(reviewedBy, reviewedAt, (flags & FLAG_REVIEW_APPROVED) != 0, in.getInlineString());
+        }
+        return new Consultation(id, productId, List.of(answers), submittedAt, result, status, review, strategyVersion,
+                version);
+    }
+
+    /**
+     * Linear-probing table keyed by the two UUID halves. Locations are stored plus one so a
+     * zeroed slot reads as empty.
+     */
+    private static final class Index {
+        static final long EMPTY = -1L;
+
+        private final long[] keys;
+        private final long[] locations;
+        private final int mask;
+        private int size;
+
+        Index(int capacity) {
+            keys = new long[capacity * 2];
+            locations = new long[capacity];
+            mask = capacity - 1;
+        }
+
+        long get(long msb, long lsb) {
+            for (int slot = slot(msb, lsb), probes = 0; probes <= mask; slot = (slot + 1) & mask, probes++) {
+                long stored = locations[slot];
+                if (stored == 0L) {
+                    return EMPTY;
+                }
+                if (keys[slot * 2] == msb && keys[slot * 2 + 1] == lsb) {
+                    return stored - 1;
+                }
+            }
+            return EMPTY;
+        }
+
+        // Returns the replaced location or EMPTY; the owner swaps in a grown table when needed
+        long put(long msb, long lsb, long location) {
+            int slot = slot(msb, lsb);
+            while (locations[slot] != 0L) {
+                if (keys[slot * 2] == msb && keys[slot * 2 + 1] == lsb) {
+                    long previous = locations[slot] - 1;
+                    locations[slot] = location + 1;
+                    return previous;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot * 2] = msb;
+            keys[slot * 2 + 1] = lsb;
+            locations[slot] = location + 1;
+            size++;
+            return EMPTY;
+        }
+
+        boolean full() {
+            // Load factor 0.7
+            return size * 10L >= (mask + 1) * 7L;
+        }
+
+        Index grow() {
+            Index grown = new Index((mask + 1) * 2);
+            for (int slot = 0; slot <= mask; slot++) {
+                if (locations[slot] != 0L) {
+                    grown.put(keys[slot * 2], keys[slot * 2 + 1], locations[slot] - 1);
+                }
+            }
+            return grown;
+        }
+
+        private int slot(long msb, long lsb) {
+            long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+            return (int) (h >>> 32) & mask;
+        }
+    }
+
+    private static final class RecordWriter {
+        private byte[] bytes = new byte[128];
+        private int length;
+
+        void putByte(int value) {
+            ensure(1);
+            bytes[length++] = (byte) value;
+        }
+
+        void putInt(int value) {
+            ensure(Integer.BYTES);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void patchInt(int offset, int value) {
+            for (int shift = 24, i = offset; shift >= 0; shift -= 8, i++) {
+                bytes[i] = (byte) (value >>> shift);
+            }
+        }
+
+        void putLong(long value) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[length++] = (byte) (value >>> shift);
+            }
+        }
+
+        void putVarInt(int value) {
+            putVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void putVarLong(long value) {
+            while ((value & ~0x7FL) != 0L) {
+                putByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            putByte((int) value);
+        }
+
+        void putString(String value, StringDictionary dictionary) {
+            putString(value, dictionary, true);
+        }
+
+        // 0 = null, odd = dictionary code, even = inline UTF-8 of length (v / 2 - 1)
+        void putString(String value, StringDictionary dictionary, boolean mayAdd) {
+            if (value == null) {
+                putVarInt(0);
+                return;
+            }
+            int code = mayAdd ? dictionary.codeOf(value) : dictionary.existingCodeOf(value);
+            if (code == StringDictionary.NOT_ENCODED) {
+                putInlineString(value);
+            } else {
+                putVarInt(code << 1 | 1);
+            }
+        }
+
+        void putInlineString(String value) {
+            if (value == null) {
+                putVarInt(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            putVarInt((utf8.length + 1) << 1);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, bytes, length, utf8.length);
+            length += utf8.length;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    private static final class RecordReader {
+        private final ByteBuffer segment;
+        private final StringDictionary dictionary;
+        private int position;
+
+        RecordReader(ByteBuffer segment, int position, StringDictionary dictionary) {
+            this.segment = segment;
+            this.position = position;
+            this.dictionary = dictionary;
+        }
+
+        int getByte() {
+            return segment.get(position++) & 0xFF;
+        }
+
+        int getInt() {
+            int value = segment.getInt(position);
+            position += Integer.BYTES;
+            return value;
+        }
+
+        long getLong() {
+            long value = segment.getLong(position);
+            position += Long.BYTES;
+            return value;
+        }
+
+        int getVarInt() {
+            return (int) getVarLong();
+        }
+
+        long getVarLong() {
+            long value = 0L;
+            for (int shift = 0; ; shift += 7) {
+                int b = getByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+        }
+
+        String getString() {
+            int header = getVarInt();
+            if ((header & 1) != 0) {
+                return dictionary.valueOf(header >>> 1);
+            }
+            return inline(header);
+        }
+
+        String getInlineString() {
+            return inline(getVarInt());
+        }
+
+        private String inline(int header) {
+            if (header == 0) {
+                return null;
+            }
+            byte[] utf8 = new byte[(header >>> 1) - 1];
+            segment.get(position, utf8);
+            position += utf8.length;
+            return new String(utf8, StandardCharsets.UTF_8);
+        }
+    }
+}
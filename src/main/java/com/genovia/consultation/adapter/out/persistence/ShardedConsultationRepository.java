@@ -0,0 +1,226 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationCursor;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory consultation store split into a power-of-two number of shards by id hash.
+ * <p>
+ * Each shard owns its map, its {@link ConsultationIndex}, a {@link StampedLock} and its
+ * counters. Saves take the shard's write lock to keep its map and index in step, so writers
+ * only contend within one shard. Point reads do not lock. Queries read one page from every
+ * shard's index and merge them in (submittedAt, id) order, so a page costs O(shards x page size).
+ * <p>
+ * {@link #shardStats()} is logged every {@code statsLogInterval} when one is given.
+ */
+public class ShardedConsultationRepository implements ConsultationRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ShardedConsultationRepository.class);
+    private static final Comparator<Consultation> SUBMISSION_ORDER = Comparator
+            .comparing(Consultation::getSubmittedAt)
+            .thenComparing(Consultation::getConsultationId);
+
+    private final Shard[] shards;
+    private final int mask;
+    private final ScheduledExecutorService statsLogger;
+
+    public ShardedConsultationRepository(int shardCount) {
+        this(shardCount, Duration.ZERO);
+    }
+
+    /**
+     * @param statsLogInterval delay between {@link #shardStats()} log lines, zero or negative for none
+     */
+    public ShardedConsultationRepository(int shardCount, Duration statsLogInterval) {
+        if (shardCount <= 0 || Integer.bitCount(shardCount) != 1) {
+            throw new IllegalArgumentException("Shard count must be a positive power of two");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+        this.mask = shardCount - 1;
+        if (statsLogInterval.isZero() || statsLogInterval.isNegative()) {
+            this.statsLogger = null;
+        } else {
+            this.statsLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "consultation-shard-stats");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = statsLogInterval.toMillis();
+            statsLogger.scheduleWithFixedDelay(this::logStats, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Consultation save(Consultation consultation) {
+        ConsultationId id = consultation.getConsultationId();
+        Shard shard = shardFor(id);
+        long stamp = shard.lock.writeLock();
+        try {
+            Consultation previous = shard.consultations.put(id, consultation);
+            shard.index.update(previous, consultation);
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+        shard.saves.increment();
+        return consultation;
+    }
+
+    @Override
+    public Optional<Consultation> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        ConsultationId key = ConsultationId.of(id);
+        Shard shard = shardFor(key);
+        shard.reads.increment();
+        Consultation consultation = shard.consultations.get(key);
+        if (consultation == null) {
+            shard.misses.increment();
+        }
+        return Optional.ofNullable(consultation);
+    }
+
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        ConsultationId id = ConsultationId.of(consultationId);
+        Shard shard = shardFor(id);
+        Consultation next;
+        long stamp = shard.lock.writeLock();
+        try {
+            Consultation current = shard.consultations.get(id);
+            if (current == null) {
+                return Optional.empty();
+            }
+            next = ConsultationUpdates.apply(current, expectedVersion, transform);
+            shard.consultations.put(id, next);
+            shard.index.update(current, next);
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+        shard.saves.increment();
+        return Optional.of(next);
+    }
+
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        // Each shard's first page holds its share of the global first page
+        List<Consultation> merged = new ArrayList<>();
+        boolean shardHasMore = false;
+        for (Shard shard : shards) {
+            shard.queries.increment();
+            ConsultationPage page = shard.index.query(query, id -> Optional.ofNullable(shard.consultations.get(id)));
+            merged.addAll(page.consultations());
+            shardHasMore |= page.hasNext();
+        }
+        merged.sort(SUBMISSION_ORDER);
+
+        if (merged.size() <= query.limit() && !shardHasMore) {
+            return new ConsultationPage(merged, null);
+        }
+        List<Consultation> page = List.copyOf(merged.subList(0, Math.min(query.limit(), merged.size())));
+        return new ConsultationPage(page, ConsultationCursor.after(page.get(page.size() - 1)));
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    public int shardOf(String id) {
+        return shardOf(ConsultationId.of(id));
+    }
+
+    int shardOf(ConsultationId id) {
+        return spread(id.hashCode()) & mask;
+    }
+
+    public int count() {
+        int total = 0;
+        for (Shard shard : shards) {
+            total += shard.consultations.size();
+        }
+        return total;
+    }
+
+    public List<ShardStats> shardStats() {
+        List<ShardStats> stats = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            stats.add(new ShardStats(i, shard.consultations.size(), shard.saves.sum(), shard.reads.sum(),
+                    shard.misses.sum(), shard.queries.sum()));
+        }
+        return stats;
+    }
+
+    public void clear() {
+        for (Shard shard : shards) {
+            long stamp = shard.lock.writeLock();
+            try {
+                shard.consultations.clear();
+                shard.index.clear();
+            } finally {
+                shard.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (statsLogger != null) {
+            statsLogger.shutdownNow();
+        }
+    }
+
+    private void logStats() {
+        for (ShardStats stats : shardStats()) {
+            log.info("Consultation shard {}: {} stored, {} saves, {} reads, {} misses, {} queries",
+                    stats.shard(), stats.size(), stats.saves(), stats.reads(), stats.misses(), stats.queries());
+        }
+    }
+
+    private Shard shardFor(ConsultationId id) {
+        return shards[shardOf(id)];
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x9E3779B9 >>> 8;
+    }
+
+    public record ShardStats(int shard, int size, long saves, long reads, long misses, long queries) {
+    }
+
+    private static final class Shard {
+        final Map<ConsultationId, Consultation> consultations = new ConcurrentHashMap<>();
+        final ConsultationIndex index = new ConsultationIndex();
+        final StampedLock lock = new StampedLock();
+        final LongAdder saves = new LongAdder();
+        final LongAdder reads = new LongAdder();
+        final LongAdder misses = new LongAdder();
+        final LongAdder queries = new LongAdder();
+    }
+}
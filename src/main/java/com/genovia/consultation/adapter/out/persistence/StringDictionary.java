@@ -0,0 +1,67 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Append-only string to int code mapping for low-cardinality values (product IDs, question IDs,
+ * closed-set answers, rejection reasons). Codes are dense from 0; once {@code maxSize} values are
+ * known, {@link #codeOf} returns -1 without locking and callers store the string inline instead.
+ * Values a client can choose freely go through {@link #existingCodeOf}, which never adds one.
+ */
+final class StringDictionary {
+    static final int NOT_ENCODED = -1;
+
+    private final int maxSize;
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[64];
+    private int size;
+    private volatile boolean full;
+
+    StringDictionary(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    int codeOf(String value) {
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        if (full) {
+            return NOT_ENCODED;
+        }
+        synchronized (this) {
+            code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            if (size >= maxSize) {
+                full = true;
+                return NOT_ENCODED;
+            }
+            String[] current = values;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = value;
+            // Publish the value before the code can be handed out
+            values = current;
+            codes.put(value, size);
+            return size++;
+        }
+    }
+
+    int existingCodeOf(String value) {
+        Integer code = codes.get(value);
+        return code != null ? code : NOT_ENCODED;
+    }
+
+    String valueOf(int code) {
+        return values[code];
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
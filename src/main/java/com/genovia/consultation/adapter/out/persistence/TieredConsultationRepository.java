@@ -0,0 +1,363 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * Consultation store with a size-bounded LRU hot tier on the heap and a cold tier in
+ * append-only spill files.
+ * <p>
+ * Evicted consultations are appended to the current spill segment (rolled at
+ * {@code segmentBytes}); only their id and file location stay on the heap. A hot-tier miss
+ * reads the record back and promotes it. Promoted records are clean, so evicting them again
+ * costs no write. Spill files are scratch space, not durability: they are removed on open
+ * and on {@link #close()}. File reads never happen under the hot-tier lock.
+ * <p>
+ * {@link #stats()} is logged every {@code statsLogInterval} when one is given.
+ */
+public class TieredConsultationRepository implements ConsultationRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(TieredConsultationRepository.class);
+
+    static final String SEGMENT_PREFIX = "spill-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private final int hotCapacity;
+    private final long segmentBytes;
+    private final Path directory;
+
+    // Access-ordered; guarded by itself
+    private final LinkedHashMap<ConsultationId, HotEntry> hot;
+    // Evicted but not yet written, so concurrent reads still find them
+    private final Map<ConsultationId, HotEntry> spilling = new ConcurrentHashMap<>();
+    private final Map<ConsultationId, ColdLocation> cold = new ConcurrentHashMap<>();
+    private final AtomicLong stamps = new AtomicLong();
+    private final ConsultationIndex index = new ConsultationIndex();
+    private final ConsultationUpdates updates = new ConsultationUpdates();
+
+    // Guarded by spillLock
+    private final Object spillLock = new Object();
+    private final List<FileChannel> segments = new ArrayList<>();
+    private long segmentSize;
+    private long spilledBytes;
+
+    private final LongAdder hotHits = new LongAdder();
+    private final LongAdder coldHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final ScheduledExecutorService statsLogger;
+
+    public TieredConsultationRepository(int hotCapacity, Path directory, long segmentBytes) {
+        this(hotCapacity, directory, segmentBytes, Duration.ZERO);
+    }
+
+    /**
+     * @param statsLogInterval delay between {@link #stats()} log lines, zero or negative for none
+     */
+    public TieredConsultationRepository(int hotCapacity, Path directory, long segmentBytes, Duration statsLogInterval) {
+        if (hotCapacity <= 0) {
+            throw new IllegalArgumentException("Hot tier capacity must be positive");
+        }
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+        this.hotCapacity = hotCapacity;
+        this.segmentBytes = segmentBytes;
+        this.directory = directory;
+        this.hot = new LinkedHashMap<>(16, 0.75f, true);
+        try {
+            Files.createDirectories(directory);
+            deleteSegments();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare spill directory " + directory, e);
+        }
+        if (statsLogInterval.isZero() || statsLogInterval.isNegative()) {
+            this.statsLogger = null;
+        } else {
+            this.statsLogger = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "consultation-tier-stats");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = statsLogInterval.toMillis();
+            statsLogger.scheduleWithFixedDelay(this::logStats, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Consultation save(Consultation consultation) {
+        ConsultationId id = consultation.getConsultationId();
+        HotEntry entry = new HotEntry(consultation, stamps.incrementAndGet(), true);
+        List<HotEntry> evicted = null;
+        ColdLocation readFrom = null;
+        Consultation coldPrevious = null;
+        while (evicted == null) {
+            ColdLocation location;
+            synchronized (hot) {
+                HotEntry previous = hot.get(id);
+                HotEntry spilled = previous == null ? spilling.get(id) : null;
+                location = previous == null && spilled == null ? cold.get(id) : null;
+                // A cold predecessor is only indexed once read outside the lock, and only if still current
+                if (location == null || location == readFrom) {
+                    hot.put(id, entry);
+                    Consultation replaced = previous != null ? previous.consultation()
+                            : spilled != null ? spilled.consultation() : coldPrevious;
+                    index.update(replaced, consultation);
+                    evicted = evictOverflow();
+                }
+            }
+            if (evicted == null) {
+                readFrom = location;
+                coldPrevious = read(location);
+            }
+        }
+        spill(evicted);
+        return consultation;
+    }
+
+    @Override
+    public Optional<Consultation> findById(String consultationId) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        ConsultationId id = ConsultationId.of(consultationId);
+        HotEntry entry;
+        synchronized (hot) {
+            entry = hot.get(id);
+        }
+        if (entry == null) {
+            entry = spilling.get(id);
+        }
+        if (entry != null) {
+            hotHits.increment();
+            return Optional.of(entry.consultation());
+        }
+
+        ColdLocation location = cold.get(id);
+        if (location == null) {
+            misses.increment();
+            return Optional.empty();
+        }
+        coldHits.increment();
+        Consultation consultation = read(location);
+        promote(consultation, location.stamp());
+        return Optional.of(consultation);
+    }
+
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        return updates.lockedUpdate(this, consultationId, expectedVersion, transform);
+    }
+
+    /**
+     * Pages are loaded without promoting cold records or touching the hit statistics, so
+     * dashboard scans over old consultations do not flush the hot tier.
+     */
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        return index.query(query, id -> Optional.ofNullable(peek(id)));
+    }
+
+    public int count() {
+        int hotOnly = 0;
+        synchronized (hot) {
+            for (ConsultationId id : hot.keySet()) {
+                if (!cold.containsKey(id)) {
+                    hotOnly++;
+                }
+            }
+        }
+        for (ConsultationId id : spilling.keySet()) {
+            if (!cold.containsKey(id)) {
+                hotOnly++;
+            }
+        }
+        return cold.size() + hotOnly;
+    }
+
+    public TierStats stats() {
+        int hotSize;
+        synchronized (hot) {
+            hotSize = hot.size();
+        }
+        long written;
+        synchronized (spillLock) {
+            written = spilledBytes;
+        }
+        return new TierStats(hotHits.sum(), coldHits.sum(), misses.sum(), hotSize, cold.size(), written);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (statsLogger != null) {
+            statsLogger.shutdownNow();
+        }
+        synchronized (spillLock) {
+            for (FileChannel segment : segments) {
+                segment.close();
+            }
+            segments.clear();
+        }
+        deleteSegments();
+    }
+
+    private Consultation peek(ConsultationId id) {
+        HotEntry entry;
+        synchronized (hot) {
+            entry = hot.get(id);
+        }
+        return entry != null ? entry.consultation() : peekSpilledOrCold(id);
+    }
+
+    private Consultation peekSpilledOrCold(ConsultationId id) {
+        HotEntry entry = spilling.get(id);
+        if (entry != null) {
+            return entry.consultation();
+        }
+        ColdLocation location = cold.get(id);
+        return location == null ? null : read(location);
+    }
+
+    private void promote(Consultation consultation, long stamp) {
+        List<HotEntry> evicted;
+        synchronized (hot) {
+            // A newer version saved or spilled while we were reading wins
+            ConsultationId id = consultation.getConsultationId();
+            ColdLocation current = cold.get(id);
+            if (hot.containsKey(id) || spilling.containsKey(id) || current == null || current.stamp() != stamp) {
+                return;
+            }
+            hot.put(id, new HotEntry(consultation, stamp, false));
+            evicted = evictOverflow();
+        }
+        spill(evicted);
+    }
+
+    // Hot lock held
+    private List<HotEntry> evictOverflow() {
+        if (hot.size() <= hotCapacity) {
+            return List.of();
+        }
+        List<HotEntry> evicted = new ArrayList<>(1);
+        Iterator<HotEntry> eldest = hot.values().iterator();
+        while (hot.size() > hotCapacity) {
+            HotEntry entry = eldest.next();
+            eldest.remove();
+            if (entry.dirty()) {
+                spilling.put(entry.consultation().getConsultationId(), entry);
+                evicted.add(entry);
+            }
+        }
+        return evicted;
+    }
+
+    private void spill(List<HotEntry> evicted) {
+        for (HotEntry entry : evicted) {
+            ConsultationId id = entry.consultation().getConsultationId();
+            ColdLocation location = write(ConsultationBinaryCodec.encode(entry.consultation()), entry.stamp());
+            // Older versions spilled late must not overwrite a newer location
+            cold.merge(id, location, (current, written) -> written.stamp() > current.stamp() ? written : current);
+            spilling.remove(id, entry);
+        }
+    }
+
+    private ColdLocation write(byte[] record, long stamp) {
+        synchronized (spillLock) {
+            try {
+                if (segments.isEmpty() || segmentSize + record.length > segmentBytes) {
+                    Path path = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+                    segments.add(FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                            StandardOpenOption.READ, StandardOpenOption.WRITE));
+                    segmentSize = 0L;
+                }
+                int segment = segments.size() - 1;
+                long offset = segmentSize;
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                while (buffer.hasRemaining()) {
+                    segments.get(segment).write(buffer, offset + buffer.position());
+                }
+                segmentSize += record.length;
+                spilledBytes += record.length;
+                return new ColdLocation(segment, offset, record.length, stamp);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not spill consultation to " + directory, e);
+            }
+        }
+    }
+
+    private Consultation read(ColdLocation location) {
+        FileChannel segment;
+        synchronized (spillLock) {
+            segment = segments.get(location.segment());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(location.length());
+        try {
+            while (buffer.hasRemaining()) {
+                if (segment.read(buffer, location.offset() + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of spill segment " + location.segment());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read spilled consultation", e);
+        }
+        return ConsultationBinaryCodec.decode(buffer.array());
+    }
+
+    private void logStats() {
+        TierStats stats = stats();
+        log.info("Consultation tiers: {} hot, {} cold, hot hit ratio {}, {} cold hits, {} misses, {} bytes spilled",
+                stats.hotSize(), stats.coldSize(), String.format("%.3f", stats.hotHitRatio()), stats.coldHits(),
+                stats.misses(), stats.spilledBytes());
+    }
+
+    private void deleteSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    public record TierStats(long hotHits, long coldHits, long misses, int hotSize, int coldSize, long spilledBytes) {
+        public double hotHitRatio() {
+            long lookups = hotHits + coldHits + misses;
+            return lookups == 0 ? 0.0 : (double) hotHits / lookups;
+        }
+    }
+
+    private record HotEntry(Consultation consultation, long stamp, boolean dirty) {
+    }
+
+    private record ColdLocation(int segment, long offset, int length, long stamp) {
+    }
+}
@@ -0,0 +1,389 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationCursor;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.port.out.ConsultationStoreBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Write-behind front for a slower {@link ConsultationRepository}. A save only reserves a slot
+ * in a bounded buffer, records the consultation in an overlay and returns; a flusher thread
+ * hands buffered consultations to the delegate with {@code saveAll} in batches, in save order.
+ * <p>
+ * Reads see their own writes: {@link #findById} checks the overlay first and
+ * {@link #findPage} merges overlay entries into the delegate's page. An overlay entry is
+ * dropped once the delegate has stored that exact version.
+ * <p>
+ * When the buffer is full a save waits up to {@code enqueueTimeout} for space and then fails
+ * with {@link ConsultationStoreBusyException}, storing nothing.
+ * <p>
+ * A batch the delegate refuses is split in halves until the failing consultations are
+ * isolated; the rest is stored. Failed consultations stay buffered and readable and are retried
+ * with the next batch, so they do not hold up later saves. One that fails in
+ * {@code maxAttempts} flushes in which other consultations were stored is logged and dropped
+ * (counted by {@link #dropped()}). When nothing goes through the store is taken to be down:
+ * the flusher backs off and nothing is dropped, so the buffer fills and saves are refused.
+ * <p>
+ * {@link #close()} rejects new saves, drains the buffer into the delegate (waiting up to
+ * {@code drainTimeout}) and then closes the delegate.
+ */
+public class WriteBehindConsultationRepository implements ConsultationRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindConsultationRepository.class);
+
+    private static final Comparator<Consultation> SUBMISSION_ORDER = Comparator
+            .comparing(Consultation::getSubmittedAt)
+            .thenComparing(Consultation::getConsultationId);
+    private static final long MAX_RETRY_DELAY_MILLIS = 5_000L;
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+
+    private final ConsultationRepository delegate;
+    private final int maxBatch;
+    private final int maxAttempts;
+    private final Duration enqueueTimeout;
+    private final Duration drainTimeout;
+    private final int capacityTotal;
+    private final Semaphore capacity;
+    private final BlockingQueue<Consultation> queue = new LinkedBlockingQueue<>();
+    private final Map<ConsultationId, Consultation> overlay = new ConcurrentHashMap<>();
+    private final ConsultationUpdates updates = new ConsultationUpdates();
+    // Saves hold the read side while enqueueing, so close() never misses one
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final LongAdder flushed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    // Flusher thread only: consultations to retry with the next batch, and failed attempts per consultation
+    private final List<Consultation> retrying = new ArrayList<>();
+    private final Map<Consultation, Integer> attempts = new IdentityHashMap<>();
+    private long retryDelayMillis = 10L;
+    private RuntimeException lastFailure;
+    private final Thread flusher;
+    private volatile boolean closed;
+    private volatile boolean abandoned;
+
+    public WriteBehindConsultationRepository(ConsultationRepository delegate, int capacity, int maxBatch,
+                                             Duration enqueueTimeout, Duration drainTimeout) {
+        this(delegate, capacity, maxBatch, enqueueTimeout, drainTimeout, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * @param capacity    most consultations buffered at once; a {@code saveAll} larger than this
+     *                    can never be accepted
+     * @param maxAttempts failed flushes, counted only while other consultations are being stored,
+     *                    after which a consultation is dropped
+     */
+    public WriteBehindConsultationRepository(ConsultationRepository delegate, int capacity, int maxBatch,
+                                             Duration enqueueTimeout, Duration drainTimeout, int maxAttempts) {
+        if (capacity < 1 || maxBatch < 1 || maxAttempts < 1) {
+            throw new IllegalArgumentException("Capacity, batch size and attempts must be positive");
+        }
+        this.delegate = delegate;
+        this.maxBatch = maxBatch;
+        this.maxAttempts = maxAttempts;
+        this.enqueueTimeout = enqueueTimeout;
+        this.drainTimeout = drainTimeout;
+        this.capacityTotal = capacity;
+        this.capacity = new Semaphore(capacity);
+        this.flusher = new Thread(this::run, "consultation-write-behind");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    @Override
+    public Consultation save(Consultation consultation) {
+        enqueue(List.of(consultation));
+        return consultation;
+    }
+
+    /**
+     * All or nothing: either every consultation is buffered or, when there is not enough room
+     * in time, none is.
+     */
+    @Override
+    public List<Consultation> saveAll(List<Consultation> consultations) {
+        enqueue(consultations);
+        return consultations;
+    }
+
+    @Override
+    public Optional<Consultation> findById(String consultationId) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        Consultation pending = overlay.get(ConsultationId.of(consultationId));
+        return pending != null ? Optional.of(pending) : delegate.findById(consultationId);
+    }
+
+    /** The updated consultation is buffered like any save and flushed to the delegate later. */
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        return updates.lockedUpdate(this, consultationId, expectedVersion, transform);
+    }
+
+    /**
+     * Scans the overlay, so the cost grows with the number of buffered consultations (at most
+     * the buffer capacity) on top of the delegate's page query.
+     */
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        List<Consultation> pending = new ArrayList<>(overlay.values());
+        ConsultationPage stored = delegate.findPage(query);
+
+        Set<ConsultationId> pendingIds = new HashSet<>();
+        for (Consultation consultation : pending) {
+            pendingIds.add(consultation.getConsultationId());
+        }
+        List<Consultation> merged = new ArrayList<>(stored.consultations().size() + pending.size());
+        for (Consultation consultation : stored.consultations()) {
+            // A buffered version replaces the stored one, even if it no longer matches
+            if (!pendingIds.contains(consultation.getConsultationId())) {
+                merged.add(consultation);
+            }
+        }
+        // Past the delegate's last row its page says nothing, so pending entries there wait for a later page
+        List<Consultation> storedRows = stored.consultations();
+        Consultation bound = stored.hasNext() && !storedRows.isEmpty() ? storedRows.get(storedRows.size() - 1) : null;
+        for (Consultation consultation : pending) {
+            if (query.matches(consultation) && isAfter(consultation, query.after())
+                    && (bound == null || SUBMISSION_ORDER.compare(consultation, bound) <= 0)) {
+                merged.add(consultation);
+            }
+        }
+        merged.sort(SUBMISSION_ORDER);
+
+        if (merged.size() <= query.limit() && !stored.hasNext()) {
+            return new ConsultationPage(merged, null);
+        }
+        if (merged.isEmpty()) {
+            return new ConsultationPage(List.of(), stored.next());
+        }
+        List<Consultation> page = List.copyOf(merged.subList(0, Math.min(query.limit(), merged.size())));
+        return new ConsultationPage(page, ConsultationCursor.after(page.get(page.size() - 1)));
+    }
+
+    /** Consultations accepted but not yet stored by the delegate. */
+    public int pending() {
+        return capacityTotal - capacity.availablePermits();
+    }
+
+    public long flushed() {
+        return flushed.sum();
+    }
+
+    /** Saves refused with {@link ConsultationStoreBusyException} because the buffer stayed full. */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    /** Buffered consultations given up on because the delegate kept refusing them while storing others. */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private void enqueue(List<Consultation> consultations) {
+        if (consultations.isEmpty()) {
+            return;
+        }
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Repository is closed");
+            }
+            boolean reserved;
+            try {
+                reserved = capacity.tryAcquire(consultations.size(), enqueueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reserved = false;
+            }
+            if (!reserved) {
+                rejected.add(consultations.size());
+                throw new ConsultationStoreBusyException("Consultation write buffer is full, try again later");
+            }
+            for (Consultation consultation : consultations) {
+                overlay.put(consultation.getConsultationId(), consultation);
+                queue.add(consultation);
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    private void run() {
+        List<Consultation> batch = new ArrayList<>(maxBatch);
+        while (!abandoned && (!closed || !queue.isEmpty() || !retrying.isEmpty())) {
+            for (Consultation consultation : retrying) {
+                if (overlay.get(consultation.getConsultationId()) == consultation) {
+                    batch.add(consultation);
+                } else {
+                    // A newer version was saved meanwhile; storing this one later would overwrite it
+                    release(consultation);
+                }
+            }
+            retrying.clear();
+            if (batch.isEmpty()) {
+                Consultation first;
+                try {
+                    first = queue.poll(100, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    continue;
+                }
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            }
+            queue.drainTo(batch, Math.max(0, maxBatch - batch.size()));
+            flush(batch);
+            batch.clear();
+        }
+        if (abandoned) {
+            log.error("Drain timed out, {} buffered consultations were not stored", retrying.size() + queue.size());
+        }
+    }
+
+    private void flush(List<Consultation> batch) {
+        List<Consultation> failed = new ArrayList<>();
+        int stored = store(batch, failed);
+        if (failed.isEmpty()) {
+            retryDelayMillis = 10L;
+            return;
+        }
+        for (Consultation consultation : failed) {
+            // Failures only count against a consultation while the delegate accepts others
+            int failures = stored > 0 ? attempts.merge(consultation, 1, Integer::sum) : 0;
+            if (failures >= maxAttempts) {
+                log.error("Dropping consultation {} after {} failed flushes while others were stored",
+                        consultation.getId(), failures, lastFailure);
+                dropped.increment();
+                overlay.computeIfPresent(consultation.getConsultationId(),
+                        (id, current) -> current == consultation ? null : current);
+                release(consultation);
+            } else {
+                retrying.add(consultation);
+            }
+        }
+        if (stored > 0) {
+            retryDelayMillis = 10L;
+            return;
+        }
+        log.warn("Could not flush {} consultations, retrying in {} ms", failed.size(), retryDelayMillis, lastFailure);
+        try {
+            Thread.sleep(retryDelayMillis);
+        } catch (InterruptedException interrupted) {
+            // Only close() interrupts, once the drain timeout has passed
+        }
+        retryDelayMillis = Math.min(retryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+    }
+
+    /**
+     * Stores what the delegate accepts, splitting refused batches in halves, and adds the
+     * consultations it refuses on their own to {@code failed}. Returns how many were stored.
+     */
+    private int store(List<Consultation> batch, List<Consultation> failed) {
+        if (trySave(batch)) {
+            return batch.size();
+        }
+        if (batch.size() == 1) {
+            failed.add(batch.get(0));
+            return 0;
+        }
+        int half = batch.size() / 2;
+        int stored = store(batch.subList(0, half), failed);
+        List<Consultation> rest = batch.subList(half, batch.size());
+        if (stored > 0) {
+            return stored + store(rest, failed);
+        }
+        if (trySave(rest)) {
+            return rest.size();
+        }
+        // Neither half goes through: the store is more likely down than every row bad, so stop splitting
+        failed.addAll(rest);
+        return 0;
+    }
+
+    private boolean trySave(List<Consultation> consultations) {
+        try {
+            delegate.saveAll(consultations);
+        } catch (RuntimeException e) {
+            lastFailure = e;
+            return false;
+        }
+        for (Consultation consultation : consultations) {
+            // Identity check: a newer version saved meanwhile stays in the overlay
+            overlay.computeIfPresent(consultation.getConsultationId(),
+                    (id, current) -> current == consultation ? null : current);
+            release(consultation);
+        }
+        flushed.add(consultations.size());
+        return true;
+    }
+
+    private void release(Consultation consultation) {
+        attempts.remove(consultation);
+        capacity.release();
+    }
+
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        try {
+            flusher.join(drainTimeout.toMillis());
+            if (flusher.isAlive()) {
+                abandoned = true;
+                flusher.interrupt();
+                flusher.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close consultation store", e);
+            }
+        }
+    }
+
+    private static boolean isAfter(Consultation consultation, ConsultationCursor cursor) {
+        if (cursor == null) {
+            return true;
+        }
+        int byTime = consultation.getSubmittedAt().compareTo(cursor.submittedAt());
+        return byTime > 0
+                || byTime == 0 && consultation.getConsultationId().compareTo(ConsultationId.of(cursor.consultationId())) > 0;
+    }
+}
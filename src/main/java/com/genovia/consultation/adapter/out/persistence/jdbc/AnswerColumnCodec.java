@@ -0,0 +1,72 @@
+package com.genovia.consultation.adapter.out.persistence.jdbc;
+
+import com.genovia.consultation.domain.model.Answer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Packs a consultation's answers into one VARBINARY column: a varint count, then each
+ * question ID and answer as varint-length-prefixed UTF-8. Five YES/NO answers take ~30 bytes
+ * instead of a child table with five rows.
+ */
+final class AnswerColumnCodec {
+
+    private AnswerColumnCodec() {
+    }
+
+    static byte[] encode(List<Answer> answers) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8 + answers.size() * 8);
+        writeVarint(out, answers.size());
+        for (int i = 0, n = answers.size(); i < n; i++) {
+            Answer answer = answers.get(i);
+            writeString(out, answer.questionId());
+            writeString(out, answer.answer());
+        }
+        return out.toByteArray();
+    }
+
+    static List<Answer> decode(byte[] column) {
+        int[] position = {0};
+        int count = readVarint(column, position);
+        Answer[] answers = new Answer[count];
+        for (int i = 0; i < count; i++) {
+            String questionId = readString(column, position);
+            answers[i] = new Answer(questionId, readString(column, position));
+        }
+        return List.of(answers);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(byte[] column, int[] position) {
+        int length = readVarint(column, position);
+        String value = new String(column, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarint(byte[] column, int[] position) {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = column[position[0]++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
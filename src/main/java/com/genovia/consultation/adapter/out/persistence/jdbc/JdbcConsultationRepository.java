@@ -0,0 +1,486 @@
+package com.genovia.consultation.adapter.out.persistence.jdbc;
+
+import com.genovia.consultation.adapter.out.persistence.ConsultationUpdates;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationCursor;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Consultation store on a JDBC database (H2 dialect: {@code MERGE ... KEY}).
+ * <p>
+ * Saves are handed to one writer thread, which drains everything queued since its last
+ * commit and upserts it in a single transaction with multi-row {@code MERGE} statements of
+ * up to {@value #ROWS_PER_STATEMENT} rows. A save returns once its transaction has
+ * committed, so under load many concurrent saves share one commit. Answers are stored in
+ * one binary column ({@link AnswerColumnCodec}); instants as epoch seconds plus nanos so
+ * pages order exactly like the in-memory indexes.
+ * <p>
+ * {@link #update} bypasses the writer: it is a single {@code UPDATE ... WHERE id = ? AND
+ * version = ?}, so the database row is the compare-and-set.
+ * <p>
+ * {@link #readOnly(DataSource)} opens an existing store for reading only: no schema changes,
+ * no writer thread, and every write is refused.
+ * <p>
+ * {@link #close()} also closes the data source when it is closeable (a connection pool).
+ */
+public class JdbcConsultationRepository implements ConsultationRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JdbcConsultationRepository.class);
+
+    static final int ROWS_PER_STATEMENT = 32;
+
+    private static final String COLUMNS = "id, product_id, submitted_seconds, submitted_nanos, eligible, "
+            + "ineligible_reason, status, reviewed_by, reviewed_seconds, reviewed_nanos, review_approved, "
+            + "review_notes, strategy_version, answers, version";
+    private static final int COLUMN_COUNT = 15;
+    private static final String ROW_PLACEHOLDERS = "(" + "?, ".repeat(COLUMN_COUNT - 1) + "?)";
+    private static final String[] SCHEMA = {
+            "CREATE TABLE IF NOT EXISTS consultations ("
+                    + "id VARCHAR(255) PRIMARY KEY, "
+                    + "product_id VARCHAR(255) NOT NULL, "
+                    + "submitted_seconds BIGINT NOT NULL, "
+                    + "submitted_nanos INT NOT NULL, "
+                    + "eligible BOOLEAN NOT NULL, "
+                    + "ineligible_reason VARCHAR(4000), "
+                    + "status VARCHAR(32) NOT NULL, "
+                    + "reviewed_by VARCHAR(255), "
+                    + "reviewed_seconds BIGINT, "
+                    + "reviewed_nanos INT, "
+                    + "review_approved BOOLEAN, "
+                    + "review_notes VARCHAR(4000), "
+                    + "strategy_version BIGINT NOT NULL, "
+                    + "answers VARBINARY NOT NULL, "
+                    + "version BIGINT DEFAULT 0 NOT NULL)",
+            // Tables created before updates were versioned
+            "ALTER TABLE consultations ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL",
+            "CREATE INDEX IF NOT EXISTS consultations_by_time "
+                    + "ON consultations (submitted_seconds, submitted_nanos, id)",
+            "CREATE INDEX IF NOT EXISTS consultations_by_product_status_time "
+                    + "ON consultations (product_id, status, submitted_seconds, submitted_nanos, id)",
+            "CREATE INDEX IF NOT EXISTS consultations_by_status_time "
+                    + "ON consultations (status, submitted_seconds, submitted_nanos, id)"
+    };
+
+    private final DataSource dataSource;
+    private final int maxBatch;
+    private final String[] mergeSqlByRows = new String[ROWS_PER_STATEMENT + 1];
+    private final String updateSql = "UPDATE consultations SET (" + COLUMNS + ") = " + ROW_PLACEHOLDERS
+            + " WHERE id = ? AND version = ?";
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+    private final LongAdder transactions = new LongAdder();
+    // Saves hold the read side while enqueueing, so close() never strands one in the queue
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    /**
+     * @param maxBatch most consultations committed in one transaction
+     */
+    public JdbcConsultationRepository(DataSource dataSource, int maxBatch) {
+        this(dataSource, maxBatch, false);
+    }
+
+    private JdbcConsultationRepository(DataSource dataSource, int maxBatch, boolean readOnly) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.dataSource = dataSource;
+        this.maxBatch = maxBatch;
+        if (readOnly) {
+            this.writerThread = null;
+            return;
+        }
+        createSchema();
+        for (int rows = 1; rows <= ROWS_PER_STATEMENT; rows++) {
+            mergeSqlByRows[rows] = "MERGE INTO consultations (" + COLUMNS + ") KEY (id) VALUES "
+                    + String.join(", ", Collections.nCopies(rows, ROW_PLACEHOLDERS));
+        }
+        this.writerThread = new Thread(this::run, "consultation-jdbc-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /** For tools that must not change the store, such as offline exports. */
+    public static JdbcConsultationRepository readOnly(DataSource dataSource) {
+        return new JdbcConsultationRepository(dataSource, 1, true);
+    }
+
+    @Override
+    public Consultation save(Consultation consultation) {
+        write(List.of(consultation));
+        return consultation;
+    }
+
+    @Override
+    public List<Consultation> saveAll(List<Consultation> consultations) {
+        write(consultations);
+        return consultations;
+    }
+
+    @Override
+    public Optional<Consultation> findById(String consultationId) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(
+                     "SELECT " + COLUMNS + " FROM consultations WHERE id = ?")) {
+            statement.setString(1, consultationId);
+            try (ResultSet rows = statement.executeQuery()) {
+                return rows.next() ? Optional.of(read(rows)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not load consultation " + consultationId, e);
+        }
+    }
+
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        checkWritable();
+        Optional<Consultation> current = findById(consultationId);
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        Consultation next = ConsultationUpdates.apply(current.get(), expectedVersion, transform);
+        int updated;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(updateSql)) {
+            bindRows(statement, List.of(next));
+            statement.setString(COLUMN_COUNT + 1, consultationId);
+            statement.setLong(COLUMN_COUNT + 2, expectedVersion);
+            updated = statement.executeUpdate();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not update consultation " + consultationId, e);
+        }
+        if (updated == 0) {
+            // Changed (or deleted) between our read and the UPDATE
+            Optional<Consultation> latest = findById(consultationId);
+            if (latest.isEmpty()) {
+                return Optional.empty();
+            }
+            throw new ConsultationVersionConflictException(consultationId, expectedVersion, latest.get().getVersion());
+        }
+        return Optional.of(next);
+    }
+
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM consultations WHERE 1 = 1");
+        List<Object> parameters = new ArrayList<>();
+        if (query.productId() != null) {
+            sql.append(" AND product_id = ?");
+            parameters.add(query.productId());
+        }
+        if (query.status() != null) {
+            sql.append(" AND status = ?");
+            parameters.add(query.status().name());
+        }
+        if (query.submittedFrom() != null) {
+            Instant from = query.submittedFrom();
+            sql.append(" AND (submitted_seconds > ? OR (submitted_seconds = ? AND submitted_nanos >= ?))");
+            parameters.add(from.getEpochSecond());
+            parameters.add(from.getEpochSecond());
+            parameters.add(from.getNano());
+        }
+        if (query.submittedTo() != null) {
+            Instant to = query.submittedTo();
+            sql.append(" AND (submitted_seconds < ? OR (submitted_seconds = ? AND submitted_nanos < ?))");
+            parameters.add(to.getEpochSecond());
+            parameters.add(to.getEpochSecond());
+            parameters.add(to.getNano());
+        }
+        ConsultationCursor after = query.after();
+        if (after != null) {
+            Instant at = after.submittedAt();
+            sql.append(" AND (submitted_seconds > ? OR (submitted_seconds = ? AND (submitted_nanos > ?"
+                    + " OR (submitted_nanos = ? AND id > ?))))");
+            parameters.add(at.getEpochSecond());
+            parameters.add(at.getEpochSecond());
+            parameters.add(at.getNano());
+            parameters.add(at.getNano());
+            parameters.add(after.consultationId());
+        }
+        // One extra row tells whether there is a next page
+        sql.append(" ORDER BY submitted_seconds, submitted_nanos, id LIMIT ?");
+        parameters.add(query.limit() + 1);
+
+        List<Consultation> consultations = new ArrayList<>(query.limit() + 1);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    consultations.add(read(rows));
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not query consultations", e);
+        }
+
+        if (consultations.size() <= query.limit()) {
+            return new ConsultationPage(consultations, null);
+        }
+        List<Consultation> page = consultations.subList(0, query.limit());
+        return new ConsultationPage(List.copyOf(page), ConsultationCursor.after(page.get(page.size() - 1)));
+    }
+
+    public long count() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT COUNT(*) FROM consultations")) {
+            rows.next();
+            return rows.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not count consultations", e);
+        }
+    }
+
+    /** Committed write transactions; below the number of saves when they were coalesced. */
+    public long transactions() {
+        return transactions.sum();
+    }
+
+    private void write(List<Consultation> consultations) {
+        checkWritable();
+        if (consultations.isEmpty()) {
+            return;
+        }
+        PendingWrite write = new PendingWrite(consultations, new CompletableFuture<>());
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Repository is closed");
+            }
+            queue.add(write);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        try {
+            write.done().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException sql) {
+                throw new IllegalStateException("Could not store consultations", sql);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private void checkWritable() {
+        if (writerThread == null) {
+            throw new IllegalStateException("Repository is read-only");
+        }
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            PendingWrite first;
+            try {
+                first = queue.poll(100, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            int size = first.consultations().size();
+            PendingWrite next;
+            while (size < maxBatch && (next = queue.poll()) != null) {
+                batch.add(next);
+                size += next.consultations().size();
+            }
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        // MERGE rejects the same key twice in one statement; the later save wins, as it would one by one
+        Map<String, Consultation> rows = new LinkedHashMap<>();
+        for (PendingWrite write : batch) {
+            for (Consultation consultation : write.consultations()) {
+                rows.put(consultation.getId(), consultation);
+            }
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                merge(connection, rows.values());
+                connection.commit();
+                transactions.increment();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Could not store {} consultations", rows.size(), e);
+            for (PendingWrite write : batch) {
+                write.done().completeExceptionally(e);
+            }
+            return;
+        }
+        for (PendingWrite write : batch) {
+            write.done().complete(null);
+        }
+    }
+
+    private void merge(Connection connection, Collection<Consultation> consultations) throws SQLException {
+        List<Consultation> rows = new ArrayList<>(consultations);
+        int full = rows.size() / ROWS_PER_STATEMENT;
+        if (full > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(mergeSqlByRows[ROWS_PER_STATEMENT])) {
+                for (int chunk = 0; chunk < full; chunk++) {
+                    bindRows(statement, rows.subList(chunk * ROWS_PER_STATEMENT, (chunk + 1) * ROWS_PER_STATEMENT));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        }
+        int remainder = rows.size() % ROWS_PER_STATEMENT;
+        if (remainder > 0) {
+            try (PreparedStatement statement = connection.prepareStatement(mergeSqlByRows[remainder])) {
+                bindRows(statement, rows.subList(full * ROWS_PER_STATEMENT, rows.size()));
+                statement.executeUpdate();
+            }
+        }
+    }
+
+    private static void bindRows(PreparedStatement statement, List<Consultation> rows) throws SQLException {
+        int p = 1;
+        for (Consultation consultation : rows) {
+            EligibilityResult result = consultation.getEligibilityResult();
+            DoctorReview review = consultation.getDoctorReview();
+            statement.setString(p++, consultation.getId());
+            statement.setString(p++, consultation.getProductId());
+            statement.setLong(p++, consultation.getSubmittedAt().getEpochSecond());
+            statement.setInt(p++, consultation.getSubmittedAt().getNano());
+            statement.setBoolean(p++, result.isEligible());
+            statement.setString(p++, result.isEligible() ? null : result.getReason());
+            statement.setString(p++, consultation.getStatus().name());
+            if (review == null) {
+                statement.setNull(p++, Types.VARCHAR);
+                statement.setNull(p++, Types.BIGINT);
+                statement.setNull(p++, Types.INTEGER);
+                statement.setNull(p++, Types.BOOLEAN);
+                statement.setNull(p++, Types.VARCHAR);
+            } else {
+                statement.setString(p++, review.reviewedBy());
+                statement.setLong(p++, review.reviewedAt().getEpochSecond());
+                statement.setInt(p++, review.reviewedAt().getNano());
+                statement.setBoolean(p++, review.approved());
+                statement.setString(p++, review.notes());
+            }
+            statement.setLong(p++, consultation.getStrategyVersion());
+            statement.setBytes(p++, AnswerColumnCodec.encode(consultation.getAnswers()));
+            statement.setLong(p++, consultation.getVersion());
+        }
+    }
+
+    private static Consultation read(ResultSet row) throws SQLException {
+        Instant submittedAt = Instant.ofEpochSecond(row.getLong("submitted_seconds"), row.getInt("submitted_nanos"));
+        EligibilityResult result = row.getBoolean("eligible")
+                ? EligibilityResult.eligible()
+                : EligibilityResult.ineligible(row.getString("ineligible_reason"));
+        DoctorReview review = null;
+        boolean approved = row.getBoolean("review_approved");
+        if (!row.wasNull()) {
+            review = new DoctorReview(row.getString("reviewed_by"),
+                    Instant.ofEpochSecond(row.getLong("reviewed_seconds"), row.getInt("reviewed_nanos")),
+                    approved, row.getString("review_notes"));
+        }
+        return new Consultation(ConsultationId.of(row.getString("id")), row.getString("product_id"),
+                AnswerColumnCodec.decode(row.getBytes("answers")), submittedAt, result,
+                ConsultationStatus.valueOf(row.getString("status")), review, row.getLong("strategy_version"),
+                row.getLong("version"));
+    }
+
+    private void createSchema() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                statement.execute(ddl);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create consultation schema", e);
+        }
+    }
+
+    /**
+     * Commits everything already queued, then stops the writer. The writer is not interrupted:
+     * H2 closes its file when a thread is interrupted during I/O.
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        if (writerThread != null) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        PendingWrite late;
+        while ((late = queue.poll()) != null) {
+            late.done().completeExceptionally(new IllegalStateException("Repository is closed"));
+        }
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close consultation data source", e);
+            }
+        }
+    }
+
+    private record PendingWrite(List<Consultation> consultations, CompletableFuture<Void> done) {
+    }
+}
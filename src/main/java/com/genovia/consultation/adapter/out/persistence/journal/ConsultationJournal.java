@@ -0,0 +1,449 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, segmented record journal with group commit.
+ * <p>
+ * Callers hand records to a single journal thread and block until their batch is written
+ * (and, with {@link FsyncPolicy#ALWAYS}, forced). The thread drains everything queued while
+ * the previous force was running, so one fsync covers all concurrent writers. An optional
+ * callback runs on the journal thread once a write is durable, in sequence order, which lets
+ * callers keep derived state in exactly journal order.
+ * <p>
+ * Each record is framed as {@code [int length][long sequence][int crc32c][payload]}, the CRC
+ * covering sequence and payload. Segments are named after their first sequence number and
+ * rolled once they exceed the configured size. On open, all segments are replayed in order;
+ * a torn frame at the end of the last segment is truncated away, damage anywhere else fails.
+ * <p>
+ * A batch that fails to write is cut back off the segment and its sequence numbers are reused,
+ * so a later batch never leaves a gap or garbage behind an acknowledged record. If even that
+ * cut fails, the journal refuses all further appends.
+ */
+public class ConsultationJournal implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ConsultationJournal.class);
+
+    static final String SEGMENT_PREFIX = "journal-";
+    static final String SEGMENT_SUFFIX = ".log";
+    static final int FRAME_HEADER_BYTES = 4 + 8 + 4;
+
+    private static final int MAX_BATCH = 1024;
+    // Wakes the journal thread on close; interrupting it would close the channel mid-write
+    private static final PendingWrite SHUTDOWN = new PendingWrite(List.of(), null, new CompletableFuture<>());
+
+    private final JournalSettings settings;
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Thread journalThread;
+    // Appends hold the read side while enqueueing, so close() never strands one in the queue
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+    private volatile IOException failure;
+
+    // Owned by the journal thread after open
+    private FileChannel segment;
+    private long segmentSize;
+    private long nextSequence;
+    private long lastForceNanos = System.nanoTime();
+    private boolean unforcedWrites;
+
+    private ConsultationJournal(JournalSettings settings, long nextSequence) throws IOException {
+        this.settings = settings;
+        this.nextSequence = nextSequence;
+        openSegmentForAppend();
+        this.journalThread = new Thread(this::run, "consultation-journal");
+        this.journalThread.setDaemon(true);
+        this.journalThread.start();
+    }
+
+    @FunctionalInterface
+    public interface RecordConsumer {
+        void accept(long sequence, byte[] record);
+    }
+
+    @FunctionalInterface
+    public interface WrittenCallback {
+        void written(long firstSequence);
+    }
+
+    public static ConsultationJournal open(JournalSettings settings, RecordConsumer replay) throws IOException {
+        return open(settings, 1L, replay);
+    }
+
+    /**
+     * Opens the journal, replaying records from {@code fromSequence} on (earlier ones are
+     * covered by a snapshot and may already have been deleted).
+     */
+    public static ConsultationJournal open(JournalSettings settings, long fromSequence, RecordConsumer replay)
+            throws IOException {
+        Files.createDirectories(settings.directory());
+        long nextSequence = replay(settings.directory(), fromSequence, replay);
+        return new ConsultationJournal(settings, nextSequence);
+    }
+
+    public long append(byte[] record) {
+        return appendAll(List.of(record), null);
+    }
+
+    public long append(byte[] record, WrittenCallback onWritten) {
+        return appendAll(List.of(record), onWritten);
+    }
+
+    public long appendAll(List<byte[]> records) {
+        return appendAll(records, null);
+    }
+
+    /**
+     * Appends the records as one unit of the next group commit and returns the sequence
+     * number of the last one once they are durable according to the fsync policy.
+     * {@code onWritten} (nullable) receives the first sequence number on the journal thread
+     * before this call returns. An empty list writes nothing and acts as a barrier.
+     */
+    public long appendAll(List<byte[]> records, WrittenCallback onWritten) {
+        PendingWrite write = new PendingWrite(records, onWritten, new CompletableFuture<>());
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            queue.add(write);
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        try {
+            return write.done().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw new UncheckedIOException("Journal write failed", io);
+            }
+            if (cause instanceof RuntimeException runtime) {
+                // Thrown by onWritten; the records are written regardless
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    public long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Deletes closed segments whose records all have a sequence number at or below
+     * {@code sequence}. The segment being appended to is never deleted.
+     */
+    public int deleteSegmentsThrough(long sequence) throws IOException {
+        List<Path> segments = segments(settings.directory());
+        int deleted = 0;
+        for (int i = 0; i < segments.size() - 1; i++) {
+            if (firstSequence(segments.get(i + 1)) - 1 > sequence) {
+                break;
+            }
+            Files.deleteIfExists(segments.get(i));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    private void run() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (!closed || !queue.isEmpty()) {
+            PendingWrite first;
+            try {
+                first = queue.poll(pollTimeoutNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null || first == SHUTDOWN) {
+                forceIfIntervalElapsed();
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, MAX_BATCH);
+            batch.remove(SHUTDOWN);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<PendingWrite> batch) {
+        long[] firstSequences = new long[batch.size()];
+        if (failure != null) {
+            fail(batch, failure);
+            return;
+        }
+        try {
+            if (segmentSize >= settings.segmentBytes()) {
+                rollSegment();
+            }
+        } catch (IOException e) {
+            fail(batch, e);
+            return;
+        }
+        long batchStart = segmentSize;
+        long sequence = nextSequence;
+        try {
+            ByteBuffer frames = ByteBuffer.allocate(frameBytes(batch));
+            CRC32C crc = new CRC32C();
+            for (int i = 0; i < batch.size(); i++) {
+                firstSequences[i] = sequence;
+                for (byte[] record : batch.get(i).records()) {
+                    crc.reset();
+                    crc.update(longBytes(sequence));
+                    crc.update(record);
+                    frames.putInt(record.length).putLong(sequence).putInt((int) crc.getValue()).put(record);
+                    sequence++;
+                }
+            }
+            frames.flip();
+            while (frames.hasRemaining()) {
+                segmentSize += segment.write(frames);
+            }
+            unforcedWrites = true;
+
+            if (settings.fsyncPolicy() == FsyncPolicy.ALWAYS) {
+                force();
+            }
+        } catch (IOException e) {
+            discardFrom(batchStart, e);
+            fail(batch, e);
+            return;
+        }
+        nextSequence = sequence;
+        if (settings.fsyncPolicy() != FsyncPolicy.ALWAYS) {
+            forceIfIntervalElapsed();
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            try {
+                if (write.onWritten() != null) {
+                    write.onWritten().written(firstSequences[i]);
+                }
+                write.done().complete(firstSequences[i] + write.records().size() - 1);
+            } catch (RuntimeException e) {
+                write.done().completeExceptionally(e);
+            }
+        }
+    }
+
+    // Cuts a failed batch's partial frames off, so replay never mistakes them for a torn tail
+    private void discardFrom(long batchStart, IOException cause) {
+        try {
+            segment.truncate(batchStart);
+            segmentSize = batchStart;
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+            failure = cause;
+            log.error("Could not discard failed journal batch, refusing further appends", cause);
+        }
+    }
+
+    private static void fail(List<PendingWrite> batch, Throwable cause) {
+        for (PendingWrite write : batch) {
+            write.done().completeExceptionally(cause);
+        }
+    }
+
+    private void forceIfIntervalElapsed() {
+        if (settings.fsyncPolicy() != FsyncPolicy.INTERVAL || !unforcedWrites) {
+            return;
+        }
+        if (System.nanoTime() - lastForceNanos >= settings.fsyncInterval().toNanos()) {
+            try {
+                force();
+            } catch (IOException e) {
+                log.error("Journal fsync failed", e);
+            }
+        }
+    }
+
+    private void force() throws IOException {
+        segment.force(false);
+        unforcedWrites = false;
+        lastForceNanos = System.nanoTime();
+    }
+
+    private long pollTimeoutNanos() {
+        if (settings.fsyncPolicy() == FsyncPolicy.INTERVAL && unforcedWrites) {
+            return Math.max(0L, settings.fsyncInterval().toNanos() - (System.nanoTime() - lastForceNanos));
+        }
+        return TimeUnit.MILLISECONDS.toNanos(100);
+    }
+
+    // Opens the next segment before letting go of the current one, so a failed open changes nothing
+    private void rollSegment() throws IOException {
+        force();
+        FileChannel next = FileChannel.open(segmentPath(settings.directory(), nextSequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        FileChannel previous = segment;
+        segment = next;
+        segmentSize = 0L;
+        try {
+            previous.close();
+        } catch (IOException e) {
+            log.warn("Could not close rolled journal segment", e);
+        }
+    }
+
+    private void openSegmentForAppend() throws IOException {
+        List<Path> segments = segments(settings.directory());
+        Path path = segments.isEmpty()
+                ? segmentPath(settings.directory(), nextSequence)
+                : segments.get(segments.size() - 1);
+        segment = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        segmentSize = segment.size();
+    }
+
+    /**
+     * Writes everything already queued, then stops the journal thread. The thread is not
+     * interrupted: an interrupt during {@code FileChannel} I/O closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        queue.add(SHUTDOWN);
+        try {
+            journalThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        PendingWrite late;
+        while ((late = queue.poll()) != null) {
+            late.done().completeExceptionally(new IllegalStateException("Journal is closed"));
+        }
+        if (segment.isOpen()) {
+            segment.force(false);
+            segment.close();
+        }
+    }
+
+    static long replay(Path directory, long fromSequence, RecordConsumer consumer) throws IOException {
+        List<Path> segments = segments(directory);
+        long expected = segments.isEmpty() ? fromSequence : firstSequence(segments.get(0));
+        if (expected > fromSequence) {
+            throw new IOException("Journal starts at sequence " + expected + " but replay needs " + fromSequence);
+        }
+        for (int s = 0; s < segments.size(); s++) {
+            boolean lastSegment = s == segments.size() - 1;
+            expected = replaySegment(segments.get(s), expected, fromSequence, lastSegment, consumer);
+        }
+        return Math.max(expected, fromSequence);
+    }
+
+    private static long replaySegment(Path path, long expected, long fromSequence, boolean lastSegment,
+                                      RecordConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            CRC32C crc = new CRC32C();
+            while (data.remaining() > 0) {
+                int frameStart = data.position();
+                String damage = null;
+                if (data.remaining() < FRAME_HEADER_BYTES) {
+                    damage = "truncated frame header";
+                } else {
+                    int length = data.getInt();
+                    long sequence = data.getLong();
+                    int storedCrc = data.getInt();
+                    if (length < 0 || length > data.remaining()) {
+                        damage = "truncated frame";
+                    } else {
+                        byte[] record = new byte[length];
+                        data.get(record);
+                        crc.reset();
+                        crc.update(longBytes(sequence));
+                        crc.update(record);
+                        if ((int) crc.getValue() != storedCrc) {
+                            damage = "checksum mismatch";
+                        } else if (sequence != expected) {
+                            damage = "expected sequence " + expected + " but found " + sequence;
+                        } else {
+                            if (sequence >= fromSequence) {
+                                consumer.accept(sequence, record);
+                            }
+                            expected++;
+                            continue;
+                        }
+                    }
+                }
+
+                if (!lastSegment) {
+                    throw new IOException("Corrupt journal segment " + path + " at offset " + frameStart + ": " + damage);
+                }
+                log.warn("Truncating torn journal tail in {} at offset {}: {}", path, frameStart, damage);
+                channel.truncate(frameStart);
+                break;
+            }
+        }
+        return expected;
+    }
+
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    static Path segmentPath(Path directory, long firstSequence) {
+        // Zero-padded so lexical order is sequence order
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+    }
+
+    private static int frameBytes(List<PendingWrite> batch) {
+        int size = 0;
+        for (PendingWrite write : batch) {
+            for (byte[] record : write.records()) {
+                size += FRAME_HEADER_BYTES + record.length;
+            }
+        }
+        return size;
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+
+    private record PendingWrite(List<byte[]> records, WrittenCallback onWritten, CompletableFuture<Long> done) {
+    }
+}
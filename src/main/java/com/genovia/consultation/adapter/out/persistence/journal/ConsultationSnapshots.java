@@ -0,0 +1,172 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import com.genovia.consultation.adapter.out.persistence.ConsultationBinaryCodec;
+import com.genovia.consultation.domain.model.Consultation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Snapshot files of the consultation repository, named after the last journal sequence
+ * they include. Layout: magic, format version, sequence, then {@code [1][consultation]}
+ * per entry, {@code [0][long count]} and a CRC32C of everything before it. Files are
+ * written to a temporary name and moved into place, so a visible snapshot is complete.
+ * The directory is forced after the move, so once {@link #write} returns the snapshot
+ * survives a crash and the journal segments it covers can be deleted.
+ */
+public final class ConsultationSnapshots {
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".snap";
+
+    private static final int MAGIC = 0x47435331; // "GCS1"
+    private static final byte FORMAT_VERSION = 1;
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private ConsultationSnapshots() {
+    }
+
+    public static Path write(Path directory, long sequence, Iterator<Consultation> consultations) throws IOException {
+        Path target = snapshotPath(directory, sequence);
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        CRC32C crc = new CRC32C();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream file = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+            DataOutputStream out = new DataOutputStream(new CheckedOutputStream(file, crc));
+            out.writeInt(MAGIC);
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(sequence);
+            long count = 0L;
+            while (consultations.hasNext()) {
+                out.writeByte(1);
+                ConsultationBinaryCodec.write(consultations.next(), out);
+                count++;
+            }
+            out.writeByte(0);
+            out.writeLong(count);
+            // The checksum itself is not part of the checked bytes
+            DataOutputStream trailer = new DataOutputStream(file);
+            trailer.writeInt((int) crc.getValue());
+            trailer.flush();
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        forceDirectory(directory);
+        return target;
+    }
+
+    // The rename lives in the directory's own metadata, which the file's force does not cover
+    static void forceDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            if (WINDOWS) {
+                // Directories cannot be opened there; NTFS journals the rename itself
+                return;
+            }
+            throw e;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Streams every consultation of the snapshot to {@code consumer} and returns the journal
+     * sequence the snapshot covers.
+     */
+    public static long load(Path snapshot, Consumer<Consultation> consumer) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (InputStream file = new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_BYTES)) {
+            DataInputStream in = new DataInputStream(new CheckedInputStream(file, crc));
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a consultation snapshot: " + snapshot);
+            }
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot format " + version + ": " + snapshot);
+            }
+            long sequence = in.readLong();
+            long count = 0L;
+            while (in.readByte() == 1) {
+                consumer.accept(ConsultationBinaryCodec.read(in));
+                count++;
+            }
+            long expectedCount = in.readLong();
+            int expectedCrc = (int) crc.getValue();
+            int storedCrc = new DataInputStream(file).readInt();
+            if (count != expectedCount || storedCrc != expectedCrc) {
+                throw new IOException("Corrupt consultation snapshot: " + snapshot);
+            }
+            return sequence;
+        }
+    }
+
+    public static Optional<Path> latest(Path directory) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * Deletes snapshots (and leftover temporary files) older than {@code keep}.
+     */
+    public static void deleteOlderThan(Path directory, Path keep) throws IOException {
+        long keepSequence = sequenceOf(keep);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX + ".tmp")) {
+                    Files.deleteIfExists(path);
+                } else if (name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX)
+                        && sequenceOf(path) < keepSequence) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    static List<Path> snapshots(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(SNAPSHOT_PREFIX.length(), name.length() - SNAPSHOT_SUFFIX.length()));
+    }
+
+    static Path snapshotPath(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, sequence, SNAPSHOT_SUFFIX));
+    }
+}
@@ -0,0 +1,10 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+public enum FsyncPolicy {
+    /** Force to disk before acknowledging; concurrent writers share one force (group commit). */
+    ALWAYS,
+    /** Acknowledge once written, force at most every configured interval. */
+    INTERVAL,
+    /** Acknowledge once written, leave flushing to the operating system. */
+    OS
+}
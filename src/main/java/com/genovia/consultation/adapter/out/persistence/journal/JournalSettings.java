@@ -0,0 +1,16 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+public record JournalSettings(Path directory, FsyncPolicy fsyncPolicy, Duration fsyncInterval, long segmentBytes) {
+    public JournalSettings {
+        Objects.requireNonNull(directory, "Journal directory cannot be null");
+        Objects.requireNonNull(fsyncPolicy, "Fsync policy cannot be null");
+        Objects.requireNonNull(fsyncInterval, "Fsync interval cannot be null");
+        if (segmentBytes <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive");
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import com.genovia.consultation.adapter.out.persistence.ConsultationBinaryCodec;
+import com.genovia.consultation.adapter.out.persistence.ConsultationUpdates;
+import com.genovia.consultation.adapter.out.persistence.ConsultationIndex;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory consultation store made durable by a {@link ConsultationJournal} and periodic snapshots.
+ * <p>
+ * A save returns only after its record is in the journal, so an acknowledged consultation
+ * survives a restart. The map itself is only written on the journal thread, in sequence
+ * order, which keeps it identical to a replay of the journal.
+ * <p>
+ * Updates take no lock. The version is checked on the caller's thread and again on the journal
+ * thread, against every record sequenced before the update. An update that loses the race there
+ * is journaled but not applied, and replay skips it the same way because it sees the same state;
+ * journal records are tagged as a save or an update for that.
+ * <p>
+ * Snapshots are taken in the background without blocking saves: a barrier on the journal
+ * thread fixes the cut sequence, and while the snapshot is written every overwrite of an
+ * entry first stashes the value it had at the cut. The snapshot therefore contains exactly
+ * the state after the cut. Recovery loads the latest snapshot and replays only the journal
+ * records after it; segments and older snapshots it covers are deleted.
+ */
+public class JournaledConsultationRepository implements ConsultationRepository, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JournaledConsultationRepository.class);
+
+    private static final long NO_SNAPSHOT = Long.MAX_VALUE;
+    private static final byte SAVE_RECORD = 0;
+    private static final byte UPDATE_RECORD = 1;
+    private static final Entry ABSENT = new Entry(null, 0L);
+
+    private final Map<ConsultationId, Entry> consultations = new ConcurrentHashMap<>();
+    private final Map<ConsultationId, Entry> preImages = new ConcurrentHashMap<>();
+    private final ConsultationIndex index = new ConsultationIndex();
+    private final Path directory;
+    private final ConsultationJournal journal;
+    private final ScheduledExecutorService snapshotter;
+    private final Object snapshotLock = new Object();
+    private volatile long snapshotCut = NO_SNAPSHOT;
+    private long lastSnapshotSequence;
+
+    public JournaledConsultationRepository(JournalSettings settings) {
+        this(settings, Duration.ZERO);
+    }
+
+    /**
+     * @param snapshotInterval delay between background snapshots, zero or negative to only
+     *                         snapshot on {@link #snapshot()}
+     */
+    public JournaledConsultationRepository(JournalSettings settings, Duration snapshotInterval) {
+        this.directory = settings.directory();
+        try {
+            long fromSequence = 1L;
+            Optional<Path> snapshot = ConsultationSnapshots.latest(directory);
+            if (snapshot.isPresent()) {
+                long sequence = ConsultationSnapshots.sequenceOf(snapshot.get());
+                ConsultationSnapshots.load(snapshot.get(),
+                        consultation -> {
+                            consultations.put(consultation.getConsultationId(), new Entry(consultation, sequence));
+                            index.update(null, consultation);
+                        });
+                lastSnapshotSequence = sequence;
+                fromSequence = sequence + 1;
+            }
+            this.journal = ConsultationJournal.open(settings, fromSequence, this::replay);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover consultations from " + directory, e);
+        }
+
+        if (snapshotInterval.isZero() || snapshotInterval.isNegative()) {
+            this.snapshotter = null;
+        } else {
+            this.snapshotter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "consultation-snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long millis = snapshotInterval.toMillis();
+            snapshotter.scheduleWithFixedDelay(this::snapshotQuietly, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Consultation save(Consultation consultation) {
+        journal.append(record(SAVE_RECORD, consultation), sequence -> apply(consultation, sequence));
+        return consultation;
+    }
+
+    @Override
+    public List<Consultation> saveAll(List<Consultation> batch) {
+        List<byte[]> records = new ArrayList<>(batch.size());
+        for (Consultation consultation : batch) {
+            records.add(record(SAVE_RECORD, consultation));
+        }
+        journal.appendAll(records, firstSequence -> {
+            for (int i = 0; i < batch.size(); i++) {
+                apply(batch.get(i), firstSequence + i);
+            }
+        });
+        return batch;
+    }
+
+    @Override
+    public Optional<Consultation> findById(String consultationId) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        return lookup(ConsultationId.of(consultationId));
+    }
+
+    @Override
+    public Optional<Consultation> update(String consultationId, long expectedVersion,
+                                         UnaryOperator<Consultation> transform) {
+        if (consultationId == null) {
+            return Optional.empty();
+        }
+        Optional<Consultation> current = lookup(ConsultationId.of(consultationId));
+        if (current.isEmpty()) {
+            return Optional.empty();
+        }
+        Consultation next = ConsultationUpdates.apply(current.get(), expectedVersion, transform);
+        journal.append(record(UPDATE_RECORD, next), sequence -> {
+            if (!applyIfCurrent(next, sequence)) {
+                // Another update was sequenced first; this record stays in the journal but is skipped on replay too
+                throw new ConsultationVersionConflictException(consultationId, expectedVersion,
+                        lookup(next.getConsultationId()).map(Consultation::getVersion).orElse(-1L));
+            }
+        });
+        return Optional.of(next);
+    }
+
+    @Override
+    public ConsultationPage findPage(ConsultationQuery query) {
+        return index.query(query, this::lookup);
+    }
+
+    public int count() {
+        return consultations.size();
+    }
+
+    public long lastSequence() {
+        return journal.lastSequence();
+    }
+
+    /**
+     * Writes a snapshot of the current state unless nothing was saved since the last one.
+     * Saves carry on while it is written.
+     */
+    public Optional<Path> snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            long cut = journal.appendAll(List.of(), nextSequence -> {
+                preImages.clear();
+                snapshotCut = nextSequence - 1;
+            });
+            try {
+                if (cut == lastSnapshotSequence) {
+                    return Optional.empty();
+                }
+                Path snapshot = ConsultationSnapshots.write(directory, cut, pointInTimeView(cut));
+                lastSnapshotSequence = cut;
+                ConsultationSnapshots.deleteOlderThan(directory, snapshot);
+                int deleted = journal.deleteSegmentsThrough(cut);
+                log.info("Wrote consultation snapshot {} ({} journal segments released)", snapshot.getFileName(), deleted);
+                return Optional.of(snapshot);
+            } finally {
+                snapshotCut = NO_SNAPSHOT;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (snapshotter != null) {
+            snapshotter.shutdownNow();
+        }
+        journal.close();
+    }
+
+    private void replay(long sequence, byte[] record) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+            byte kind = in.readByte();
+            Consultation consultation = ConsultationBinaryCodec.read(in);
+            if (kind == SAVE_RECORD) {
+                apply(consultation, sequence);
+            } else if (kind == UPDATE_RECORD) {
+                applyIfCurrent(consultation, sequence);
+            } else {
+                throw new IOException("Unknown journal record kind " + kind + " at sequence " + sequence);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Journal thread only (or the constructor, before the journal thread exists)
+    private boolean applyIfCurrent(Consultation next, long sequence) {
+        Entry current = consultations.get(next.getConsultationId());
+        if (current == null || current.consultation().getVersion() != next.getVersion() - 1) {
+            return false;
+        }
+        apply(next, sequence);
+        return true;
+    }
+
+    // Journal thread only (or the constructor, before the journal thread exists)
+    private void apply(Consultation consultation, long sequence) {
+        ConsultationId id = consultation.getConsultationId();
+        Entry previous = consultations.get(id);
+        if (sequence > snapshotCut) {
+            preImages.putIfAbsent(id, previous == null ? ABSENT : previous);
+        }
+        consultations.put(id, new Entry(consultation, sequence));
+        index.update(previous == null ? null : previous.consultation(), consultation);
+    }
+
+    private static byte[] record(byte kind, Consultation consultation) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(kind);
+            ConsultationBinaryCodec.write(consultation, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private Optional<Consultation> lookup(ConsultationId id) {
+        Entry entry = consultations.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.consultation());
+    }
+
+    private Iterator<Consultation> pointInTimeView(long cut) {
+        return consultations.entrySet().stream()
+                .map(mapping -> {
+                    Entry entry = mapping.getValue();
+                    if (entry.sequence() <= cut) {
+                        return entry.consultation();
+                    }
+                    // Changed after the cut, so the value at the cut was stashed before the change
+                    return preImages.get(mapping.getKey()).consultation();
+                })
+                .filter(Objects::nonNull)
+                .iterator();
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            log.error("Consultation snapshot failed", e);
+        }
+    }
+
+    private record Entry(Consultation consultation, long sequence) {
+    }
+}
@@ -1,21 +1,51 @@
 package com.genovia.consultation.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.adapter.in.rules.ClasspathRuleSetLoader;
+import com.genovia.consultation.adapter.in.rules.JsonRuleSetParser;
+import com.genovia.consultation.adapter.in.web.QuestionListRenderer;
+import com.genovia.consultation.adapter.out.persistence.FileQuestionRepository;
+import com.genovia.consultation.adapter.out.persistence.ConsultationRetention;
 import com.genovia.consultation.adapter.out.persistence.InMemoryConsultationRepository;
 import com.genovia.consultation.adapter.out.persistence.InMemoryQuestionRepository;
+import com.genovia.consultation.adapter.out.persistence.OffHeapConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.ShardedConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.TieredConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.WriteBehindConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.jdbc.JdbcConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.journal.FsyncPolicy;
+import com.genovia.consultation.adapter.out.persistence.journal.JournalSettings;
+import com.genovia.consultation.adapter.out.persistence.journal.JournaledConsultationRepository;
+import com.genovia.consultation.domain.port.in.ExportConsultationsUseCase;
 import com.genovia.consultation.domain.port.in.GetConsultationUseCase;
+import com.genovia.consultation.domain.port.in.GetEligibilityStatsUseCase;
 import com.genovia.consultation.domain.port.in.GetQuestionsUseCase;
+import com.genovia.consultation.domain.port.in.ManageEligibilityStrategiesUseCase;
+import com.genovia.consultation.domain.port.in.QueryConsultationsUseCase;
+import com.genovia.consultation.domain.port.in.ReviewConsultationUseCase;
 import com.genovia.consultation.domain.port.in.SubmitConsultationUseCase;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
 import com.genovia.consultation.domain.port.out.ConsultationRepository;
 import com.genovia.consultation.domain.port.out.QuestionRepository;
+import com.genovia.consultation.domain.service.ConsultationExportService;
 import com.genovia.consultation.domain.service.ConsultationService;
+import com.genovia.consultation.domain.service.EligibilityFunnelStatistics;
+import com.genovia.consultation.domain.service.EligibilityResultCache;
 import com.genovia.consultation.domain.service.EligibilityService;
+import com.genovia.consultation.domain.service.StrategyAdministrationService;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
 import com.genovia.consultation.domain.service.eligibility.EligibilityStrategy;
 import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
 import com.genovia.consultation.domain.service.eligibility.HairLossEligibilityStrategy;
 import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 
 
@@ -23,13 +53,77 @@ import java.util.List;
 public class BeanConfiguration {
 
     @Bean
-    public QuestionRepository questionRepository() {
-        return new InMemoryQuestionRepository();
+    public QuestionRepository questionRepository(
+            @Value("${question-catalog.file:}") String catalogFile,
+            @Value("${question-catalog.watch:true}") boolean watchCatalog) {
+        if (catalogFile.isBlank()) {
+            return new InMemoryQuestionRepository();
+        }
+        FileQuestionRepository repository = new FileQuestionRepository(Path.of(catalogFile));
+        if (watchCatalog) {
+            repository.startWatching();
+        }
+        return repository;
     }
 
     @Bean
-    public ConsultationRepository consultationRepository() {
-        return new InMemoryConsultationRepository();
+    public QuestionListRenderer questionListRenderer(ObjectMapper objectMapper) {
+        return new QuestionListRenderer(objectMapper);
+    }
+
+    @Bean
+    public ConsultationRepository consultationRepository(
+            @Value("${consultation.journal.enabled:false}") boolean journalEnabled,
+            @Value("${consultation.journal.directory:data/journal}") String journalDirectory,
+            @Value("${consultation.journal.fsync:ALWAYS}") FsyncPolicy fsyncPolicy,
+            @Value("${consultation.journal.fsync-interval-ms:10}") long fsyncIntervalMs,
+            @Value("${consultation.journal.segment-size-bytes:67108864}") long segmentBytes,
+            @Value("${consultation.journal.snapshot-interval-ms:300000}") long snapshotIntervalMs,
+            @Value("${consultation.store.off-heap:false}") boolean offHeap,
+            @Value("${consultation.store.segment-bytes:67108864}") int storeSegmentBytes,
+            @Value("${consultation.store.hot-tier.max-entries:0}") int hotTierEntries,
+            @Value("${consultation.store.spill-directory:data/spill}") String spillDirectory,
+            @Value("${consultation.store.hot-tier.stats-log-interval-ms:60000}") long tierStatsLogMs,
+            @Value("${consultation.store.shards:0}") int shards,
+            @Value("${consultation.store.shards.stats-log-interval-ms:60000}") long shardStatsLogMs,
+            @Value("${consultation.store.jdbc.url:}") String jdbcUrl,
+            @Value("${consultation.store.jdbc.pool-size:4}") int jdbcPoolSize,
+            @Value("${consultation.store.jdbc.max-batch:512}") int jdbcMaxBatch,
+            @Value("${consultation.store.write-behind.capacity:0}") int writeBehindCapacity,
+            @Value("${consultation.store.write-behind.max-batch:256}") int writeBehindMaxBatch,
+            @Value("${consultation.store.write-behind.enqueue-timeout-ms:50}") long enqueueTimeoutMs,
+            @Value("${consultation.store.write-behind.drain-timeout-ms:30000}") long drainTimeoutMs,
+            @Value("${consultation.store.write-behind.max-attempts:5}") int writeBehindMaxAttempts,
+            @Value("${consultation.retention.default-hours:0}") long retentionHours,
+            @Value("${consultation.retention.product-hours:}") String productRetentionHours,
+            @Value("${consultation.retention.bucket-minutes:60}") long retentionBucketMinutes,
+            @Value("${consultation.retention.sweep-interval-ms:60000}") long retentionSweepMs) {
+        ConsultationRepository store;
+        if (journalEnabled) {
+            store = new JournaledConsultationRepository(new JournalSettings(
+                    Path.of(journalDirectory), fsyncPolicy, Duration.ofMillis(fsyncIntervalMs), segmentBytes),
+                    Duration.ofMillis(snapshotIntervalMs));
+        } else if (!jdbcUrl.isBlank()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("consultations");
+            dataSource.setJdbcUrl(jdbcUrl);
+            dataSource.setMaximumPoolSize(jdbcPoolSize);
+            store = new JdbcConsultationRepository(dataSource, jdbcMaxBatch);
+        } else if (hotTierEntries > 0) {
+            store = new TieredConsultationRepository(hotTierEntries, Path.of(spillDirectory), storeSegmentBytes,
+                    Duration.ofMillis(tierStatsLogMs));
+        } else if (shards > 0) {
+            store = new ShardedConsultationRepository(shards, Duration.ofMillis(shardStatsLogMs));
+        } else {
+            store = offHeap ? new OffHeapConsultationRepository(storeSegmentBytes) : new InMemoryConsultationRepository(
+                    ConsultationRetention.parse(retentionHours, productRetentionHours, Duration.ofMinutes(retentionBucketMinutes)),
+                    Clock.systemUTC(), Duration.ofMillis(retentionSweepMs));
+        }
+        if (writeBehindCapacity > 0) {
+            return new WriteBehindConsultationRepository(store, writeBehindCapacity, writeBehindMaxBatch,
+                    Duration.ofMillis(enqueueTimeoutMs), Duration.ofMillis(drainTimeoutMs), writeBehindMaxAttempts);
+        }
+        return store;
     }
 
     @Bean
@@ -43,13 +137,29 @@ public class BeanConfiguration {
     }
 
     @Bean
-    public EligibilityStrategyFactory eligibilityStrategyFactory(List<EligibilityStrategy> strategies) {
-        return new EligibilityStrategyFactory(strategies);
+    public EligibilityStrategyFactory eligibilityStrategyFactory(
+            List<EligibilityStrategy> strategies,
+            ObjectMapper objectMapper,
+            @Value("${eligibility.rules.location:}") String rulesLocation) {
+        EligibilityStrategyFactory factory = new EligibilityStrategyFactory(strategies);
+        new ClasspathRuleSetLoader(new JsonRuleSetParser(objectMapper)).registerAll(rulesLocation, factory);
+        return factory;
+    }
+
+    @Bean
+    public EligibilityService eligibilityService(
+            EligibilityStrategyFactory strategyFactory,
+            @Value("${eligibility.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${eligibility.cache.max-entries:10000}") int cacheMaxEntries,
+            @Value("${eligibility.stats.enabled:true}") boolean statsEnabled) {
+        EligibilityResultCache resultCache = cacheEnabled ? new EligibilityResultCache(cacheMaxEntries) : null;
+        EligibilityFunnelStatistics statistics = statsEnabled ? new EligibilityFunnelStatistics() : null;
+        return new EligibilityService(strategyFactory, resultCache, statistics);
     }
 
     @Bean
-    public EligibilityService eligibilityService(EligibilityStrategyFactory strategyFactory) {
-        return new EligibilityService(strategyFactory);
+    public GetEligibilityStatsUseCase getEligibilityStatsUseCase(EligibilityService eligibilityService) {
+        return eligibilityService;
     }
 
     @Bean
@@ -58,8 +168,22 @@ public class BeanConfiguration {
             ConsultationRepository consultationRepository,
             EligibilityService eligibilityService,
             @org.springframework.beans.factory.annotation.Autowired(required = false)
-            com.genovia.consultation.adapter.out.messaging.ConsultationEventPublisher eventPublisher) {
-        return new ConsultationService(questionRepository, consultationRepository, eligibilityService, eventPublisher);
+            com.genovia.consultation.adapter.out.messaging.ConsultationEventPublisher eventPublisher,
+            ConsultationIdGenerator consultationIdGenerator) {
+        return new ConsultationService(questionRepository, consultationRepository, eligibilityService, eventPublisher,
+                consultationIdGenerator);
+    }
+
+    @Bean
+    public ConsultationIdGenerator consultationIdGenerator() {
+        return new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+    }
+
+    @Bean
+    public ManageEligibilityStrategiesUseCase manageEligibilityStrategiesUseCase(
+            EligibilityStrategyFactory strategyFactory,
+            EligibilityService eligibilityService) {
+        return new StrategyAdministrationService(strategyFactory, eligibilityService.getResultCache());
     }
 
     @Bean
@@ -76,4 +200,19 @@ public class BeanConfiguration {
     public GetConsultationUseCase getConsultationUseCase(ConsultationService consultationService) {
         return consultationService;
     }
+
+    @Bean
+    public QueryConsultationsUseCase queryConsultationsUseCase(ConsultationService consultationService) {
+        return consultationService;
+    }
+
+    @Bean
+    public ReviewConsultationUseCase reviewConsultationUseCase(ConsultationService consultationService) {
+        return consultationService;
+    }
+
+    @Bean
+    public ExportConsultationsUseCase exportConsultationsUseCase(ConsultationRepository consultationRepository) {
+        return new ConsultationExportService(consultationRepository);
+    }
 }
@@ -0,0 +1,121 @@
+package com.genovia.consultation.domain.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable table of canonical {@link Answer} instances for one product's closed-set answers,
+ * so stored consultations hold a {@code char} code per answer instead of two strings.
+ * <p>
+ * Built from the product's catalog only: YES/NO for YES_NO questions, the listed options for
+ * MULTIPLE_CHOICE, nothing for TEXT. Anything a client sends outside that (unknown questions,
+ * off-catalog values) is kept inline as a free-text answer and never grows the table, so
+ * client input cannot crowd out the catalog's codes.
+ */
+public final class AnswerDictionary {
+    static final char FREE_TEXT = Character.MAX_VALUE;
+
+    private final String productId;
+    private final List<Question> catalog;
+    private final Map<String, QuestionEntry> questions;
+    private final Answer[] answersByCode;
+
+    public AnswerDictionary(String productId, List<Question> catalog) {
+        this.productId = Objects.requireNonNull(productId, "Product ID cannot be null");
+        this.catalog = Objects.requireNonNull(catalog, "Catalog cannot be null");
+        this.questions = new HashMap<>(catalog.size() * 2);
+        List<Answer> answers = new ArrayList<>();
+        for (Question question : catalog) {
+            QuestionEntry entry = questions.computeIfAbsent(question.id(), QuestionEntry::new);
+            if (question.type() == QuestionType.YES_NO) {
+                add(entry, "YES", answers);
+                add(entry, "NO", answers);
+            } else if (question.type() == QuestionType.MULTIPLE_CHOICE) {
+                question.subPoints().forEach(option -> add(entry, option, answers));
+            }
+            if (question.disqualifyingAnswer() != null && question.type() != QuestionType.TEXT) {
+                add(entry, question.disqualifyingAnswer(), answers);
+            }
+        }
+        this.answersByCode = answers.toArray(new Answer[0]);
+    }
+
+    public String productId() {
+        return productId;
+    }
+
+    /** Identity check, so callers rebuild only when the repository hands out a different catalog. */
+    public boolean isBuiltFrom(List<Question> questions) {
+        return catalog == questions;
+    }
+
+    /**
+     * Read-only list backed by codes into this dictionary; returned as-is if already encoded here.
+     */
+    public List<Answer> encode(List<Answer> answers) {
+        if (answers instanceof EncodedAnswers encoded && encoded.dictionary() == this) {
+            return encoded;
+        }
+        int count = answers.size();
+        char[] codes = new char[count];
+        Answer[] freeText = null;
+        for (int i = 0; i < count; i++) {
+            Answer answer = Objects.requireNonNull(answers.get(i), "Answer cannot be null");
+            QuestionEntry entry = questions.get(answer.questionId());
+            Integer code = entry != null ? entry.codes.get(answer.answer()) : null;
+            if (code != null) {
+                codes[i] = (char) code.intValue();
+                continue;
+            }
+            if (freeText == null) {
+                freeText = new Answer[count];
+            }
+            codes[i] = FREE_TEXT;
+            freeText[i] = entry != null ? new Answer(entry.questionId, answer.answer()) : answer;
+        }
+        return new EncodedAnswers(this, codes, freeText);
+    }
+
+    public int size() {
+        return answersByCode.length;
+    }
+
+    /**
+     * Whether {@code answers.get(index)} is one of a catalog's closed-set answers, so its value
+     * is not client free text. Only lists returned by {@link #encode} can say so; any other list
+     * reports {@code false}.
+     */
+    public static boolean isClosedSet(List<Answer> answers, int index) {
+        return answers instanceof EncodedAnswers encoded && encoded.isCoded(index);
+    }
+
+    /** Whether the question ID of {@code answers.get(index)} is one of the catalog's, on the same terms. */
+    public static boolean isCatalogQuestion(List<Answer> answers, int index) {
+        return answers instanceof EncodedAnswers encoded
+                && (encoded.isCoded(index) || encoded.dictionary().questions.containsKey(answers.get(index).questionId()));
+    }
+
+    Answer answer(char code) {
+        return answersByCode[code];
+    }
+
+    private static void add(QuestionEntry entry, String value, List<Answer> answers) {
+        if (entry.codes.containsKey(value) || answers.size() == FREE_TEXT) {
+            return;
+        }
+        entry.codes.put(value, answers.size());
+        answers.add(new Answer(entry.questionId, value));
+    }
+
+    private static final class QuestionEntry {
+        private final String questionId;
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private QuestionEntry(String questionId) {
+            this.questionId = questionId;
+        }
+    }
+}
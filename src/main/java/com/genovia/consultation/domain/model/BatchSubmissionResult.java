@@ -0,0 +1,16 @@
+package com.genovia.consultation.domain.model;
+
+public record BatchSubmissionResult(int index, Consultation consultation, String error) {
+
+    public static BatchSubmissionResult accepted(int index, Consultation consultation) {
+        return new BatchSubmissionResult(index, consultation, null);
+    }
+
+    public static BatchSubmissionResult rejected(int index, String error) {
+        return new BatchSubmissionResult(index, null, error);
+    }
+
+    public boolean isAccepted() {
+        return consultation != null;
+    }
+}
@@ -3,20 +3,27 @@ package com.genovia.consultation.domain.model;
 import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 public class Consultation {
-    private final String id;
+    private final ConsultationId id;
     private final String productId;
     private final List<Answer> answers;
     private final Instant submittedAt;
     private final EligibilityResult eligibilityResult;
     private final ConsultationStatus status;
     private final DoctorReview doctorReview;
+    private final long strategyVersion;
+    private final long version;
 
-    public Consultation(String productId, List<Answer> answers, EligibilityResult eligibilityResult) {
-        this(UUID.randomUUID().toString(), productId, answers, Instant.now(), eligibilityResult,
-             ConsultationStatus.PENDING_REVIEW, null);
+    /** A new, unreviewed consultation submitted now; the caller picks the ID (see {@code ConsultationIdGenerator}). */
+    public Consultation(ConsultationId id, String productId, List<Answer> answers, EligibilityResult eligibilityResult) {
+        this(id, productId, answers, eligibilityResult, 0L);
+    }
+
+    public Consultation(ConsultationId id, String productId, List<Answer> answers, EligibilityResult eligibilityResult,
+                       long strategyVersion) {
+        this(id, productId, answers, Instant.now(), eligibilityResult, ConsultationStatus.PENDING_REVIEW, null,
+             strategyVersion);
     }
 
     public Consultation(String id, String productId, List<Answer> answers,
@@ -27,16 +34,47 @@ public class Consultation {
     public Consultation(String id, String productId, List<Answer> answers,
                        Instant submittedAt, EligibilityResult eligibilityResult,
                        ConsultationStatus status, DoctorReview doctorReview) {
+        this(id, productId, answers, submittedAt, eligibilityResult, status, doctorReview, 0L);
+    }
+
+    public Consultation(String id, String productId, List<Answer> answers,
+                       Instant submittedAt, EligibilityResult eligibilityResult,
+                       ConsultationStatus status, DoctorReview doctorReview, long strategyVersion) {
+        this(ConsultationId.of(Objects.requireNonNull(id, "Consultation ID cannot be null")), productId, answers,
+             submittedAt, eligibilityResult, status, doctorReview, strategyVersion);
+    }
+
+    public Consultation(ConsultationId id, String productId, List<Answer> answers,
+                       Instant submittedAt, EligibilityResult eligibilityResult,
+                       ConsultationStatus status, DoctorReview doctorReview, long strategyVersion) {
+        this(id, productId, answers, submittedAt, eligibilityResult, status, doctorReview, strategyVersion, 0L);
+    }
+
+    /**
+     * @param version bumped by every {@code ConsultationRepository.update}; 0 for a new consultation
+     */
+    public Consultation(ConsultationId id, String productId, List<Answer> answers,
+                       Instant submittedAt, EligibilityResult eligibilityResult,
+                       ConsultationStatus status, DoctorReview doctorReview, long strategyVersion, long version) {
         this.id = Objects.requireNonNull(id, "Consultation ID cannot be null");
         this.productId = Objects.requireNonNull(productId, "Product ID cannot be null");
-        this.answers = Objects.requireNonNull(answers, "Answers cannot be null");
+        Objects.requireNonNull(answers, "Answers cannot be null");
+        // Encoded and List.of lists are already read-only and kept as-is, so reads never copy
+        this.answers = answers instanceof EncodedAnswers ? answers : List.copyOf(answers);
         this.submittedAt = Objects.requireNonNull(submittedAt, "Submitted time cannot be null");
         this.eligibilityResult = Objects.requireNonNull(eligibilityResult, "Eligibility result cannot be null");
         this.status = Objects.requireNonNull(status, "Status cannot be null");
         this.doctorReview = doctorReview; // Can be null (not yet reviewed)
+        this.strategyVersion = strategyVersion;
+        this.version = version;
     }
 
+    /** String form for the API edge; stores key by {@link #getConsultationId()}. */
     public String getId() {
+        return id.toString();
+    }
+
+    public ConsultationId getConsultationId() {
         return id;
     }
 
@@ -45,7 +83,7 @@ public class Consultation {
     }
 
     public List<Answer> getAnswers() {
-        return List.copyOf(answers);
+        return answers;
     }
 
     public Instant getSubmittedAt() {
@@ -64,12 +102,25 @@ public class Consultation {
         return doctorReview;
     }
 
+    public long getStrategyVersion() {
+        return strategyVersion;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
     
     public Consultation withDoctorReview(DoctorReview review) {
         ConsultationStatus newStatus = review.approved() ?
             ConsultationStatus.APPROVED : ConsultationStatus.REJECTED;
         return new Consultation(id, productId, answers, submittedAt,
-                               eligibilityResult, newStatus, review);
+                               eligibilityResult, newStatus, review, strategyVersion, version);
+    }
+
+    public Consultation withVersion(long newVersion) {
+        return new Consultation(id, productId, answers, submittedAt,
+                               eligibilityResult, status, doctorReview, strategyVersion, newVersion);
     }
 
     @Override
@@ -82,7 +133,7 @@ public class Consultation {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return id.hashCode();
     }
 
     @Override
@@ -93,6 +144,7 @@ public class Consultation {
                 ", answersCount=" + answers.size() +
                 ", submittedAt=" + submittedAt +
                 ", eligible=" + eligibilityResult.isEligible() +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,37 @@
+package com.genovia.consultation.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in the (submittedAt, id) order of consultations. Pages continue strictly after it.
+ * Serialized as an opaque URL-safe token.
+ */
+public record ConsultationCursor(Instant submittedAt, String consultationId) {
+    public ConsultationCursor {
+        Objects.requireNonNull(submittedAt, "Cursor time cannot be null");
+        Objects.requireNonNull(consultationId, "Cursor consultation ID cannot be null");
+    }
+
+    public static ConsultationCursor after(Consultation consultation) {
+        return new ConsultationCursor(consultation.getSubmittedAt(), consultation.getId());
+    }
+
+    public String encode() {
+        String raw = submittedAt.getEpochSecond() + ":" + submittedAt.getNano() + ":" + consultationId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ConsultationCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            return new ConsultationCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Integer.parseInt(parts[1])), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+}
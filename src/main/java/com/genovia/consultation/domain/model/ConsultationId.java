@@ -0,0 +1,125 @@
+package com.genovia.consultation.domain.model;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Consultation identifier held as two longs. Rendered as a lowercase UUID string at the
+ * API edge; parsing that string gives the same two longs back.
+ * <p>
+ * Strings that are not in canonical lowercase UUID form (ids created before time-ordered
+ * ids, test fixtures) are kept as-is so they still round-trip. Compact ids sort before such
+ * external ids and among themselves by their unsigned bits, which for ids from
+ * {@code TimeOrderedConsultationIdGenerator} is creation order.
+ */
+public final class ConsultationId implements Comparable<ConsultationId> {
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    private final String external;
+
+    private ConsultationId(long mostSignificantBits, long leastSignificantBits, String external) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+        this.external = external;
+    }
+
+    public static ConsultationId of(long mostSignificantBits, long leastSignificantBits) {
+        return new ConsultationId(mostSignificantBits, leastSignificantBits, null);
+    }
+
+    public static ConsultationId of(String id) {
+        Objects.requireNonNull(id, "Consultation ID cannot be null");
+        if (!isCanonicalUuid(id)) {
+            return new ConsultationId(0L, 0L, id);
+        }
+        long msb = hex(id, 0, 8) << 32 | hex(id, 9, 13) << 16 | hex(id, 14, 18);
+        long lsb = hex(id, 19, 23) << 48 | hex(id, 24, 36);
+        return new ConsultationId(msb, lsb, null);
+    }
+
+    public boolean isCompact() {
+        return external == null;
+    }
+
+    public long mostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    public long leastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    /**
+     * Creation time embedded in a version 7 (time-ordered) id, null for any other id.
+     */
+    public Instant timestamp() {
+        if (external != null || (mostSignificantBits >>> 12 & 0xF) != 7) {
+            return null;
+        }
+        return Instant.ofEpochMilli(mostSignificantBits >>> 16);
+    }
+
+    @Override
+    public int compareTo(ConsultationId other) {
+        if (external != null || other.external != null) {
+            if (external == null) {
+                return -1;
+            }
+            return other.external == null ? 1 : external.compareTo(other.external);
+        }
+        int byHigh = Long.compareUnsigned(mostSignificantBits, other.mostSignificantBits);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(leastSignificantBits, other.leastSignificantBits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ConsultationId that)) return false;
+        return mostSignificantBits == that.mostSignificantBits
+                && leastSignificantBits == that.leastSignificantBits
+                && Objects.equals(external, that.external);
+    }
+
+    @Override
+    public int hashCode() {
+        if (external != null) {
+            return external.hashCode();
+        }
+        long hash = mostSignificantBits ^ leastSignificantBits;
+        return (int) (hash >> 32) ^ (int) hash;
+    }
+
+    @Override
+    public String toString() {
+        return external != null ? external : new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    private static boolean isCanonicalUuid(String id) {
+        if (id.length() != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = id.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hex(String s, int from, int to) {
+        long value = 0L;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c != '-') {
+                value = value << 4 | (c <= '9' ? c - '0' : c - 'a' + 10);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package com.genovia.consultation.domain.model;
+
+import java.util.List;
+
+/**
+ * One page of a {@link ConsultationQuery}; {@code next} is null on the last page.
+ */
+public record ConsultationPage(List<Consultation> consultations, ConsultationCursor next) {
+    public boolean hasNext() {
+        return next != null;
+    }
+}
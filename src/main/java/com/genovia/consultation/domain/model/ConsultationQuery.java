@@ -0,0 +1,35 @@
+package com.genovia.consultation.domain.model;
+
+import java.time.Instant;
+
+/**
+ * Filter for listing consultations oldest first. Every criterion is optional; the time range
+ * includes {@code submittedFrom} and excludes {@code submittedTo}.
+ */
+public record ConsultationQuery(
+        String productId,
+        ConsultationStatus status,
+        Instant submittedFrom,
+        Instant submittedTo,
+        ConsultationCursor after,
+        int limit
+) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    public ConsultationQuery {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (submittedFrom != null && submittedTo != null && !submittedFrom.isBefore(submittedTo)) {
+            throw new IllegalArgumentException("submittedFrom must be before submittedTo");
+        }
+    }
+
+    public boolean matches(Consultation consultation) {
+        return (productId == null || productId.equals(consultation.getProductId()))
+                && (status == null || status == consultation.getStatus())
+                && (submittedFrom == null || !consultation.getSubmittedAt().isBefore(submittedFrom))
+                && (submittedTo == null || consultation.getSubmittedAt().isBefore(submittedTo));
+    }
+}
@@ -0,0 +1,6 @@
+package com.genovia.consultation.domain.model;
+
+import java.util.List;
+
+public record ConsultationSubmission(String productId, List<Answer> answers) {
+}
@@ -0,0 +1,4 @@
+package com.genovia.consultation.domain.model;
+
+public record EligibilityAssessment(EligibilityResult result, long strategyVersion) {
+}
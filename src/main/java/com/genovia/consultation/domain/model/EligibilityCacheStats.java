@@ -0,0 +1,11 @@
+package com.genovia.consultation.domain.model;
+
+/**
+ * Eligibility result cache counters since startup; all zero when the cache is turned off.
+ *
+ * @param hits   lookups answered from the cache
+ * @param misses cacheable lookups that had to be evaluated
+ * @param size   entries currently held
+ */
+public record EligibilityCacheStats(boolean enabled, long hits, long misses, int size) {
+}
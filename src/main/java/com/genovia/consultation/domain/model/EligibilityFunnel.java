@@ -0,0 +1,28 @@
+package com.genovia.consultation.domain.model;
+
+import java.util.List;
+
+/**
+ * Point-in-time counts of eligibility outcomes since startup. Counters are read one by one
+ * while submissions keep arriving, so totals may be off by the few submissions in flight.
+ */
+public record EligibilityFunnel(long eligible, long ineligible, List<ProductFunnel> products) {
+    public EligibilityFunnel {
+        products = List.copyOf(products);
+    }
+
+    public record ProductFunnel(String productId, long eligible, long ineligible, List<QuestionFunnel> questions) {
+        public ProductFunnel {
+            questions = List.copyOf(questions);
+        }
+    }
+
+    /**
+     * @param answered        submissions with a non-blank answer to the question
+     * @param missingRequired submissions that left a required question blank or out
+     * @param disqualified    submissions whose answer was the question's disqualifying answer,
+     *                        whether or not it was the reason reported to the patient
+     */
+    public record QuestionFunnel(String questionId, long answered, long missingRequired, long disqualified) {
+    }
+}
@@ -3,6 +3,10 @@ package com.genovia.consultation.domain.model;
 import java.util.Objects;
 
 public class EligibilityResult {
+    // Immutable, so every eligible outcome can share one instance
+    private static final EligibilityResult ELIGIBLE =
+            new EligibilityResult(true, "Your consultation has been submitted for review.");
+
     private final boolean eligible;
     private final String reason;
 
@@ -12,7 +16,7 @@ public class EligibilityResult {
     }
 
     public static EligibilityResult eligible() {
-        return new EligibilityResult(true, "Your consultation has been submitted for review.");
+        return ELIGIBLE;
     }
 
     public static EligibilityResult ineligible(String reason) {
@@ -0,0 +1,40 @@
+package com.genovia.consultation.domain.model;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * Immutable answer list stored as one {@code char} code per answer. Coded answers resolve to
+ * the dictionary's shared instances; {@code freeText} is only allocated when some answer
+ * could not be coded and holds those answers at their positions.
+ */
+final class EncodedAnswers extends AbstractList<Answer> implements RandomAccess {
+    private final AnswerDictionary dictionary;
+    private final char[] codes;
+    private final Answer[] freeText;
+
+    EncodedAnswers(AnswerDictionary dictionary, char[] codes, Answer[] freeText) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+        this.freeText = freeText;
+    }
+
+    AnswerDictionary dictionary() {
+        return dictionary;
+    }
+
+    boolean isCoded(int index) {
+        return codes[index] != AnswerDictionary.FREE_TEXT;
+    }
+
+    @Override
+    public Answer get(int index) {
+        char code = codes[index];
+        return code == AnswerDictionary.FREE_TEXT ? freeText[index] : dictionary.answer(code);
+    }
+
+    @Override
+    public int size() {
+        return codes.length;
+    }
+}
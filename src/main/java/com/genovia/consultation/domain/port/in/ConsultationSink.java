@@ -0,0 +1,11 @@
+package com.genovia.consultation.domain.port.in;
+
+import com.genovia.consultation.domain.model.Consultation;
+
+import java.io.IOException;
+
+/** Receives exported consultations one at a time, typically writing them straight out. */
+@FunctionalInterface
+public interface ConsultationSink {
+    void accept(Consultation consultation) throws IOException;
+}
@@ -0,0 +1,15 @@
+package com.genovia.consultation.domain.port.in;
+
+import com.genovia.consultation.domain.model.ConsultationQuery;
+
+import java.io.IOException;
+
+public interface ExportConsultationsUseCase {
+    /**
+     * Streams every consultation matching {@code filter}, oldest first, to {@code sink}, reading
+     * {@code filter.limit()} consultations at a time.
+     *
+     * @return consultations exported
+     */
+    long exportConsultations(ConsultationQuery filter, ConsultationSink sink) throws IOException;
+}
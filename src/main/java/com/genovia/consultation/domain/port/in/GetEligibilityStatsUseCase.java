@@ -0,0 +1,10 @@
+package com.genovia.consultation.domain.port.in;
+
+import com.genovia.consultation.domain.model.EligibilityCacheStats;
+import com.genovia.consultation.domain.model.EligibilityFunnel;
+
+public interface GetEligibilityStatsUseCase {
+    EligibilityFunnel getEligibilityFunnel();
+
+    EligibilityCacheStats getResultCacheStats();
+}
@@ -0,0 +1,16 @@
+package com.genovia.consultation.domain.port.in;
+
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+
+import java.util.List;
+
+public interface ManageEligibilityStrategiesUseCase {
+    List<StrategyRegistration> getStrategies();
+
+    StrategyRegistration registerStrategy(String productId, String ineligibleMessage);
+
+    StrategyRegistration registerRuleSet(EligibilityRuleSet ruleSet);
+
+    boolean retireStrategy(String productId);
+}
@@ -0,0 +1,8 @@
+package com.genovia.consultation.domain.port.in;
+
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+
+public interface QueryConsultationsUseCase {
+    ConsultationPage queryConsultations(ConsultationQuery query);
+}
@@ -0,0 +1,16 @@
+package com.genovia.consultation.domain.port.in;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.DoctorReview;
+
+import java.util.Optional;
+
+public interface ReviewConsultationUseCase {
+    /**
+     * Records the review if the consultation is still at {@code expectedVersion}.
+     *
+     * @throws com.genovia.consultation.domain.port.out.ConsultationVersionConflictException when
+     *         someone else changed the consultation first
+     */
+    Optional<Consultation> reviewConsultation(String consultationId, long expectedVersion, DoctorReview review);
+}
@@ -1,10 +1,14 @@
 package com.genovia.consultation.domain.port.in;
 
 import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.BatchSubmissionResult;
 import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationSubmission;
 
 import java.util.List;
 
 public interface SubmitConsultationUseCase {
     Consultation submitConsultation(String productId, List<Answer> answersToConsultationQs);
+
+    List<BatchSubmissionResult> submitConsultations(List<ConsultationSubmission> submissions);
 }
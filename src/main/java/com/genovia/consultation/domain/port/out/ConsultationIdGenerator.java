@@ -0,0 +1,7 @@
+package com.genovia.consultation.domain.port.out;
+
+import com.genovia.consultation.domain.model.ConsultationId;
+
+public interface ConsultationIdGenerator {
+    ConsultationId nextId();
+}
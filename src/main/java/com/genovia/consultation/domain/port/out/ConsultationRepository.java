@@ -1,11 +1,35 @@
 package com.genovia.consultation.domain.port.out;
 
 import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 public interface ConsultationRepository {
     Consultation save(Consultation consultation);
 
+    default List<Consultation> saveAll(List<Consultation> consultations) {
+        List<Consultation> saved = new ArrayList<>(consultations.size());
+        for (Consultation consultation : consultations) {
+            saved.add(save(consultation));
+        }
+        return saved;
+    }
+
     Optional<Consultation> findById(String consultationId);
+
+    /**
+     * Atomically replaces the consultation with {@code transform} of it, provided it is still at
+     * {@code expectedVersion}; the stored result is at {@code expectedVersion + 1}.
+     *
+     * @return the stored consultation, or empty when there is no consultation with that id
+     * @throws ConsultationVersionConflictException when another update got there first
+     */
+    Optional<Consultation> update(String consultationId, long expectedVersion, UnaryOperator<Consultation> transform);
+
+    ConsultationPage findPage(ConsultationQuery query);
 }
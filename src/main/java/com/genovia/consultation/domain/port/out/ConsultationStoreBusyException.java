@@ -0,0 +1,11 @@
+package com.genovia.consultation.domain.port.out;
+
+/**
+ * A {@link ConsultationRepository} could not accept a write in time because its write
+ * buffer is full. Nothing was stored; the caller may retry later.
+ */
+public class ConsultationStoreBusyException extends RuntimeException {
+    public ConsultationStoreBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,30 @@
+package com.genovia.consultation.domain.port.out;
+
+/**
+ * A versioned update lost a race: the stored consultation is no longer at the version the
+ * caller read. Nothing was changed; re-read and retry.
+ */
+public class ConsultationVersionConflictException extends RuntimeException {
+    private final String consultationId;
+    private final long expectedVersion;
+    private final long currentVersion;
+
+    public ConsultationVersionConflictException(String consultationId, long expectedVersion, long currentVersion) {
+        super("Consultation " + consultationId + " is at version " + currentVersion + ", not " + expectedVersion);
+        this.consultationId = consultationId;
+        this.expectedVersion = expectedVersion;
+        this.currentVersion = currentVersion;
+    }
+
+    public String getConsultationId() {
+        return consultationId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getCurrentVersion() {
+        return currentVersion;
+    }
+}
@@ -6,4 +6,20 @@ import java.util.List;
 
 public interface QuestionRepository {
     List<Question> findByProductId(String productId);
+
+    default long getCatalogVersion(String productId) {
+        return 0L;
+    }
+
+    /**
+     * Called with each product's question list when the repository loads or replaces it, and
+     * right away for lists it already holds. Repositories that never change their catalog may
+     * ignore listeners.
+     */
+    default void addCatalogListener(CatalogListener listener) {
+    }
+
+    interface CatalogListener {
+        void catalogLoaded(String productId, List<Question> questions);
+    }
 }
@@ -0,0 +1,50 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.port.in.ConsultationSink;
+import com.genovia.consultation.domain.port.in.ExportConsultationsUseCase;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Walks the repository page by page with the keyset cursor, so only one page is ever held.
+ * The walk is weakly consistent: no consultation is exported twice, but one saved or changed
+ * during the export may or may not be included.
+ */
+public class ConsultationExportService implements ExportConsultationsUseCase {
+    private final ConsultationRepository consultationRepository;
+
+    public ConsultationExportService(ConsultationRepository consultationRepository) {
+        this.consultationRepository = consultationRepository;
+    }
+
+    @Override
+    public long exportConsultations(ConsultationQuery filter, ConsultationSink sink) throws IOException {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+
+        long exported = 0L;
+        ConsultationQuery query = filter;
+        while (true) {
+            ConsultationPage page = consultationRepository.findPage(query);
+            List<Consultation> consultations = page.consultations();
+            for (int i = 0, n = consultations.size(); i < n; i++) {
+                sink.accept(consultations.get(i));
+            }
+            exported += consultations.size();
+            if (!page.hasNext()) {
+                return exported;
+            }
+            query = new ConsultationQuery(filter.productId(), filter.status(), filter.submittedFrom(),
+                    filter.submittedTo(), page.next(), filter.limit());
+        }
+    }
+}
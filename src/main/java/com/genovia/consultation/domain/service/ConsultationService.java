@@ -2,35 +2,67 @@ package com.genovia.consultation.domain.service;
 
 import com.genovia.consultation.adapter.out.messaging.ConsultationEventPublisher;
 import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.AnswerDictionary;
+import com.genovia.consultation.domain.model.BatchSubmissionResult;
 import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.ConsultationSubmission;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityAssessment;
 import com.genovia.consultation.domain.model.EligibilityResult;
 import com.genovia.consultation.domain.model.Question;
 import com.genovia.consultation.domain.port.in.GetConsultationUseCase;
 import com.genovia.consultation.domain.port.in.GetQuestionsUseCase;
+import com.genovia.consultation.domain.port.in.QueryConsultationsUseCase;
+import com.genovia.consultation.domain.port.in.ReviewConsultationUseCase;
 import com.genovia.consultation.domain.port.in.SubmitConsultationUseCase;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
 import com.genovia.consultation.domain.port.out.ConsultationRepository;
 import com.genovia.consultation.domain.port.out.QuestionRepository;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class ConsultationService implements GetQuestionsUseCase, SubmitConsultationUseCase, GetConsultationUseCase {
+public class ConsultationService implements GetQuestionsUseCase, SubmitConsultationUseCase, GetConsultationUseCase,
+        QueryConsultationsUseCase, ReviewConsultationUseCase {
 
     private final QuestionRepository questionRepository;
     private final ConsultationRepository consultationRepository;
     private final EligibilityService eligibilityService;
     private final ConsultationEventPublisher eventPublisher;
     private final WorkflowService workflowService;
+    private final ConsultationIdGenerator idGenerator;
+    private final Map<String, AnswerDictionary> answerDictionaries = new ConcurrentHashMap<>();
 
     public ConsultationService(QuestionRepository questionRepository,
                               ConsultationRepository consultationRepository,
                               EligibilityService eligibilityService,
                               ConsultationEventPublisher eventPublisher) {
+        this(questionRepository, consultationRepository, eligibilityService, eventPublisher,
+             new TimeOrderedConsultationIdGenerator(Clock.systemUTC()));
+    }
+
+    public ConsultationService(QuestionRepository questionRepository,
+                              ConsultationRepository consultationRepository,
+                              EligibilityService eligibilityService,
+                              ConsultationEventPublisher eventPublisher,
+                              ConsultationIdGenerator idGenerator) {
         this.questionRepository = questionRepository;
         this.consultationRepository = consultationRepository;
         this.eligibilityService = eligibilityService;
         this.eventPublisher = eventPublisher;
         this.workflowService = new WorkflowService();
+        this.idGenerator = idGenerator;
+        questionRepository.addCatalogListener(eligibilityService::prepare);
     }
 
     @Override
@@ -58,14 +90,18 @@ public class ConsultationService implements GetQuestionsUseCase, SubmitConsultat
             throw new IllegalArgumentException("Answers cannot be null or empty");
         }
 
+        // Read the version first so a concurrent catalog change can only make the key stale, never too new
+        long catalogVersion = questionRepository.getCatalogVersion(productId);
         List<Question> questions = questionRepository.findByProductId(productId);
 
         if (questions.isEmpty()) {
             throw new IllegalArgumentException("No questions found for product: " + productId);
         }
 
-        EligibilityResult eligibilityResult = eligibilityService.determineEligibility(productId, questions, answers);
-        Consultation consultation = new Consultation(productId, answers, eligibilityResult);
+        EligibilityAssessment assessment = eligibilityService.assessEligibility(productId, catalogVersion, questions, answers);
+        EligibilityResult eligibilityResult = assessment.result();
+        Consultation consultation = newConsultation(answerDictionary(productId, questions), answers, eligibilityResult,
+                assessment.strategyVersion());
         Consultation saved = consultationRepository.save(consultation);
 
         if (eligibilityResult.isEligible()) {
@@ -75,6 +111,93 @@ public class ConsultationService implements GetQuestionsUseCase, SubmitConsultat
         return saved;
     }
 
+    @Override
+    public List<BatchSubmissionResult> submitConsultations(List<ConsultationSubmission> submissions) {
+        if (submissions == null || submissions.isEmpty()) {
+            throw new IllegalArgumentException("Submissions cannot be null or empty");
+        }
+
+        BatchSubmissionResult[] results = new BatchSubmissionResult[submissions.size()];
+        Map<String, List<Integer>> indexesByProduct = new LinkedHashMap<>();
+
+        for (int index = 0; index < submissions.size(); index++) {
+            ConsultationSubmission submission = submissions.get(index);
+            if (submission.productId() == null || submission.productId().trim().isEmpty()) {
+                results[index] = BatchSubmissionResult.rejected(index, "Product ID cannot be null or empty");
+            } else if (submission.answers() == null || submission.answers().isEmpty()) {
+                results[index] = BatchSubmissionResult.rejected(index, "Answers cannot be null or empty");
+            } else {
+                indexesByProduct.computeIfAbsent(submission.productId(), productId -> new ArrayList<>()).add(index);
+            }
+        }
+
+        List<Consultation> accepted = new ArrayList<>(submissions.size());
+        List<Integer> acceptedIndexes = new ArrayList<>(submissions.size());
+
+        for (Map.Entry<String, List<Integer>> productGroup : indexesByProduct.entrySet()) {
+            String productId = productGroup.getKey();
+            List<Integer> indexes = productGroup.getValue();
+            long catalogVersion = questionRepository.getCatalogVersion(productId);
+            List<Question> questions = questionRepository.findByProductId(productId);
+
+            if (questions.isEmpty()) {
+                for (int index : indexes) {
+                    results[index] = BatchSubmissionResult.rejected(index, "No questions found for product: " + productId);
+                }
+                continue;
+            }
+            AnswerDictionary dictionary = answerDictionary(productId, questions);
+
+            List<List<Answer>> answerSets = new ArrayList<>(indexes.size());
+            for (int index : indexes) {
+                answerSets.add(submissions.get(index).answers());
+            }
+
+            List<EligibilityAssessment> assessments;
+            try {
+                assessments = eligibilityService.assessEligibilityBatch(productId, catalogVersion, questions, answerSets);
+            } catch (IllegalArgumentException e) {
+                // Fall back to one-by-one evaluation so a single bad submission only rejects itself
+                assessments = null;
+            }
+
+            for (int i = 0; i < indexes.size(); i++) {
+                int index = indexes.get(i);
+                EligibilityAssessment assessment;
+                if (assessments != null) {
+                    assessment = assessments.get(i);
+                } else {
+                    try {
+                        assessment = eligibilityService.assessEligibility(productId, catalogVersion, questions, answerSets.get(i));
+                    } catch (IllegalArgumentException e) {
+                        results[index] = BatchSubmissionResult.rejected(index, e.getMessage());
+                        continue;
+                    }
+                }
+                accepted.add(newConsultation(dictionary, answerSets.get(i), assessment.result(), assessment.strategyVersion()));
+                acceptedIndexes.add(index);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            List<Consultation> saved = consultationRepository.saveAll(accepted);
+            List<Consultation> eligible = new ArrayList<>(saved.size());
+
+            for (int i = 0; i < saved.size(); i++) {
+                Consultation consultation = saved.get(i);
+                int index = acceptedIndexes.get(i);
+                results[index] = BatchSubmissionResult.accepted(index, consultation);
+                if (consultation.getEligibilityResult().isEligible()) {
+                    eligible.add(consultation);
+                }
+            }
+
+            workflowService.routeConsultations(eligible, eventPublisher);
+        }
+
+        return Arrays.asList(results);
+    }
+
     @Override
     public Optional<Consultation> getConsultation(String consultationId) {
         if (consultationId == null || consultationId.trim().isEmpty()) {
@@ -83,4 +206,43 @@ public class ConsultationService implements GetQuestionsUseCase, SubmitConsultat
 
         return consultationRepository.findById(consultationId);
     }
+
+    @Override
+    public ConsultationPage queryConsultations(ConsultationQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+
+        return consultationRepository.findPage(query);
+    }
+
+    @Override
+    public Optional<Consultation> reviewConsultation(String consultationId, long expectedVersion, DoctorReview review) {
+        if (consultationId == null || consultationId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Consultation ID cannot be null or empty");
+        }
+
+        if (review == null || review.reviewedBy() == null || review.reviewedBy().trim().isEmpty()) {
+            throw new IllegalArgumentException("Review must name the reviewer");
+        }
+
+        return consultationRepository.update(consultationId, expectedVersion,
+                consultation -> consultation.withDoctorReview(review));
+    }
+
+    private Consultation newConsultation(AnswerDictionary dictionary, List<Answer> answers, EligibilityResult result,
+                                         long strategyVersion) {
+        return new Consultation(idGenerator.nextId(), dictionary.productId(), dictionary.encode(answers), Instant.now(),
+                result, ConsultationStatus.PENDING_REVIEW, null, strategyVersion);
+    }
+
+    // Rebuilt only when the repository hands out a different catalog list, not on every submit
+    private AnswerDictionary answerDictionary(String productId, List<Question> questions) {
+        AnswerDictionary dictionary = answerDictionaries.get(productId);
+        if (dictionary == null || !dictionary.isBuiltFrom(questions)) {
+            dictionary = new AnswerDictionary(productId, questions);
+            answerDictionaries.put(productId, dictionary);
+        }
+        return dictionary;
+    }
 }
@@ -0,0 +1,206 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.ProductFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.QuestionFunnel;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live per-product, per-question eligibility counts, kept in {@link LongAdder}s so concurrent
+ * submissions increment striped cells instead of contending on one word.
+ * <p>
+ * Each product's question list is laid out into array slots the first time it is seen (and
+ * again only when the repository hands out a different list), so recording a submission is
+ * one map lookup per answer and a handful of increments, with no allocation for catalogs of
+ * up to 64 questions. Counters are kept by question ID and survive catalog reloads.
+ * Per-question counts come from the catalog's required flags and disqualifying answers; rules
+ * a strategy adds on top of the catalog only show up in the eligible/ineligible totals.
+ */
+public class EligibilityFunnelStatistics {
+
+    private final Map<String, ProductCounters> products = new ConcurrentHashMap<>();
+
+    public void record(String productId, List<Question> questions, List<Answer> answers, EligibilityResult result) {
+        ProductCounters product = products.get(productId);
+        if (product == null) {
+            product = products.computeIfAbsent(productId, ProductCounters::new);
+        }
+        (result.isEligible() ? product.eligible : product.ineligible).increment();
+        product.layoutFor(questions).record(answers);
+    }
+
+    public EligibilityFunnel snapshot() {
+        List<ProductFunnel> productFunnels = new ArrayList<>(products.size());
+        long eligible = 0L;
+        long ineligible = 0L;
+        for (ProductCounters product : products.values()) {
+            ProductFunnel funnel = product.snapshot();
+            eligible += funnel.eligible();
+            ineligible += funnel.ineligible();
+            productFunnels.add(funnel);
+        }
+        productFunnels.sort(Comparator.comparing(ProductFunnel::productId));
+        return new EligibilityFunnel(eligible, ineligible, productFunnels);
+    }
+
+    private static final class ProductCounters {
+        private final String productId;
+        private final LongAdder eligible = new LongAdder();
+        private final LongAdder ineligible = new LongAdder();
+        private final Map<String, QuestionCounters> questions = new ConcurrentHashMap<>();
+        private volatile Layout layout;
+
+        ProductCounters(String productId) {
+            this.productId = productId;
+        }
+
+        Layout layoutFor(List<Question> source) {
+            Layout current = layout;
+            if (current == null || current.source != source) {
+                // Racing threads may both build one; they share the counters, so either can win
+                current = new Layout(source, questions);
+                layout = current;
+            }
+            return current;
+        }
+
+        ProductFunnel snapshot() {
+            Map<String, QuestionCounters> ordered = new LinkedHashMap<>();
+            Layout current = layout;
+            if (current != null) {
+                for (QuestionCounters counters : current.counters) {
+                    ordered.put(counters.questionId, counters);
+                }
+            }
+            // Questions dropped from the catalog keep their counts, after the current ones
+            questions.values().stream()
+                    .sorted(Comparator.comparing(counters -> counters.questionId))
+                    .forEach(counters -> ordered.putIfAbsent(counters.questionId, counters));
+
+            List<QuestionFunnel> questionFunnels = new ArrayList<>(ordered.size());
+            for (QuestionCounters counters : ordered.values()) {
+                questionFunnels.add(new QuestionFunnel(counters.questionId, counters.answered.sum(),
+                        counters.missingRequired.sum(), counters.disqualified.sum()));
+            }
+            return new ProductFunnel(productId, eligible.sum(), ineligible.sum(), questionFunnels);
+        }
+    }
+
+    private static final class QuestionCounters {
+        private final String questionId;
+        private final LongAdder answered = new LongAdder();
+        private final LongAdder missingRequired = new LongAdder();
+        private final LongAdder disqualified = new LongAdder();
+
+        QuestionCounters(String questionId) {
+            this.questionId = questionId;
+        }
+    }
+
+    private static final class Layout {
+        private final List<Question> source;
+        private final Map<String, Integer> slotByQuestionId;
+        private final QuestionCounters[] counters;
+        private final boolean[] required;
+        private final String[] disqualifyingAnswers;
+        private final long requiredMask;
+
+        Layout(List<Question> source, Map<String, QuestionCounters> countersByQuestionId) {
+            int size = source.size();
+            this.source = source;
+            this.slotByQuestionId = new HashMap<>(size * 2);
+            this.counters = new QuestionCounters[size];
+            this.required = new boolean[size];
+            this.disqualifyingAnswers = new String[size];
+            long mask = 0L;
+            for (int slot = 0; slot < size; slot++) {
+                Question question = source.get(slot);
+                slotByQuestionId.put(question.id(), slot);
+                counters[slot] = countersByQuestionId.computeIfAbsent(question.id(), QuestionCounters::new);
+                required[slot] = question.required();
+                disqualifyingAnswers[slot] = question.disqualifyingAnswer();
+                if (question.required() && slot < Long.SIZE) {
+                    mask |= 1L << slot;
+                }
+            }
+            this.requiredMask = mask;
+        }
+
+        void record(List<Answer> answers) {
+            if (counters.length <= Long.SIZE) {
+                recordMasked(answers);
+            } else {
+                recordFlagged(answers);
+            }
+        }
+
+        private void recordMasked(List<Answer> answers) {
+            long answeredMask = 0L;
+            for (int i = 0, n = answers.size(); i < n; i++) {
+                Answer answer = answers.get(i);
+                Integer slot = slotByQuestionId.get(answer.questionId());
+                if (slot != null && recordAnswer(slot, answer.answer())) {
+                    answeredMask |= 1L << slot;
+                }
+            }
+            long missingMask = requiredMask & ~answeredMask;
+            while (missingMask != 0L) {
+                counters[Long.numberOfTrailingZeros(missingMask)].missingRequired.increment();
+                missingMask &= missingMask - 1;
+            }
+        }
+
+        private void recordFlagged(List<Answer> answers) {
+            boolean[] answered = new boolean[counters.length];
+            for (int i = 0, n = answers.size(); i < n; i++) {
+                Answer answer = answers.get(i);
+                Integer slot = slotByQuestionId.get(answer.questionId());
+                if (slot != null && recordAnswer(slot, answer.answer())) {
+                    answered[slot] = true;
+                }
+            }
+            for (int slot = 0; slot < counters.length; slot++) {
+                if (required[slot] && !answered[slot]) {
+                    counters[slot].missingRequired.increment();
+                }
+            }
+        }
+
+        // Returns whether the answer counts as given
+        private boolean recordAnswer(int slot, String value) {
+            if (isBlank(value)) {
+                return false;
+            }
+            QuestionCounters question = counters[slot];
+            question.answered.increment();
+            String disqualifying = disqualifyingAnswers[slot];
+            if (disqualifying != null && disqualifying.equalsIgnoreCase(value)) {
+                question.disqualified.increment();
+            }
+            return true;
+        }
+    }
+
+    private static boolean isBlank(String answer) {
+        if (answer == null) {
+            return true;
+        }
+        for (int i = 0, n = answer.length(); i < n; i++) {
+            if (answer.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
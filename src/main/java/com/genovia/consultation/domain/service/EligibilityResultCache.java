@@ -0,0 +1,176 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded memo of eligibility results for YES_NO questionnaires, keyed by
+ * (productId, catalog version, strategy version, canonical answer vector).
+ * <p>
+ * The answer vector packs two bits per question in catalog order (absent/blank, YES, NO),
+ * followed by the questions the strategy reads outside the catalog
+ * ({@link com.genovia.consultation.domain.service.eligibility.EligibilityStrategy#observedQuestionIds()}),
+ * so only submissions that differ in a way the strategies can observe get different keys.
+ * Entries also remember the question list they were computed from and are ignored when the
+ * repository hands out a different one. Once full, new combinations are simply not cached.
+ */
+public class EligibilityResultCache {
+    public static final long NOT_CACHEABLE = -1L;
+
+    private static final int MAX_QUESTIONS = Long.SIZE / 2 - 1;
+    private static final long ABSENT = 0L;
+    private static final long YES = 1L;
+    private static final long NO = 2L;
+
+    private final int maxEntries;
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Generation> generationByProduct = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public EligibilityResultCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    public EligibilityResult get(String productId, long catalogVersion, long strategyVersion,
+                                 List<Question> questions, long answerVector) {
+        Generation known = generationByProduct.get(productId);
+        if (known == null || known.catalogVersion() != catalogVersion || known.strategyVersion() != strategyVersion) {
+            generationByProduct.put(productId, new Generation(catalogVersion, strategyVersion));
+            if (known != null) {
+                invalidate(productId);
+            }
+        }
+
+        Entry entry = entries.get(new Key(productId, catalogVersion, strategyVersion, answerVector));
+        if (entry == null || entry.questions() != questions) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.result();
+    }
+
+    public void put(String productId, long catalogVersion, long strategyVersion,
+                    List<Question> questions, long answerVector, EligibilityResult result) {
+        if (entries.size() >= maxEntries) {
+            return;
+        }
+        entries.put(new Key(productId, catalogVersion, strategyVersion, answerVector), new Entry(questions, result));
+    }
+
+    public void invalidate(String productId) {
+        entries.keySet().removeIf(key -> key.productId().equals(productId));
+    }
+
+    public void clear() {
+        entries.clear();
+        generationByProduct.clear();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static long canonicalize(List<Question> questions, List<Answer> answers) {
+        return canonicalize(questions, List.of(), answers);
+    }
+
+    /**
+     * @param observedQuestionIds questions the strategy reads besides the catalog; they take the
+     *                            slots after the catalog's (IDs also in the catalog keep their
+     *                            catalog slot) and must be answered YES, NO or blank to be cached
+     */
+    public static long canonicalize(List<Question> questions, List<String> observedQuestionIds, List<Answer> answers) {
+        int questionCount = questions.size();
+        if (questionCount + observedQuestionIds.size() > MAX_QUESTIONS) {
+            return NOT_CACHEABLE;
+        }
+        for (int i = 0; i < questionCount; i++) {
+            if (questions.get(i).type() != QuestionType.YES_NO) {
+                return NOT_CACHEABLE;
+            }
+        }
+
+        long vector = 0L;
+        long seen = 0L;
+        for (int a = 0, answerCount = answers.size(); a < answerCount; a++) {
+            Answer answer = answers.get(a);
+            int slot = slotOf(questions, answer.questionId());
+            if (slot < 0) {
+                int observed = observedQuestionIds.indexOf(answer.questionId());
+                if (observed < 0) {
+                    continue;
+                }
+                slot = questionCount + observed;
+            }
+            long seenBit = 1L << slot;
+            if ((seen & seenBit) != 0L) {
+                // Duplicates are rejected by the strategy, never cached
+                return NOT_CACHEABLE;
+            }
+            seen |= seenBit;
+
+            long code = encode(answer.answer());
+            if (code == NOT_CACHEABLE) {
+                return NOT_CACHEABLE;
+            }
+            vector |= code << (slot * 2);
+        }
+        return vector;
+    }
+
+    private static int slotOf(List<Question> questions, String questionId) {
+        for (int i = 0, n = questions.size(); i < n; i++) {
+            if (questions.get(i).id().equals(questionId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static long encode(String answer) {
+        if ("YES".equalsIgnoreCase(answer)) {
+            return YES;
+        }
+        if ("NO".equalsIgnoreCase(answer)) {
+            return NO;
+        }
+        if (answer == null) {
+            return ABSENT;
+        }
+        for (int i = 0, n = answer.length(); i < n; i++) {
+            if (answer.charAt(i) > ' ') {
+                return NOT_CACHEABLE;
+            }
+        }
+        return ABSENT;
+    }
+
+    private record Key(String productId, long catalogVersion, long strategyVersion, long answerVector) {
+    }
+
+    private record Generation(long catalogVersion, long strategyVersion) {
+    }
+
+    private record Entry(List<Question> questions, EligibilityResult result) {
+    }
+}
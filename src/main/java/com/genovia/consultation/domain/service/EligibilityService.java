@@ -1,23 +1,206 @@
 package com.genovia.consultation.domain.service;
 
 import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityCacheStats;
+import com.genovia.consultation.domain.model.EligibilityAssessment;
+import com.genovia.consultation.domain.model.EligibilityFunnel;
 import com.genovia.consultation.domain.model.EligibilityResult;
 import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.port.in.GetEligibilityStatsUseCase;
 import com.genovia.consultation.domain.service.eligibility.EligibilityStrategy;
 import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-public class EligibilityService {
+import java.util.Map;
+
+public class EligibilityService implements GetEligibilityStatsUseCase {
     private final EligibilityStrategyFactory strategyFactory;
+    private final EligibilityResultCache resultCache;
+    private final EligibilityFunnelStatistics statistics;
 
     public EligibilityService(EligibilityStrategyFactory strategyFactory) {
+        this(strategyFactory, null);
+    }
+
+    public EligibilityService(EligibilityStrategyFactory strategyFactory, EligibilityResultCache resultCache) {
+        this(strategyFactory, resultCache, null);
+    }
+
+    public EligibilityService(EligibilityStrategyFactory strategyFactory,
+                              EligibilityResultCache resultCache,
+                              EligibilityFunnelStatistics statistics) {
         this.strategyFactory = strategyFactory;
+        this.resultCache = resultCache;
+        this.statistics = statistics;
     }
 
     public EligibilityResult determineEligibility(String productId,
                                                   List<Question>consultationQuestions,
                                                   List<Answer>providedAnswers) {
-        EligibilityStrategy strategy = strategyFactory.getStrategy(productId);
-        return strategy.evaluate(consultationQuestions, providedAnswers);
+        return assessEligibility(productId, 0L, consultationQuestions, providedAnswers).result();
+    }
+
+    public EligibilityResult determineEligibility(String productId,
+                                                  long catalogVersion,
+                                                  List<Question> consultationQuestions,
+                                                  List<Answer> providedAnswers) {
+        return assessEligibility(productId, catalogVersion, consultationQuestions, providedAnswers).result();
+    }
+
+    public EligibilityAssessment assessEligibility(String productId,
+                                                   long catalogVersion,
+                                                   List<Question> consultationQuestions,
+                                                   List<Answer> providedAnswers) {
+        // Resolve once: the whole evaluation runs against this registration even if it is replaced meanwhile
+        StrategyRegistration registration = strategyFactory.getRegistration(productId);
+        EligibilityResult result = evaluate(registration, productId, catalogVersion, consultationQuestions, providedAnswers);
+        record(productId, consultationQuestions, providedAnswers, result);
+        return new EligibilityAssessment(result, registration.version());
+    }
+
+    public List<EligibilityAssessment> assessEligibilityBatch(String productId,
+                                                              long catalogVersion,
+                                                              List<Question> consultationQuestions,
+                                                              List<List<Answer>> answerSets) {
+        StrategyRegistration registration = strategyFactory.getRegistration(productId);
+        List<EligibilityAssessment> assessments = new ArrayList<>(answerSets.size());
+
+        if (resultCache == null) {
+            List<EligibilityResult> results = registration.strategy().evaluateBatch(consultationQuestions, answerSets);
+            recordBatch(productId, consultationQuestions, answerSets, results);
+            for (EligibilityResult result : results) {
+                assessments.add(new EligibilityAssessment(result, registration.version()));
+            }
+            return assessments;
+        }
+
+        List<EligibilityResult> results = evaluateBatchThroughCache(
+                registration, productId, catalogVersion, consultationQuestions, answerSets);
+        recordBatch(productId, consultationQuestions, answerSets, results);
+        for (EligibilityResult result : results) {
+            assessments.add(new EligibilityAssessment(result, registration.version()));
+        }
+        return assessments;
+    }
+
+    /** Lets the product's strategy do its per-catalog work now; products without a strategy are ignored. */
+    public void prepare(String productId, List<Question> consultationQuestions) {
+        if (strategyFactory.hasStrategy(productId)) {
+            strategyFactory.getStrategy(productId).prepare(consultationQuestions);
+        }
+    }
+
+    public EligibilityResultCache getResultCache() {
+        return resultCache;
+    }
+
+    @Override
+    public EligibilityFunnel getEligibilityFunnel() {
+        return statistics != null ? statistics.snapshot() : new EligibilityFunnel(0L, 0L, List.of());
+    }
+
+    @Override
+    public EligibilityCacheStats getResultCacheStats() {
+        return resultCache != null
+                ? new EligibilityCacheStats(true, resultCache.hits(), resultCache.misses(), resultCache.size())
+                : new EligibilityCacheStats(false, 0L, 0L, 0);
+    }
+
+    private void record(String productId, List<Question> questions, List<Answer> answers, EligibilityResult result) {
+        if (statistics != null) {
+            statistics.record(productId, questions, answers, result);
+        }
+    }
+
+    // Recorded only once the whole batch evaluated, so a rejected batch leaves no partial counts
+    private void recordBatch(String productId, List<Question> questions,
+                             List<List<Answer>> answerSets, List<EligibilityResult> results) {
+        if (statistics != null) {
+            for (int i = 0; i < results.size(); i++) {
+                statistics.record(productId, questions, answerSets.get(i), results.get(i));
+            }
+        }
+    }
+
+    /**
+     * Looks every item up in the cache first, then sends the misses through the strategy's
+     * {@link EligibilityStrategy#evaluateBatch} in one call, so large batches still evaluate in
+     * parallel. Items with the same answer vector are evaluated once and share the result.
+     */
+    private List<EligibilityResult> evaluateBatchThroughCache(StrategyRegistration registration,
+                                                              String productId,
+                                                              long catalogVersion,
+                                                              List<Question> questions,
+                                                              List<List<Answer>> answerSets) {
+        EligibilityStrategy strategy = registration.strategy();
+        List<String> observedQuestionIds = strategy.observedQuestionIds();
+        int count = answerSets.size();
+        EligibilityResult[] results = new EligibilityResult[count];
+        long[] answerVectors = new long[count];
+        // Item index -> index into the misses sent to the strategy
+        int[] missSlots = new int[count];
+        Map<Long, Integer> missSlotByVector = new HashMap<>();
+        List<List<Answer>> misses = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+            List<Answer> answers = answerSets.get(i);
+            long answerVector = EligibilityResultCache.canonicalize(questions, observedQuestionIds, answers);
+            answerVectors[i] = answerVector;
+            if (answerVector != EligibilityResultCache.NOT_CACHEABLE) {
+                EligibilityResult cached = resultCache.get(productId, catalogVersion, registration.version(), questions, answerVector);
+                if (cached != null) {
+                    results[i] = cached;
+                    continue;
+                }
+                Integer slot = missSlotByVector.get(answerVector);
+                if (slot != null) {
+                    missSlots[i] = slot;
+                    continue;
+                }
+                missSlotByVector.put(answerVector, misses.size());
+            }
+            missSlots[i] = misses.size();
+            misses.add(answers);
+        }
+
+        List<EligibilityResult> evaluated = misses.isEmpty() ? List.of() : strategy.evaluateBatch(questions, misses);
+        for (int i = 0; i < count; i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            results[i] = evaluated.get(missSlots[i]);
+            if (answerVectors[i] != EligibilityResultCache.NOT_CACHEABLE) {
+                resultCache.put(productId, catalogVersion, registration.version(), questions, answerVectors[i], results[i]);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private EligibilityResult evaluate(StrategyRegistration registration,
+                                       String productId,
+                                       long catalogVersion,
+                                       List<Question> questions,
+                                       List<Answer> answers) {
+        EligibilityStrategy strategy = registration.strategy();
+        if (resultCache == null) {
+            return strategy.evaluate(questions, answers);
+        }
+
+        long answerVector = EligibilityResultCache.canonicalize(questions, strategy.observedQuestionIds(), answers);
+        if (answerVector == EligibilityResultCache.NOT_CACHEABLE) {
+            return strategy.evaluate(questions, answers);
+        }
+
+        EligibilityResult cached = resultCache.get(productId, catalogVersion, registration.version(), questions, answerVector);
+        if (cached != null) {
+            return cached;
+        }
+        EligibilityResult result = strategy.evaluate(questions, answers);
+        resultCache.put(productId, catalogVersion, registration.version(), questions, answerVector, result);
+        return result;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.port.in.ManageEligibilityStrategiesUseCase;
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import com.genovia.consultation.domain.service.eligibility.QuestionnaireEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleSetCompiler;
+
+import java.util.Comparator;
+import java.util.List;
+
+public class StrategyAdministrationService implements ManageEligibilityStrategiesUseCase {
+    private final EligibilityStrategyFactory strategyFactory;
+    private final EligibilityResultCache resultCache;
+
+    public StrategyAdministrationService(EligibilityStrategyFactory strategyFactory, EligibilityResultCache resultCache) {
+        this.strategyFactory = strategyFactory;
+        this.resultCache = resultCache; // Can be null (cache disabled)
+    }
+
+    @Override
+    public List<StrategyRegistration> getStrategies() {
+        return strategyFactory.getRegistrations().stream()
+                .sorted(Comparator.comparing(StrategyRegistration::productId))
+                .toList();
+    }
+
+    @Override
+    public StrategyRegistration registerStrategy(String productId, String ineligibleMessage) {
+        if (productId == null || productId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Product ID cannot be null or empty");
+        }
+        if (ineligibleMessage == null || ineligibleMessage.trim().isEmpty()) {
+            throw new IllegalArgumentException("Ineligible message cannot be null or empty");
+        }
+
+        StrategyRegistration registration = strategyFactory.register(
+                new QuestionnaireEligibilityStrategy(productId, ineligibleMessage)
+        );
+        invalidateCachedResults(productId);
+        return registration;
+    }
+
+    @Override
+    public StrategyRegistration registerRuleSet(EligibilityRuleSet ruleSet) {
+        StrategyRegistration registration = strategyFactory.register(RuleSetCompiler.compile(ruleSet));
+        invalidateCachedResults(ruleSet.productId());
+        return registration;
+    }
+
+    @Override
+    public boolean retireStrategy(String productId) {
+        boolean retired = strategyFactory.retire(productId);
+        if (retired) {
+            invalidateCachedResults(productId);
+        }
+        return retired;
+    }
+
+    private void invalidateCachedResults(String productId) {
+        if (resultCache != null) {
+            resultCache.invalidate(productId);
+        }
+    }
+}
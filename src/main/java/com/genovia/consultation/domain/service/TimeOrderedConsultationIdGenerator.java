@@ -0,0 +1,38 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.ConsultationId;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+
+import java.time.Clock;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * UUID version 7 ids: 48-bit Unix milliseconds, a 12-bit counter that orders ids created in
+ * the same millisecond, and 62 random bits. Ids from one generator are strictly increasing,
+ * even if the clock steps back or more than 4096 ids are created in a millisecond (the
+ * embedded time then runs slightly ahead). Randomness comes from {@link ThreadLocalRandom};
+ * ids only need to be unique, not unguessable, as they are not access tokens.
+ */
+public class TimeOrderedConsultationIdGenerator implements ConsultationIdGenerator {
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_IETF = 0x8000_0000_0000_0000L;
+    private static final long RANDOM_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private final Clock clock;
+    // (millis << 12) | counter of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    public TimeOrderedConsultationIdGenerator(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public ConsultationId nextId() {
+        long now = clock.millis() << 12;
+        long stamp = last.accumulateAndGet(now, (previous, candidate) -> Math.max(previous + 1, candidate));
+        long msb = (stamp >>> 12) << 16 | VERSION_7 | (stamp & 0xFFF);
+        long lsb = VARIANT_IETF | (ThreadLocalRandom.current().nextLong() & RANDOM_MASK);
+        return ConsultationId.of(msb, lsb);
+    }
+}
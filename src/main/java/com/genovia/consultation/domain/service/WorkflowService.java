@@ -7,6 +7,9 @@ import com.genovia.consultation.domain.model.ReviewWorkflow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class WorkflowService {
     private static final Logger log = LoggerFactory.getLogger(WorkflowService.class);
 
@@ -41,4 +44,26 @@ public class WorkflowService {
                 break;
         }
     }
+
+    public void routeConsultations(List<Consultation> consultations, ConsultationEventPublisher eventPublisher) {
+        List<ConsultationSubmittedEvent> asyncReviewEvents = new ArrayList<>();
+
+        for (Consultation consultation : consultations) {
+            if (getWorkflowForProduct(consultation.getProductId()) == ReviewWorkflow.ASYNC_DOCTOR_REVIEW) {
+                asyncReviewEvents.add(ConsultationSubmittedEvent.from(consultation));
+            } else {
+                routeConsultation(consultation, eventPublisher);
+            }
+        }
+
+        if (asyncReviewEvents.isEmpty()) {
+            return;
+        }
+        if (eventPublisher != null) {
+            log.info("Publishing {} consultations for async review", asyncReviewEvents.size());
+            eventPublisher.publishConsultationsSubmitted(asyncReviewEvents);
+        } else {
+            log.warn("Kafka disabled for {} consultations", asyncReviewEvents.size());
+        }
+    }
 }
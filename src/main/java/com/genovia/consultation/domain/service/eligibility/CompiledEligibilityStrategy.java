@@ -0,0 +1,42 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+
+import java.util.List;
+
+/**
+ * Base for strategies whose rules come straight from the question catalog.
+ * The catalog is compiled into a {@link DecisionTable} when it is loaded ({@link #prepare}),
+ * and again only when a different question list is passed in. Tables are keyed on an
+ * immutable snapshot of the list, so a caller-mutable list can never leave a stale table.
+ */
+public abstract class CompiledEligibilityStrategy implements EligibilityStrategy {
+
+    private final String ineligibleMessage;
+    private volatile DecisionTable decisionTable;
+
+    protected CompiledEligibilityStrategy(String ineligibleMessage) {
+        this.ineligibleMessage = ineligibleMessage;
+    }
+
+    @Override
+    public EligibilityResult evaluate(List<Question> consultationQuestions, List<Answer> userProvidedAnswers) {
+        return decisionTableFor(consultationQuestions).evaluate(userProvidedAnswers);
+    }
+
+    @Override
+    public void prepare(List<Question> consultationQuestions) {
+        decisionTableFor(consultationQuestions);
+    }
+
+    public DecisionTable decisionTableFor(List<Question> consultationQuestions) {
+        DecisionTable table = decisionTable;
+        if (table == null || !table.isCompiledFrom(consultationQuestions)) {
+            table = EligibilityRuleCompiler.compile(consultationQuestions, ineligibleMessage);
+            decisionTable = table;
+        }
+        return table;
+    }
+}
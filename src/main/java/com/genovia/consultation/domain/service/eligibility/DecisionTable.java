@@ -0,0 +1,168 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, pre-compiled form of a product questionnaire.
+ * Question IDs are mapped to array slots (catalog order) and every per-question
+ * outcome is computed up front, so evaluation needs no map and no string formatting.
+ * <p>
+ * Questionnaires made only of YES_NO questions (at most 64) additionally get a bitmask
+ * path: a submission becomes an answered-mask and a yes-mask, and the first failing
+ * slot is found with a few ANDs. Submissions carrying anything other than YES/NO/blank
+ * fall back to the generic path, which produces the same results. The generic path checks in
+ * catalog order: the reported reason is the first failing catalog question, so every earlier
+ * question has to be checked anyway and no other order can do fewer checks.
+ */
+public final class DecisionTable {
+    private final List<Question> source;
+    private final Map<String, Integer> slotByQuestionId;
+    private final String[] questionIds;
+    private final boolean[] required;
+    private final String[] disqualifyingAnswers;
+    private final EligibilityResult[] missingAnswerResults;
+    private final EligibilityResult disqualifiedResult;
+    private final EligibilityResult eligibleResult;
+    private final boolean yesNoOnly;
+    private final long requiredMask;
+    private final long disqualifyOnYesMask;
+    private final long disqualifyOnNoMask;
+
+    DecisionTable(List<Question> source,
+                  Map<String, Integer> slotByQuestionId,
+                  String[] questionIds,
+                  boolean[] required,
+                  String[] disqualifyingAnswers,
+                  EligibilityResult[] missingAnswerResults,
+                  EligibilityResult disqualifiedResult,
+                  EligibilityResult eligibleResult,
+                  boolean yesNoOnly,
+                  long requiredMask,
+                  long disqualifyOnYesMask,
+                  long disqualifyOnNoMask) {
+        this.source = source;
+        this.slotByQuestionId = slotByQuestionId;
+        this.questionIds = questionIds;
+        this.required = required;
+        this.disqualifyingAnswers = disqualifyingAnswers;
+        this.missingAnswerResults = missingAnswerResults;
+        this.disqualifiedResult = disqualifiedResult;
+        this.eligibleResult = eligibleResult;
+        this.yesNoOnly = yesNoOnly;
+        this.requiredMask = requiredMask;
+        this.disqualifyOnYesMask = disqualifyOnYesMask;
+        this.disqualifyOnNoMask = disqualifyOnNoMask;
+    }
+
+    public EligibilityResult evaluate(List<Answer> answers) {
+        if (yesNoOnly) {
+            EligibilityResult result = evaluateBitmask(answers);
+            if (result != null) {
+                return result;
+            }
+        }
+        return evaluateGeneric(answers);
+    }
+
+    // Returns null when an answer is not YES/NO/blank and the generic path has to decide
+    EligibilityResult evaluateBitmask(List<Answer> answers) {
+        long seenMask = 0L;
+        long answeredMask = 0L;
+        long yesMask = 0L;
+        for (int i = 0, n = answers.size(); i < n; i++) {
+            Answer answer = answers.get(i);
+            Integer slot = slotByQuestionId.get(answer.questionId());
+            if (slot == null) {
+                continue;
+            }
+            long bit = 1L << slot;
+            if ((seenMask & bit) != 0) {
+                throw new IllegalArgumentException("Duplicate answer for question: " + answer.questionId());
+            }
+            seenMask |= bit;
+
+            String value = answer.answer();
+            if ("YES".equalsIgnoreCase(value)) {
+                answeredMask |= bit;
+                yesMask |= bit;
+            } else if ("NO".equalsIgnoreCase(value)) {
+                answeredMask |= bit;
+            } else if (!isBlank(value)) {
+                return null;
+            }
+        }
+        return decide(answeredMask, yesMask);
+    }
+
+    EligibilityResult decide(long answeredMask, long yesMask) {
+        long missingMask = requiredMask & ~answeredMask;
+        long disqualifiedMask = (disqualifyOnYesMask & yesMask)
+                | (disqualifyOnNoMask & answeredMask & ~yesMask);
+        long failingMask = missingMask | disqualifiedMask;
+        if (failingMask == 0L) {
+            return eligibleResult;
+        }
+        int slot = Long.numberOfTrailingZeros(failingMask);
+        return (missingMask & (1L << slot)) != 0L ? missingAnswerResults[slot] : disqualifiedResult;
+    }
+
+    EligibilityResult evaluateGeneric(List<Answer> answers) {
+        String[] answerBySlot = new String[questionIds.length];
+        for (int i = 0, n = answers.size(); i < n; i++) {
+            Answer answer = answers.get(i);
+            Integer slot = slotByQuestionId.get(answer.questionId());
+            if (slot == null) {
+                continue;
+            }
+            if (answerBySlot[slot] != null) {
+                throw new IllegalArgumentException("Duplicate answer for question: " + answer.questionId());
+            }
+            answerBySlot[slot] = answer.answer();
+        }
+
+        for (int slot = 0; slot < answerBySlot.length; slot++) {
+            String answer = answerBySlot[slot];
+
+            if (required[slot] && isBlank(answer)) {
+                return missingAnswerResults[slot];
+            }
+
+            String disqualifying = disqualifyingAnswers[slot];
+            if (disqualifying != null && disqualifying.equalsIgnoreCase(answer)) {
+                return disqualifiedResult;
+            }
+        }
+
+        return eligibleResult;
+    }
+
+    public boolean isCompiledFrom(List<Question> questions) {
+        return source == questions;
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public boolean isYesNoOnly() {
+        return yesNoOnly;
+    }
+
+    // Same semantics as answer.trim().isEmpty(), without creating the trimmed copy
+    static boolean isBlank(String answer) {
+        if (answer == null) {
+            return true;
+        }
+        for (int i = 0, n = answer.length(); i < n; i++) {
+            if (answer.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+public final class EligibilityRuleCompiler {
+
+    private static final String YES = "YES";
+    private static final String NO = "NO";
+
+    private EligibilityRuleCompiler() {
+    }
+
+    /**
+     * Compiles an immutable snapshot of {@code questions}; the table is only reported as compiled
+     * from that snapshot, which is {@code questions} itself when the list is already unmodifiable.
+     */
+    public static DecisionTable compile(List<Question> catalog, String ineligibleMessage) {
+        Objects.requireNonNull(catalog, "Questions cannot be null");
+        Objects.requireNonNull(ineligibleMessage, "Ineligible message cannot be null");
+        List<Question> questions = List.copyOf(catalog);
+
+        int size = questions.size();
+        Map<String, Integer> slotByQuestionId = new HashMap<>();
+        String[] questionIds = new String[size];
+        boolean[] required = new boolean[size];
+        String[] disqualifyingAnswers = new String[size];
+        EligibilityResult[] missingAnswerResults = new EligibilityResult[size];
+        boolean yesNoOnly = size <= Long.SIZE;
+        long requiredMask = 0L;
+        long disqualifyOnYesMask = 0L;
+        long disqualifyOnNoMask = 0L;
+
+        for (int slot = 0; slot < size; slot++) {
+            Question question = questions.get(slot);
+            if (slotByQuestionId.putIfAbsent(question.id(), slot) != null) {
+                throw new IllegalArgumentException("Duplicate question ID in catalog: " + question.id());
+            }
+            questionIds[slot] = question.id();
+            required[slot] = question.required();
+            disqualifyingAnswers[slot] = question.disqualifyingAnswer() != null
+                    ? question.disqualifyingAnswer().toUpperCase(Locale.ROOT)
+                    : null;
+            missingAnswerResults[slot] = EligibilityResult.ineligible(
+                    String.format("Required question '%s' was not answered.", question.id())
+            );
+
+            if (!yesNoOnly) {
+                continue;
+            }
+            String disqualifying = disqualifyingAnswers[slot];
+            if (question.type() != QuestionType.YES_NO
+                    || (disqualifying != null && !YES.equals(disqualifying) && !NO.equals(disqualifying))) {
+                yesNoOnly = false;
+                continue;
+            }
+            long bit = 1L << slot;
+            if (question.required()) {
+                requiredMask |= bit;
+            }
+            if (YES.equals(disqualifying)) {
+                disqualifyOnYesMask |= bit;
+            } else if (NO.equals(disqualifying)) {
+                disqualifyOnNoMask |= bit;
+            }
+        }
+
+        return new DecisionTable(
+                questions,
+                Map.copyOf(slotByQuestionId),
+                questionIds,
+                required,
+                disqualifyingAnswers,
+                missingAnswerResults,
+                EligibilityResult.ineligible(ineligibleMessage),
+                EligibilityResult.eligible(),
+                yesNoOnly,
+                requiredMask,
+                disqualifyOnYesMask,
+                disqualifyOnNoMask
+        );
+    }
+}
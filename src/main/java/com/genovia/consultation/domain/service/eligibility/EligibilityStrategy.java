@@ -5,9 +5,36 @@ import com.genovia.consultation.domain.model.EligibilityResult;
 import com.genovia.consultation.domain.model.Question;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EligibilityStrategy {
+    int PARALLEL_BATCH_THRESHOLD = 64;
+
     EligibilityResult evaluate(List<Question> consultationQuestions, List<Answer> userProvidedAnswers);
 
+    default List<EligibilityResult> evaluateBatch(List<Question> consultationQuestions, List<List<Answer>> answerSets) {
+        Stream<List<Answer>> submissions = answerSets.size() >= PARALLEL_BATCH_THRESHOLD
+                ? answerSets.parallelStream()
+                : answerSets.stream();
+        return submissions
+                .map(answers -> evaluate(consultationQuestions, answers))
+                .toList();
+    }
+
+    /**
+     * Question IDs this strategy reads that may be missing from the product catalog. The result
+     * cache keys on their answers too; strategies that only read catalog questions keep the default.
+     */
+    default List<String> observedQuestionIds() {
+        return List.of();
+    }
+
+    /**
+     * Called when the product's catalog is loaded or replaced, so per-catalog work happens then
+     * instead of on the first submission. Strategies with nothing to prepare keep the default.
+     */
+    default void prepare(List<Question> consultationQuestions) {
+    }
+
     String getProductId();
 }
@@ -1,30 +1,80 @@
 package com.genovia.consultation.domain.service.eligibility;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
+/**
+ * Copy-on-write registry of eligibility strategies.
+ * <p>
+ * Readers only dereference a volatile, immutable snapshot, so lookups never lock.
+ * Writers serialize on a private lock, copy the snapshot, apply their change and publish
+ * the new map. Every registration gets a new, monotonically increasing version; callers
+ * that resolve a {@link StrategyRegistration} once keep evaluating with that version even
+ * if the product is replaced or retired concurrently.
+ */
 public class EligibilityStrategyFactory {
-    private final Map<String, EligibilityStrategy> productIdToStrategyMapping;
+    private final Object writeLock = new Object();
+    private volatile Map<String, StrategyRegistration> registrationsByProductId;
+    private long lastVersion;
 
     public EligibilityStrategyFactory(List<EligibilityStrategy> availableStrategies) {
-        this.productIdToStrategyMapping = new HashMap<>();
+        Map<String, StrategyRegistration> initial = new HashMap<>();
         for (EligibilityStrategy strategy : availableStrategies) {
-            productIdToStrategyMapping.put(strategy.getProductId(), strategy);
+            initial.put(strategy.getProductId(), new StrategyRegistration(strategy, ++lastVersion));
         }
+        this.registrationsByProductId = Map.copyOf(initial);
     }
 
     public EligibilityStrategy getStrategy(String productId) {
-        EligibilityStrategy strategy = productIdToStrategyMapping.get(productId);
-        if (strategy == null) {
+        return getRegistration(productId).strategy();
+    }
+
+    public StrategyRegistration getRegistration(String productId) {
+        StrategyRegistration registration = productId != null ? registrationsByProductId.get(productId) : null;
+        if (registration == null) {
             throw new IllegalArgumentException(
                     "No eligibility strategy found for product: " + productId
             );
         }
-        return strategy;
+        return registration;
     }
 
     public boolean hasStrategy(String productId) {
-        return productIdToStrategyMapping.containsKey(productId);
+        return productId != null && registrationsByProductId.containsKey(productId);
+    }
+
+    public Collection<StrategyRegistration> getRegistrations() {
+        return registrationsByProductId.values();
+    }
+
+    public StrategyRegistration register(EligibilityStrategy strategy) {
+        Objects.requireNonNull(strategy, "Strategy cannot be null");
+        String productId = strategy.getProductId();
+        if (productId == null || productId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Strategy product ID cannot be null or empty");
+        }
+
+        synchronized (writeLock) {
+            StrategyRegistration registration = new StrategyRegistration(strategy, ++lastVersion);
+            Map<String, StrategyRegistration> updated = new HashMap<>(registrationsByProductId);
+            updated.put(productId, registration);
+            registrationsByProductId = Map.copyOf(updated);
+            return registration;
+        }
+    }
+
+    public boolean retire(String productId) {
+        synchronized (writeLock) {
+            if (!hasStrategy(productId)) {
+                return false;
+            }
+            Map<String, StrategyRegistration> updated = new HashMap<>(registrationsByProductId);
+            updated.remove(productId);
+            registrationsByProductId = Map.copyOf(updated);
+            return true;
+        }
     }
 }
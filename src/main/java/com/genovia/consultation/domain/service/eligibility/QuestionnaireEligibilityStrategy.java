@@ -0,0 +1,21 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import java.util.Objects;
+
+/**
+ * Catalog-driven strategy for products that need no custom rules beyond required answers
+ * and disqualifying answers. Used for strategies registered at runtime.
+ */
+public class QuestionnaireEligibilityStrategy extends CompiledEligibilityStrategy {
+    private final String productId;
+
+    public QuestionnaireEligibilityStrategy(String productId, String ineligibleMessage) {
+        super(ineligibleMessage);
+        this.productId = Objects.requireNonNull(productId, "Product ID cannot be null");
+    }
+
+    @Override
+    public String getProductId() {
+        return productId;
+    }
+}
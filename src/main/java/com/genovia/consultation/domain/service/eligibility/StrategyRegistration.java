@@ -0,0 +1,8 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+public record StrategyRegistration(EligibilityStrategy strategy, long version) {
+
+    public String productId() {
+        return strategy.getProductId();
+    }
+}
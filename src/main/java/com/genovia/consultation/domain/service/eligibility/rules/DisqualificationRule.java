@@ -0,0 +1,10 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import java.util.Objects;
+
+public record DisqualificationRule(RuleCondition condition, String message) {
+    public DisqualificationRule {
+        Objects.requireNonNull(condition, "Rule condition cannot be null");
+        // message can be null, the rule set's ineligible message is used then
+    }
+}
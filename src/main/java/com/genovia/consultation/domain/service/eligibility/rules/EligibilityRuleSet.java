@@ -0,0 +1,18 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import java.util.List;
+import java.util.Objects;
+
+public record EligibilityRuleSet(String productId,
+                                 String ineligibleMessage,
+                                 List<String> requiredQuestions,
+                                 List<DisqualificationRule> disqualifications) {
+    public EligibilityRuleSet {
+        if (productId == null || productId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Rule set product ID cannot be null or empty");
+        }
+        Objects.requireNonNull(ineligibleMessage, "Ineligible message cannot be null");
+        requiredQuestions = requiredQuestions != null ? List.copyOf(requiredQuestions) : List.of();
+        disqualifications = disqualifications != null ? List.copyOf(disqualifications) : List.of();
+    }
+}
@@ -0,0 +1,75 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategy;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strategy produced by {@link RuleSetCompiler}. Answers are laid out by slot and handed to
+ * a single method handle tree, held as a constant by its own hidden class, that returns the
+ * first failing outcome, so there is no rule interpretation left at evaluation time.
+ * <p>
+ * The rule set is the source of truth: the catalog's required and disqualifying flags are
+ * not consulted.
+ */
+public final class RuleBasedEligibilityStrategy implements EligibilityStrategy {
+    private final EligibilityRuleSet ruleSet;
+    private final Map<String, Integer> slotByQuestionId;
+    private final List<String> questionIds;
+    private final RuleEvaluator evaluator;
+
+    RuleBasedEligibilityStrategy(EligibilityRuleSet ruleSet, Map<String, Integer> slotByQuestionId,
+                                 List<String> questionIds, RuleEvaluator evaluator) {
+        this.ruleSet = ruleSet;
+        this.slotByQuestionId = slotByQuestionId;
+        this.questionIds = List.copyOf(questionIds);
+        this.evaluator = evaluator;
+    }
+
+    @Override
+    public EligibilityResult evaluate(List<Question> consultationQuestions, List<Answer> userProvidedAnswers) {
+        String[] answerBySlot = new String[slotByQuestionId.size()];
+        for (int i = 0, n = userProvidedAnswers.size(); i < n; i++) {
+            Answer answer = userProvidedAnswers.get(i);
+            Integer slot = slotByQuestionId.get(answer.questionId());
+            if (slot == null) {
+                continue;
+            }
+            if (answerBySlot[slot] != null) {
+                throw new IllegalArgumentException("Duplicate answer for question: " + answer.questionId());
+            }
+            answerBySlot[slot] = answer.answer();
+        }
+
+        try {
+            return evaluator.evaluate(answerBySlot);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Rule evaluation failed for product: " + ruleSet.productId(), t);
+        }
+    }
+
+    /** Every question a rule reads, catalog or not, in slot order. */
+    @Override
+    public List<String> observedQuestionIds() {
+        return questionIds;
+    }
+
+    @Override
+    public String getProductId() {
+        return ruleSet.productId();
+    }
+
+    public EligibilityRuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    RuleEvaluator evaluator() {
+        return evaluator;
+    }
+}
@@ -0,0 +1,61 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import java.util.List;
+import java.util.Objects;
+
+public sealed interface RuleCondition {
+
+    record AnswerIn(String questionId, List<String> values) implements RuleCondition {
+        public AnswerIn {
+            Objects.requireNonNull(questionId, "Question ID cannot be null");
+            values = List.copyOf(values);
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("At least one value is required for question: " + questionId);
+            }
+        }
+    }
+
+    record NumericThreshold(String questionId, Comparison comparison, double threshold) implements RuleCondition {
+        public NumericThreshold {
+            Objects.requireNonNull(questionId, "Question ID cannot be null");
+            Objects.requireNonNull(comparison, "Comparison cannot be null");
+        }
+    }
+
+    record Answered(String questionId) implements RuleCondition {
+        public Answered {
+            Objects.requireNonNull(questionId, "Question ID cannot be null");
+        }
+    }
+
+    record AllOf(List<RuleCondition> conditions) implements RuleCondition {
+        public AllOf {
+            conditions = List.copyOf(conditions);
+            if (conditions.isEmpty()) {
+                throw new IllegalArgumentException("'all' needs at least one condition");
+            }
+        }
+    }
+
+    record AnyOf(List<RuleCondition> conditions) implements RuleCondition {
+        public AnyOf {
+            conditions = List.copyOf(conditions);
+            if (conditions.isEmpty()) {
+                throw new IllegalArgumentException("'any' needs at least one condition");
+            }
+        }
+    }
+
+    record Not(RuleCondition condition) implements RuleCondition {
+        public Not {
+            Objects.requireNonNull(condition, "Negated condition cannot be null");
+        }
+    }
+
+    enum Comparison {
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL,
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL
+    }
+}
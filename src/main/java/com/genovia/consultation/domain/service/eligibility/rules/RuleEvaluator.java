@@ -0,0 +1,10 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import com.genovia.consultation.domain.model.EligibilityResult;
+
+/**
+ * A compiled rule set: answers laid out by slot in, first failing outcome (or eligible) out.
+ */
+interface RuleEvaluator {
+    EligibilityResult evaluate(String[] answerBySlot) throws Throwable;
+}
@@ -0,0 +1,30 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import com.genovia.consultation.domain.model.EligibilityResult;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Never loaded under its own name: {@link RuleSetCompiler} defines a hidden copy of these
+ * bytes per rule set, with the rule set's method handle tree as class data. The handle then
+ * sits in a {@code static final} field, which the JIT treats as a constant and inlines
+ * through; an instance field would leave every call an opaque {@code invokeExact}.
+ */
+final class RuleEvaluatorTemplate implements RuleEvaluator {
+    private static final MethodHandle EVALUATOR;
+
+    static {
+        try {
+            EVALUATOR = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public EligibilityResult evaluate(String[] answerBySlot) throws Throwable {
+        return (EligibilityResult) EVALUATOR.invokeExact(answerBySlot);
+    }
+}
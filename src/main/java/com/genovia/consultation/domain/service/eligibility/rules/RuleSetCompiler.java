@@ -0,0 +1,227 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import com.genovia.consultation.domain.model.EligibilityResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles an {@link EligibilityRuleSet} into a method handle tree of type
+ * {@code (String[]) -> EligibilityResult}.
+ * <p>
+ * Every check (required answer first, then each disqualification in file order) becomes a
+ * {@code guardWithTest} whose target is a constant result, chained so the first match wins.
+ * Leaf predicates are small static methods with their question slot and operand bound in,
+ * and all/any/not are wired with guards and return filters, so the JIT sees one straight
+ * tree it can inline rather than an interpreter loop.
+ * <p>
+ * The finished tree is bound into its own hidden class ({@link RuleEvaluatorTemplate}) as a
+ * {@code static final} constant. Hidden classes are not held by the class loader, so a rule
+ * set replaced at runtime can be unloaded with its strategy.
+ */
+public final class RuleSetCompiler {
+
+    private static final MethodType PREDICATE = MethodType.methodType(boolean.class, String[].class);
+    private static final MethodHandle ANSWER_IN;
+    private static final MethodHandle NUMERIC_THRESHOLD;
+    private static final MethodHandle ANSWERED;
+    private static final MethodHandle NOT;
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final byte[] EVALUATOR_TEMPLATE;
+
+    static {
+        MethodHandles.Lookup lookup = LOOKUP;
+        try {
+            ANSWER_IN = lookup.findStatic(RuleSetCompiler.class, "answerIn",
+                    MethodType.methodType(boolean.class, String[].class, int.class, String[].class));
+            NUMERIC_THRESHOLD = lookup.findStatic(RuleSetCompiler.class, "numericThreshold",
+                    MethodType.methodType(boolean.class, RuleCondition.Comparison.class, double.class, int.class, String[].class));
+            ANSWERED = lookup.findStatic(RuleSetCompiler.class, "answered",
+                    MethodType.methodType(boolean.class, int.class, String[].class));
+            NOT = lookup.findStatic(RuleSetCompiler.class, "not",
+                    MethodType.methodType(boolean.class, boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        try (InputStream template = RuleSetCompiler.class.getResourceAsStream("RuleEvaluatorTemplate.class")) {
+            if (template == null) {
+                throw new ExceptionInInitializerError("RuleEvaluatorTemplate.class is not on the class path");
+            }
+            EVALUATOR_TEMPLATE = template.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private RuleSetCompiler() {
+    }
+
+    public static RuleBasedEligibilityStrategy compile(EligibilityRuleSet ruleSet) {
+        Map<String, Integer> slotByQuestionId = new HashMap<>();
+        for (String questionId : ruleSet.requiredQuestions()) {
+            slotByQuestionId.putIfAbsent(questionId, slotByQuestionId.size());
+        }
+        for (DisqualificationRule rule : ruleSet.disqualifications()) {
+            assignSlots(rule.condition(), slotByQuestionId);
+        }
+
+        EligibilityResult disqualified = EligibilityResult.ineligible(ruleSet.ineligibleMessage());
+        MethodHandle evaluator = constantResult(EligibilityResult.eligible());
+
+        // Built back to front so the first check in the file ends up outermost
+        List<DisqualificationRule> rules = ruleSet.disqualifications();
+        for (int i = rules.size() - 1; i >= 0; i--) {
+            DisqualificationRule rule = rules.get(i);
+            EligibilityResult result = rule.message() != null
+                    ? EligibilityResult.ineligible(rule.message())
+                    : disqualified;
+            evaluator = MethodHandles.guardWithTest(
+                    predicate(rule.condition(), slotByQuestionId), constantResult(result), evaluator);
+        }
+
+        List<String> required = ruleSet.requiredQuestions();
+        for (int i = required.size() - 1; i >= 0; i--) {
+            String questionId = required.get(i);
+            MethodHandle missing = MethodHandles.filterReturnValue(
+                    MethodHandles.insertArguments(ANSWERED, 0, slotByQuestionId.get(questionId)), NOT);
+            EligibilityResult result = EligibilityResult.ineligible(
+                    String.format("Required question '%s' was not answered.", questionId));
+            evaluator = MethodHandles.guardWithTest(missing, constantResult(result), evaluator);
+        }
+
+        String[] questionIdBySlot = new String[slotByQuestionId.size()];
+        slotByQuestionId.forEach((questionId, slot) -> questionIdBySlot[slot] = questionId);
+        return new RuleBasedEligibilityStrategy(ruleSet, Map.copyOf(slotByQuestionId),
+                Arrays.asList(questionIdBySlot), bind(evaluator));
+    }
+
+    private static RuleEvaluator bind(MethodHandle evaluator) {
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClassWithClassData(EVALUATOR_TEMPLATE, evaluator, true);
+            return (RuleEvaluator) hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (Throwable t) {
+            throw new IllegalStateException("Could not define the rule evaluator class", t);
+        }
+    }
+
+    private static void assignSlots(RuleCondition condition, Map<String, Integer> slotByQuestionId) {
+        if (condition instanceof RuleCondition.AnswerIn in) {
+            slotByQuestionId.putIfAbsent(in.questionId(), slotByQuestionId.size());
+        } else if (condition instanceof RuleCondition.NumericThreshold threshold) {
+            slotByQuestionId.putIfAbsent(threshold.questionId(), slotByQuestionId.size());
+        } else if (condition instanceof RuleCondition.Answered answered) {
+            slotByQuestionId.putIfAbsent(answered.questionId(), slotByQuestionId.size());
+        } else if (condition instanceof RuleCondition.AllOf all) {
+            all.conditions().forEach(nested -> assignSlots(nested, slotByQuestionId));
+        } else if (condition instanceof RuleCondition.AnyOf any) {
+            any.conditions().forEach(nested -> assignSlots(nested, slotByQuestionId));
+        } else if (condition instanceof RuleCondition.Not not) {
+            assignSlots(not.condition(), slotByQuestionId);
+        }
+    }
+
+    private static MethodHandle predicate(RuleCondition condition, Map<String, Integer> slotByQuestionId) {
+        if (condition instanceof RuleCondition.AnswerIn in) {
+            String[] values = in.values().stream()
+                    .map(value -> value.toUpperCase(Locale.ROOT))
+                    .toArray(String[]::new);
+            return MethodHandles.insertArguments(ANSWER_IN, 0, values, slotByQuestionId.get(in.questionId()));
+        }
+        if (condition instanceof RuleCondition.NumericThreshold threshold) {
+            return MethodHandles.insertArguments(NUMERIC_THRESHOLD, 0,
+                    threshold.comparison(), threshold.threshold(), slotByQuestionId.get(threshold.questionId()));
+        }
+        if (condition instanceof RuleCondition.Answered answered) {
+            return MethodHandles.insertArguments(ANSWERED, 0, slotByQuestionId.get(answered.questionId()));
+        }
+        if (condition instanceof RuleCondition.AllOf all) {
+            List<RuleCondition> conditions = all.conditions();
+            MethodHandle combined = predicate(conditions.get(conditions.size() - 1), slotByQuestionId);
+            for (int i = conditions.size() - 2; i >= 0; i--) {
+                combined = MethodHandles.guardWithTest(
+                        predicate(conditions.get(i), slotByQuestionId), combined, constantPredicate(false));
+            }
+            return combined;
+        }
+        if (condition instanceof RuleCondition.AnyOf any) {
+            List<RuleCondition> conditions = any.conditions();
+            MethodHandle combined = predicate(conditions.get(conditions.size() - 1), slotByQuestionId);
+            for (int i = conditions.size() - 2; i >= 0; i--) {
+                combined = MethodHandles.guardWithTest(
+                        predicate(conditions.get(i), slotByQuestionId), constantPredicate(true), combined);
+            }
+            return combined;
+        }
+        RuleCondition.Not not = (RuleCondition.Not) condition;
+        return MethodHandles.filterReturnValue(predicate(not.condition(), slotByQuestionId), NOT);
+    }
+
+    private static MethodHandle constantResult(EligibilityResult result) {
+        return MethodHandles.dropArguments(
+                MethodHandles.constant(EligibilityResult.class, result), 0, String[].class);
+    }
+
+    private static MethodHandle constantPredicate(boolean value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value), 0, String[].class)
+                .asType(PREDICATE);
+    }
+
+    private static boolean answerIn(String[] upperCasedValues, int slot, String[] answers) {
+        String answer = answers[slot];
+        if (answer == null) {
+            return false;
+        }
+        for (String value : upperCasedValues) {
+            if (value.equalsIgnoreCase(answer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean numericThreshold(RuleCondition.Comparison comparison, double threshold, int slot, String[] answers) {
+        String answer = answers[slot];
+        if (answer == null) {
+            return false;
+        }
+        double value;
+        try {
+            value = Double.parseDouble(answer.trim());
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        return switch (comparison) {
+            case LESS_THAN -> value < threshold;
+            case LESS_THAN_OR_EQUAL -> value <= threshold;
+            case GREATER_THAN -> value > threshold;
+            case GREATER_THAN_OR_EQUAL -> value >= threshold;
+        };
+    }
+
+    private static boolean answered(int slot, String[] answers) {
+        String answer = answers[slot];
+        if (answer == null) {
+            return false;
+        }
+        for (int i = 0, n = answer.length(); i < n; i++) {
+            if (answer.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+}
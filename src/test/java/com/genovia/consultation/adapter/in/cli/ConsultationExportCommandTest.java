@@ -0,0 +1,92 @@
+package com.genovia.consultation.adapter.in.cli;
+
+import com.genovia.consultation.adapter.in.export.ConsultationExportWriter;
+import com.genovia.consultation.adapter.out.persistence.jdbc.JdbcConsultationRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultationExportCommandTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+    @Test
+    void shouldExportStoreToFile_withFilters() throws IOException {
+        try (JdbcConsultationRepository repository = openStore()) {
+            for (int i = 0; i < 10; i++) {
+                repository.save(new Consultation("c-" + i, i % 2 == 0 ? "pear-allergy" : "hair-loss",
+                        List.of(new Answer("Q1", "YES")), START.plusSeconds(i), EligibilityResult.eligible()));
+            }
+        }
+        Path out = directory.resolve("export.bin");
+
+        int exitCode = run("--jdbc-url=" + jdbcUrl(), "--format=binary", "--product=hair-loss",
+                "--from=" + START.plusSeconds(3), "--out=" + out);
+
+        assertEquals(0, exitCode, stderr.toString(StandardCharsets.UTF_8));
+        List<String> ids = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(out)) {
+            ConsultationExportWriter.readBinary(in, consultation -> ids.add(consultation.getId()));
+        }
+        assertEquals(List.of("c-3", "c-5", "c-7", "c-9"), ids);
+    }
+
+    @Test
+    void shouldWriteNdjsonToStdout_whenNoOutGiven() throws IOException {
+        try (JdbcConsultationRepository repository = openStore()) {
+            repository.save(new Consultation("c-1", "pear-allergy", List.of(new Answer("Q1", "YES")), START,
+                    EligibilityResult.eligible()));
+        }
+
+        assertEquals(0, run("--jdbc-url=" + jdbcUrl()));
+
+        assertTrue(stdout.toString(StandardCharsets.UTF_8).startsWith("{\"consultationId\":\"c-1\""));
+    }
+
+    @Test
+    void shouldPrintUsage_whenStoreMissingOrArgumentsInvalid() {
+        assertEquals(2, run("--format=ndjson"));
+        assertEquals(2, run("--journal=data/journal"));
+        assertEquals(2, run("--jdbc-url=" + jdbcUrl(), "--status=LOST"));
+        assertEquals(2, run("jdbc-url"));
+        assertTrue(stderr.toString(StandardCharsets.UTF_8).contains(ConsultationExportCommand.USAGE));
+    }
+
+    private JdbcConsultationRepository openStore() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(jdbcUrl());
+        dataSource.setMaximumPoolSize(1);
+        return new JdbcConsultationRepository(dataSource, 64);
+    }
+
+    private String jdbcUrl() {
+        return "jdbc:h2:file:" + directory.resolve("consultations").toAbsolutePath();
+    }
+
+    private int run(String... args) {
+        return ConsultationExportCommand.run(args, new PrintStream(stdout, true, StandardCharsets.UTF_8),
+                new PrintStream(stderr, true, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,93 @@
+package com.genovia.consultation.adapter.in.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultationExportWriterTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final Consultation reviewed = new Consultation("c-1", "pear-allergy",
+            List.of(new Answer("Q1", "YES"), new Answer("Q2", "caf\u00e9")), START, EligibilityResult.eligible())
+            .withDoctorReview(new DoctorReview("dr-who", START.plusSeconds(60), true, "fine"))
+            .withVersion(1L);
+    private final Consultation ineligible = new Consultation("c-2", "hair-loss",
+            List.of(new Answer("HL1", "NO")), START.plusSeconds(1), EligibilityResult.ineligible("See your GP"));
+
+    @Test
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsultationExportWriter writer = ConsultationExportWriter.open(ExportFormat.NDJSON, out);
+        writer.accept(reviewed);
+        writer.accept(ineligible);
+        writer.finish();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode first = mapper.readTree(lines[0]);
+        assertEquals("c-1", first.get("consultationId").asText());
+        assertEquals("APPROVED", first.get("status").asText());
+        assertEquals("dr-who", first.get("doctorReview").get("reviewedBy").asText());
+        assertEquals(1L, first.get("version").asLong());
+        assertEquals("caf\u00e9", first.get("answers").get(1).get("answer").asText());
+        JsonNode second = mapper.readTree(lines[1]);
+        assertFalse(second.get("eligible").asBoolean());
+        assertEquals("See your GP", second.get("message").asText());
+        assertTrue(second.get("doctorReview").isNull());
+        assertEquals(2L, writer.written());
+    }
+
+    @Test
+    void shouldRoundTripBinaryExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsultationExportWriter writer = ConsultationExportWriter.open(ExportFormat.BINARY, out);
+        writer.accept(reviewed);
+        writer.accept(ineligible);
+        writer.finish();
+
+        List<Consultation> read = new ArrayList<>();
+        long count = ConsultationExportWriter.readBinary(new ByteArrayInputStream(out.toByteArray()), read::add);
+
+        assertEquals(2L, count);
+        assertEquals(reviewed.getDoctorReview(), read.get(0).getDoctorReview());
+        assertEquals(reviewed.getAnswers(), read.get(0).getAnswers());
+        assertEquals(1L, read.get(0).getVersion());
+        assertEquals("See your GP", read.get(1).getEligibilityResult().getReason());
+    }
+
+    @Test
+    void shouldRejectTruncatedBinaryExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConsultationExportWriter writer = ConsultationExportWriter.open(ExportFormat.BINARY, out);
+        writer.accept(reviewed);
+        writer.finish();
+        byte[] truncated = Arrays.copyOf(out.toByteArray(), out.size() - 10);
+
+        assertThrows(IOException.class, () ->
+                ConsultationExportWriter.readBinary(new ByteArrayInputStream(truncated), consultation -> {
+                }));
+    }
+
+    @Test
+    void shouldParseFormat_ignoringCase() {
+        assertEquals(ExportFormat.BINARY, ExportFormat.parse("Binary"));
+        assertThrows(IllegalArgumentException.class, () -> ExportFormat.parse("csv"));
+    }
+}
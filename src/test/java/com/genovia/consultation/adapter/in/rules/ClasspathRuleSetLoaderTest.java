@@ -0,0 +1,31 @@
+package com.genovia.consultation.adapter.in.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClasspathRuleSetLoaderTest {
+
+    private final ClasspathRuleSetLoader loader = new ClasspathRuleSetLoader(new JsonRuleSetParser(new ObjectMapper()));
+
+    @Test
+    void shouldRegisterNothing_whenLocationIsEmpty() {
+        EligibilityStrategyFactory factory = new EligibilityStrategyFactory(List.of());
+
+        assertEquals(0, loader.registerAll("", factory));
+        assertEquals(0, loader.registerAll(null, factory));
+        assertFalse(factory.hasStrategy("acne"));
+    }
+
+    @Test
+    void shouldRegisterRuleFiles_matchingLocation() {
+        EligibilityStrategyFactory factory = new EligibilityStrategyFactory(List.of());
+
+        assertEquals(1, loader.registerAll("classpath*:eligibility-rules/*.json", factory));
+        assertTrue(factory.hasStrategy("acne"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.genovia.consultation.adapter.in.rules;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleCondition;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleSetCompiler;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonRuleSetParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonRuleSetParser parser = new JsonRuleSetParser(objectMapper);
+
+    @Test
+    void shouldParseSampleRuleFile() throws IOException {
+        EligibilityRuleSet ruleSet;
+        try (InputStream json = getClass().getResourceAsStream("/eligibility-rules/acne.json")) {
+            ruleSet = parser.parse(json);
+        }
+
+        assertEquals("acne", ruleSet.productId());
+        assertEquals(List.of("AC1", "AC2"), ruleSet.requiredQuestions());
+        assertEquals(3, ruleSet.disqualifications().size());
+        assertEquals(new RuleCondition.NumericThreshold("AC2", RuleCondition.Comparison.LESS_THAN, 12),
+                ruleSet.disqualifications().get(1).condition());
+        assertEquals("Treatment is only available from age 12.", ruleSet.disqualifications().get(1).message());
+        assertInstanceOf(RuleCondition.AllOf.class, ruleSet.disqualifications().get(2).condition());
+    }
+
+    @Test
+    void shouldCompileParsedRules_intoWorkingStrategy() throws IOException {
+        EligibilityRuleSet ruleSet = parser.parse(objectMapper.readTree("""
+                {"productId": "test", "ineligibleMessage": "No",
+                 "disqualifyWhen": [{"question": "T1", "greaterThanOrEqual": 65}]}
+                """));
+
+        var strategy = RuleSetCompiler.compile(ruleSet);
+
+        assertFalse(strategy.evaluate(List.of(), List.of(new Answer("T1", "65"))).isEligible());
+        assertTrue(strategy.evaluate(List.of(), List.of(new Answer("T1", "64"))).isEligible());
+    }
+
+    @Test
+    void shouldRejectUnsupportedCondition() throws IOException {
+        var json = objectMapper.readTree("""
+                {"productId": "test", "ineligibleMessage": "No",
+                 "disqualifyWhen": [{"question": "T1", "contains": "x"}]}
+                """);
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> parser.parse(json));
+        assertTrue(exception.getMessage().contains("T1"));
+    }
+
+    @Test
+    void shouldRejectNonNumericThreshold() throws IOException {
+        var json = objectMapper.readTree("""
+                {"productId": "test", "ineligibleMessage": "No",
+                 "disqualifyWhen": [{"question": "T1", "lessThan": "ten"}]}
+                """);
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(json));
+    }
+
+    @Test
+    void shouldRejectMissingProductId() throws IOException {
+        var json = objectMapper.readTree("""
+                {"ineligibleMessage": "No"}
+                """);
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parse(json));
+    }
+}
@@ -148,4 +148,42 @@ class ConsultationControllerIntegrationTest {
         mockMvc.perform(get("/api/consultations/non-existent-id"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void shouldSubmitBatch_andStoreAcceptedConsultations() throws Exception {
+        String requestBody = """
+                {
+                    "consultations": [
+                        {
+                            "productId": "pear-allergy",
+                            "answers": [
+                                {"questionId": "Q1", "answer": "YES"},
+                                {"questionId": "Q2", "answer": "YES"},
+                                {"questionId": "Q3", "answer": "NO"}
+                            ]
+                        },
+                        {
+                            "productId": "non-existent-product",
+                            "answers": [{"questionId": "Q1", "answer": "YES"}]
+                        }
+                    ]
+                }
+                """;
+
+        MvcResult result = mockMvc.perform(post("/api/consultations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].consultation.eligible").value(true))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andReturn();
+
+        String consultationId = JsonPath.read(result.getResponse().getContentAsString(), "$.results[0].consultation.consultationId");
+
+        mockMvc.perform(get("/api/consultations/" + consultationId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consultationId").value(consultationId));
+    }
 }
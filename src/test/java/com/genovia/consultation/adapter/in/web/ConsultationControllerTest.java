@@ -3,30 +3,49 @@ package com.genovia.consultation.adapter.in.web;
 import com.genovia.consultation.domain.model.*;
 import com.genovia.consultation.domain.port.in.GetConsultationUseCase;
 import com.genovia.consultation.domain.port.in.GetQuestionsUseCase;
+import com.genovia.consultation.domain.port.in.QueryConsultationsUseCase;
+import com.genovia.consultation.domain.port.in.ReviewConsultationUseCase;
 import com.genovia.consultation.domain.port.in.SubmitConsultationUseCase;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.port.out.ConsultationStoreBusyException;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
 @WebMvcTest(ConsultationController.class)
+@Import(QuestionListRenderer.class)
 class ConsultationControllerTest {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
 
     @Autowired
     private MockMvc mockMvc;
@@ -40,6 +59,12 @@ class ConsultationControllerTest {
     @MockBean
     private GetConsultationUseCase getConsultationUseCase;
 
+    @MockBean
+    private QueryConsultationsUseCase queryConsultationsUseCase;
+
+    @MockBean
+    private ReviewConsultationUseCase reviewConsultationUseCase;
+
     @Test
     void shouldReturnQuestions_whenValidProductId() throws Exception {
         String productId = "pear-allergy";
@@ -91,6 +116,7 @@ class ConsultationControllerTest {
         );
 
         Consultation consultation = new Consultation(
+                IDS.nextId(),
                 productId,
                 answers,
                 EligibilityResult.eligible()
@@ -135,6 +161,7 @@ class ConsultationControllerTest {
         );
 
         Consultation consultation = new Consultation(
+                IDS.nextId(),
                 productId,
                 answers,
                 EligibilityResult.ineligible("Based on your answers, we recommend speaking with your GP.")
@@ -167,6 +194,7 @@ class ConsultationControllerTest {
 
         String consultationId = "test-consultation-id";
         Consultation consultation = new Consultation(
+                IDS.nextId(),
                 "pear-allergy",
                 List.of(new Answer("Q1", "YES")),
                 EligibilityResult.eligible()
@@ -216,6 +244,72 @@ class ConsultationControllerTest {
         verify(getQuestionsUseCase).getQuestions("pear-allergy");
     }
 
+    @Test
+    void shouldReturnETagAndCacheControl_withQuestions() throws Exception {
+
+        when(getQuestionsUseCase.getQuestions("pear-allergy")).thenReturn(List.of(
+                new Question("Q1", "Test question", QuestionType.YES_NO, true, "NO", null)
+        ));
+
+
+        mockMvc.perform(get("/api/consultations/questions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{32}\"")))
+                .andExpect(header().string("Cache-Control", containsString("max-age=300")))
+                .andExpect(header().doesNotExist("Content-Encoding"));
+    }
+
+    @Test
+    void shouldReturnNotModified_whenETagMatches() throws Exception {
+
+        when(getQuestionsUseCase.getQuestions("pear-allergy")).thenReturn(List.of(
+                new Question("Q1", "Test question", QuestionType.YES_NO, true, "NO", null)
+        ));
+        String etag = mockMvc.perform(get("/api/consultations/questions"))
+                .andReturn().getResponse().getHeader("ETag");
+
+
+        mockMvc.perform(get("/api/consultations/questions")
+                        .header("If-None-Match", "\"stale\", " + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void shouldReturnGzippedQuestions_whenClientAcceptsGzip() throws Exception {
+
+        when(getQuestionsUseCase.getQuestions("pear-allergy")).thenReturn(List.of(
+                new Question("Q1", "Test question", QuestionType.YES_NO, true, "NO", null)
+        ));
+
+
+        byte[] body = mockMvc.perform(get("/api/consultations/questions")
+                        .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{32}-gzip\"")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream json = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertTrue(new String(json.readAllBytes(), StandardCharsets.UTF_8).contains("\"productId\":\"pear-allergy\""));
+        }
+    }
+
+    @Test
+    void shouldServeIdentity_whenGzipHasZeroQuality() throws Exception {
+
+        when(getQuestionsUseCase.getQuestions("pear-allergy")).thenReturn(List.of(
+                new Question("Q1", "Test question", QuestionType.YES_NO, true, "NO", null)
+        ));
+
+        mockMvc.perform(get("/api/consultations/questions")
+                        .header("Accept-Encoding", "gzip;q=0, *"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(header().string("ETag", matchesPattern("\"[0-9a-f]{32}\"")));
+    }
+
     @Test
     void shouldHandleUnexpectedException_andReturn500() throws Exception {
 
@@ -230,4 +324,164 @@ class ConsultationControllerTest {
                 .andExpect(jsonPath("$.code").value("INTERNAL_ERROR"))
                 .andExpect(jsonPath("$.status").value(500));
     }
+
+    @Test
+    void shouldReturnServiceUnavailable_whenStoreIsBusy() throws Exception {
+        when(submitConsultationUseCase.submitConsultation(eq("pear-allergy"), any()))
+                .thenThrow(new ConsultationStoreBusyException("Consultation write buffer is full, try again later"));
+
+        mockMvc.perform(post("/api/consultations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productId": "pear-allergy", "answers": [{"questionId": "Q1", "answer": "YES"}]}
+                                """))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code").value("STORE_BUSY"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
+    @Test
+    void shouldReturnReviewedConsultation_withBumpedVersion() throws Exception {
+        Consultation reviewed = new Consultation(IDS.nextId(), "pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible())
+                .withDoctorReview(DoctorReview.approved("dr-who", "fine"))
+                .withVersion(4L);
+        when(reviewConsultationUseCase.reviewConsultation(eq("c-1"), eq(3L), any())).thenReturn(Optional.of(reviewed));
+
+        mockMvc.perform(post("/api/consultations/{id}/review", "c-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reviewedBy": "dr-who", "approved": true, "notes": "fine", "expectedVersion": 3}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("APPROVED"))
+                .andExpect(jsonPath("$.doctorReview.reviewedBy").value("dr-who"))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void shouldReturnConflict_whenReviewLosesRace() throws Exception {
+        when(reviewConsultationUseCase.reviewConsultation(eq("c-1"), eq(0L), any()))
+                .thenThrow(new ConsultationVersionConflictException("c-1", 0L, 1L));
+
+        mockMvc.perform(post("/api/consultations/{id}/review", "c-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reviewedBy": "dr-no", "approved": false, "notes": "nope", "expectedVersion": 0}
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.code").value("VERSION_CONFLICT"))
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenReviewedConsultationDoesNotExist() throws Exception {
+        when(reviewConsultationUseCase.reviewConsultation(eq("missing"), eq(0L), any())).thenReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/consultations/{id}/review", "missing")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reviewedBy": "dr-who", "approved": true, "expectedVersion": 0}
+                                """))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenReviewHasNoExpectedVersion() throws Exception {
+        mockMvc.perform(post("/api/consultations/{id}/review", "c-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"reviewedBy": "dr-who", "approved": true}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(reviewConsultationUseCase);
+    }
+
+    @Test
+    void shouldNotExposeExport_whenExportDisabled() throws Exception {
+        mockMvc.perform(get("/api/consultations/export"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldSubmitBatch_andReturnPerItemResults() throws Exception {
+        Consultation consultation = new Consultation(
+                IDS.nextId(),
+                "pear-allergy",
+                List.of(new Answer("Q1", "YES")),
+                EligibilityResult.eligible()
+        );
+
+        when(submitConsultationUseCase.submitConsultations(any()))
+                .thenReturn(List.of(
+                        BatchSubmissionResult.accepted(0, consultation),
+                        BatchSubmissionResult.rejected(1, "No questions found for product: unknown-product")
+                ));
+
+        String requestBody = """
+                {
+                    "consultations": [
+                        {"productId": "pear-allergy", "answers": [{"questionId": "Q1", "answer": "YES"}]},
+                        {"productId": "unknown-product", "answers": [{"questionId": "Q1", "answer": "YES"}]}
+                    ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/consultations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].consultation.consultationId").value(consultation.getId()))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].error").value(containsString("unknown-product")));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenBatchIsEmpty() throws Exception {
+        mockMvc.perform(post("/api/consultations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"consultations\": []}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void shouldListConsultations_withNextCursor() throws Exception {
+        Consultation consultation = new Consultation("c-1", "hair-loss", List.of(new Answer("HL1", "YES")),
+                Instant.parse("2024-01-01T10:00:00Z"), EligibilityResult.eligible());
+        ConsultationCursor next = ConsultationCursor.after(consultation);
+        when(queryConsultationsUseCase.queryConsultations(any()))
+                .thenReturn(new ConsultationPage(List.of(consultation), next));
+
+        mockMvc.perform(get("/api/consultations")
+                        .param("productId", "hair-loss")
+                        .param("status", "PENDING_REVIEW")
+                        .param("submittedFrom", "2024-01-01T00:00:00Z")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.consultations", hasSize(1)))
+                .andExpect(jsonPath("$.consultations[0].consultationId").value("c-1"))
+                .andExpect(jsonPath("$.nextCursor").value(next.encode()));
+
+        verify(queryConsultationsUseCase).queryConsultations(new ConsultationQuery("hair-loss",
+                ConsultationStatus.PENDING_REVIEW, Instant.parse("2024-01-01T00:00:00Z"), null, null, 1));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenListFilterInvalid() throws Exception {
+        mockMvc.perform(get("/api/consultations").param("status", "LOST"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/consultations").param("submittedFrom", "yesterday"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/consultations").param("cursor", "%%%"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/consultations").param("limit", "501"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(queryConsultationsUseCase);
+    }
 }
@@ -0,0 +1,79 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.in.ConsultationSink;
+import com.genovia.consultation.domain.port.in.ExportConsultationsUseCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ConsultationExportController.class, properties = "consultation.export.enabled=true")
+class ConsultationExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ExportConsultationsUseCase exportConsultationsUseCase;
+
+    @Test
+    void shouldStreamNdjsonExport_withFilters() throws Exception {
+        Consultation first = new Consultation("c-1", "hair-loss", List.of(new Answer("HL1", "YES")),
+                Instant.parse("2024-01-01T00:00:00Z"), EligibilityResult.eligible());
+        Consultation second = new Consultation("c-2", "hair-loss", List.of(new Answer("HL1", "NO")),
+                Instant.parse("2024-01-01T00:00:01Z"), EligibilityResult.eligible());
+        when(exportConsultationsUseCase.exportConsultations(any(), any())).thenAnswer(invocation -> {
+            ConsultationSink sink = invocation.getArgument(1);
+            sink.accept(first);
+            sink.accept(second);
+            return 2L;
+        });
+
+        MvcResult started = mockMvc.perform(get("/api/consultations/export")
+                        .param("productId", "hair-loss")
+                        .param("status", "PENDING_REVIEW"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("consultations.ndjson")))
+                .andExpect(content().string(matchesPattern("(?s)\\{\"consultationId\":\"c-1\".*\\}\n\\{\"consultationId\":\"c-2\".*\\}\n")));
+
+        verify(exportConsultationsUseCase).exportConsultations(argThat(filter ->
+                "hair-loss".equals(filter.productId()) && filter.status() == ConsultationStatus.PENDING_REVIEW
+                        && filter.limit() == ConsultationQuery.MAX_LIMIT), any());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenExportFormatUnknown() throws Exception {
+        mockMvc.perform(get("/api/consultations/export").param("format", "csv"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("csv")));
+
+        verifyNoInteractions(exportConsultationsUseCase);
+    }
+}
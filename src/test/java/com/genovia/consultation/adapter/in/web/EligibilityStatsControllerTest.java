@@ -0,0 +1,67 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.model.EligibilityCacheStats;
+import com.genovia.consultation.domain.model.EligibilityFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.ProductFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.QuestionFunnel;
+import com.genovia.consultation.domain.port.in.GetEligibilityStatsUseCase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(EligibilityStatsController.class)
+class EligibilityStatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private GetEligibilityStatsUseCase getEligibilityStatsUseCase;
+
+    @Test
+    void shouldReturnFunnel_perProductAndQuestion() throws Exception {
+        when(getEligibilityStatsUseCase.getEligibilityFunnel()).thenReturn(new EligibilityFunnel(7, 3, List.of(
+                new ProductFunnel("pear-allergy", 7, 3, List.of(
+                        new QuestionFunnel("Q1", 10, 0, 1),
+                        new QuestionFunnel("Q3", 9, 1, 2)
+                ))
+        )));
+
+        mockMvc.perform(get("/api/stats/eligibility"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.eligible").value(7))
+                .andExpect(jsonPath("$.ineligible").value(3))
+                .andExpect(jsonPath("$.products", hasSize(1)))
+                .andExpect(jsonPath("$.products[0].productId").value("pear-allergy"))
+                .andExpect(jsonPath("$.products[0].questions", hasSize(2)))
+                .andExpect(jsonPath("$.products[0].questions[1].questionId").value("Q3"))
+                .andExpect(jsonPath("$.products[0].questions[1].answered").value(9))
+                .andExpect(jsonPath("$.products[0].questions[1].missingRequired").value(1))
+                .andExpect(jsonPath("$.products[0].questions[1].disqualified").value(2));
+    }
+
+    @Test
+    void shouldReturnResultCacheCounters() throws Exception {
+        when(getEligibilityStatsUseCase.getResultCacheStats()).thenReturn(new EligibilityCacheStats(true, 40, 10, 6));
+
+        mockMvc.perform(get("/api/stats/eligibility-cache"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.hits").value(40))
+                .andExpect(jsonPath("$.misses").value(10))
+                .andExpect(jsonPath("$.size").value(6));
+    }
+}
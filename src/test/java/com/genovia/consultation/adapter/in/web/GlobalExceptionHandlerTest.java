@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 class GlobalExceptionHandlerTest {
@@ -71,6 +73,21 @@ class GlobalExceptionHandlerTest {
         assertNotNull(body.timestamp());
     }
 
+    @Test
+    void shouldReturn503_whenAsyncExecutorRejectsExport() {
+        when(mockRequest.getRequestURI()).thenReturn("/api/consultations/export");
+
+        ResponseEntity<ErrorResponse> response = exceptionHandler.handleExecutorFull(
+                new RejectedExecutionException("Executor [mvc-async-] did not accept task"), mockRequest);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst("Retry-After"));
+        ErrorResponse body = response.getBody();
+        assertNotNull(body);
+        assertEquals("SERVER_BUSY", body.code());
+        assertEquals(503, body.status());
+    }
+
     @Test
     void shouldNotExposeInternalDetails_in500Error() {
         RuntimeException exception = new RuntimeException("SQL injection detected in query: SELECT * FROM users WHERE password='admin123'");
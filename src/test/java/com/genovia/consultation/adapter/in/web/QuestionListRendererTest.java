@@ -0,0 +1,74 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionListRendererTest {
+
+    private final QuestionListRenderer renderer = new QuestionListRenderer(new ObjectMapper());
+
+    private final List<Question> questions = List.of(
+            new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null)
+    );
+
+    @Test
+    void shouldReuseRendering_whileQuestionListIsUnchanged() {
+        QuestionListRenderer.RenderedQuestionList first = renderer.render("pear-allergy", questions);
+        QuestionListRenderer.RenderedQuestionList second = renderer.render("pear-allergy", questions);
+
+        assertSame(first, second);
+        assertTrue(first.gzippedJson().length > 0);
+    }
+
+    @Test
+    void shouldChangeETag_whenQuestionsChange() {
+        String original = renderer.render("pear-allergy", questions).etag();
+        String sameContent = renderer.render("pear-allergy", List.copyOf(List.of(questions.get(0)))).etag();
+        String changed = renderer.render("pear-allergy", List.of(
+                new Question("Q1", "Are you over 18?", QuestionType.YES_NO, true, "NO", null)
+        )).etag();
+
+        assertEquals(original, sameContent);
+        assertNotEquals(original, changed);
+    }
+
+    @Test
+    void shouldMatchIfNoneMatch_withListsWildcardAndWeakTags() {
+        QuestionListRenderer.RenderedQuestionList rendered = renderer.render("pear-allergy", questions);
+
+        assertTrue(rendered.matches(rendered.etag()));
+        assertTrue(rendered.matches("\"other\", " + rendered.etag()));
+        assertTrue(rendered.matches("W/" + rendered.etag()));
+        assertTrue(rendered.matches("*"));
+        assertFalse(rendered.matches("\"other\""));
+        assertFalse(rendered.matches(null));
+    }
+
+    @Test
+    void shouldGiveGzippedBodyItsOwnETag_andMatchEither() {
+        QuestionListRenderer.RenderedQuestionList rendered = renderer.render("pear-allergy", questions);
+
+        assertNotEquals(rendered.etag(false), rendered.etag(true));
+        assertTrue(rendered.etag(true).endsWith("-gzip\""));
+        assertTrue(rendered.matches(rendered.etag(true)));
+        assertTrue(rendered.matches("W/" + rendered.etag(true)));
+    }
+
+    @Test
+    void shouldHonourQualityValues_inAcceptEncoding() {
+        assertTrue(QuestionListRenderer.acceptsGzip("gzip, deflate"));
+        assertTrue(QuestionListRenderer.acceptsGzip("deflate;q=1.0, GZIP;q=0.5"));
+        assertTrue(QuestionListRenderer.acceptsGzip("br, *;q=0.1"));
+        assertFalse(QuestionListRenderer.acceptsGzip("gzip;q=0"));
+        assertFalse(QuestionListRenderer.acceptsGzip("gzip;q=0.000, *"));
+        assertFalse(QuestionListRenderer.acceptsGzip("*;q=0"));
+        assertFalse(QuestionListRenderer.acceptsGzip("identity"));
+        assertFalse(QuestionListRenderer.acceptsGzip(null));
+    }
+}
@@ -0,0 +1,119 @@
+package com.genovia.consultation.adapter.in.web;
+
+import com.genovia.consultation.domain.port.in.ManageEligibilityStrategiesUseCase;
+import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.QuestionnaireEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleSetCompiler;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = StrategyAdminController.class, properties = "admin.endpoints.enabled=true")
+class StrategyAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ManageEligibilityStrategiesUseCase manageStrategiesUseCase;
+
+    @Test
+    void shouldListStrategies_withVersions() throws Exception {
+        when(manageStrategiesUseCase.getStrategies()).thenReturn(List.of(
+                new StrategyRegistration(new PearAllergyEligibilityStrategy(), 1L)
+        ));
+
+        mockMvc.perform(get("/api/admin/strategies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].productId").value("pear-allergy"))
+                .andExpect(jsonPath("$[0].version").value(1))
+                .andExpect(jsonPath("$[0].strategy").value("PearAllergyEligibilityStrategy"));
+    }
+
+    @Test
+    void shouldRegisterStrategy_whenRequestIsValid() throws Exception {
+        when(manageStrategiesUseCase.registerStrategy("acne", "Please see your GP.")).thenReturn(
+                new StrategyRegistration(new QuestionnaireEligibilityStrategy("acne", "Please see your GP."), 7L)
+        );
+
+        mockMvc.perform(put("/api/admin/strategies/acne")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ineligibleMessage": "Please see your GP."}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value("acne"))
+                .andExpect(jsonPath("$.version").value(7));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenIneligibleMessageIsBlank() throws Exception {
+        mockMvc.perform(put("/api/admin/strategies/acne")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"ineligibleMessage": " "}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(manageStrategiesUseCase);
+    }
+
+    @Test
+    void shouldCompileAndRegisterRuleSet() throws Exception {
+        when(manageStrategiesUseCase.registerRuleSet(any(EligibilityRuleSet.class))).thenAnswer(invocation ->
+                new StrategyRegistration(RuleSetCompiler.compile(invocation.getArgument(0)), 9L)
+        );
+
+        mockMvc.perform(put("/api/admin/strategies/acne/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productId": "acne", "ineligibleMessage": "No",
+                                 "required": ["AC1"],
+                                 "disqualifyWhen": [{"question": "AC2", "lessThan": 12}]}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.productId").value("acne"))
+                .andExpect(jsonPath("$.version").value(9))
+                .andExpect(jsonPath("$.strategy").value("RuleBasedEligibilityStrategy"));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenRuleSetProductDoesNotMatchPath() throws Exception {
+        mockMvc.perform(put("/api/admin/strategies/acne/rules")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"productId": "other", "ineligibleMessage": "No"}
+                                """))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(manageStrategiesUseCase);
+    }
+
+    @Test
+    void shouldReturnNotFound_whenRetiringUnknownProduct() throws Exception {
+        when(manageStrategiesUseCase.retireStrategy("unknown")).thenReturn(false);
+        when(manageStrategiesUseCase.retireStrategy("pear-allergy")).thenReturn(true);
+
+        mockMvc.perform(delete("/api/admin/strategies/unknown"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/api/admin/strategies/pear-allergy"))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,111 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultationIndexTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private InMemoryConsultationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryConsultationRepository();
+    }
+
+    @Test
+    void shouldPageThroughMatchingConsultations_oldestFirst() {
+        for (int i = 0; i < 10; i++) {
+            repository.save(consultation("c-" + i, i % 2 == 0 ? "hair-loss" : "pear-allergy", START.plusSeconds(i)));
+        }
+
+        List<String> ids = new ArrayList<>();
+        ConsultationPage page = repository.findPage(new ConsultationQuery("hair-loss", null, null, null, null, 2));
+        ids.addAll(idsOf(page));
+        while (page.hasNext()) {
+            page = repository.findPage(new ConsultationQuery("hair-loss", null, null, null, page.next(), 2));
+            ids.addAll(idsOf(page));
+        }
+
+        assertEquals(List.of("c-0", "c-2", "c-4", "c-6", "c-8"), ids);
+    }
+
+    @Test
+    void shouldRestrictToTimeRange_includingFromExcludingTo() {
+        for (int i = 0; i < 10; i++) {
+            repository.save(consultation("c-" + i, "hair-loss", START.plusSeconds(i)));
+        }
+
+        ConsultationPage page = repository.findPage(new ConsultationQuery(null, null,
+                START.plusSeconds(3), START.plusSeconds(6), null, 10));
+
+        assertEquals(List.of("c-3", "c-4", "c-5"), idsOf(page));
+        assertFalse(page.hasNext());
+    }
+
+    @Test
+    void shouldMoveConsultationBetweenStatusIndexes_whenReviewed() {
+        Consultation pending = repository.save(consultation("c-1", "hair-loss", START));
+        repository.save(consultation("c-2", "hair-loss", START.plusSeconds(1)));
+        repository.save(pending.withDoctorReview(DoctorReview.approved("dr-who", "ok")));
+
+        assertEquals(List.of("c-2"), idsOf(repository.findPage(
+                new ConsultationQuery("hair-loss", ConsultationStatus.PENDING_REVIEW, null, null, null, 10))));
+        assertEquals(List.of("c-1"), idsOf(repository.findPage(
+                new ConsultationQuery(null, ConsultationStatus.APPROVED, null, null, null, 10))));
+    }
+
+    @Test
+    void shouldReadOnlyOnePageOfIndexEntries_whenManyConsultationsStored() {
+        ConsultationIndex index = new ConsultationIndex();
+        for (int i = 0; i < 100_000; i++) {
+            index.update(null, consultation("c-" + i, "hair-loss", START.plusMillis(i)));
+        }
+        AtomicInteger loads = new AtomicInteger();
+
+        ConsultationPage page = index.query(new ConsultationQuery("hair-loss", ConsultationStatus.PENDING_REVIEW,
+                START.plusSeconds(50), null, null, 20), id -> {
+            loads.incrementAndGet();
+            return java.util.Optional.of(consultation(id.toString(), "hair-loss",
+                    START.plusMillis(Long.parseLong(id.toString().substring(2)))));
+        });
+
+        assertEquals(20, page.consultations().size());
+        assertEquals("c-50000", page.consultations().get(0).getId());
+        assertTrue(page.hasNext());
+        assertEquals(21, loads.get());
+    }
+
+    @Test
+    void shouldReturnEmptyPage_whenProductUnknown() {
+        repository.save(consultation("c-1", "hair-loss", START));
+
+        ConsultationPage page = repository.findPage(new ConsultationQuery("acne", null, null, null, null, 10));
+
+        assertTrue(page.consultations().isEmpty());
+        assertFalse(page.hasNext());
+    }
+
+    private static List<String> idsOf(ConsultationPage page) {
+        return page.consultations().stream().map(Consultation::getId).toList();
+    }
+
+    private static Consultation consultation(String id, String productId, Instant submittedAt) {
+        return new Consultation(id, productId, List.of(new Answer("Q1", "YES")), submittedAt, EligibilityResult.eligible());
+    }
+}
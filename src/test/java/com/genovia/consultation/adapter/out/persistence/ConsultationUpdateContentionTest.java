@@ -0,0 +1,192 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.adapter.out.persistence.jdbc.JdbcConsultationRepository;
+import com.genovia.consultation.adapter.out.persistence.journal.FsyncPolicy;
+import com.genovia.consultation.adapter.out.persistence.journal.JournalSettings;
+import com.genovia.consultation.adapter.out.persistence.journal.JournaledConsultationRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationRepository;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Many threads racing {@link ConsultationRepository#update} on the same consultations. */
+class ConsultationUpdateContentionTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+    private static final int THREADS = 8;
+
+    // Each store gets a fresh directory; the tiered one keeps a single consultation hot so
+    // updates keep moving consultations between the heap and the spill files
+    private static final Map<String, Store> STORES = Map.of(
+            "in-memory", directory -> new InMemoryConsultationRepository(),
+            "sharded", directory -> new ShardedConsultationRepository(4),
+            "off-heap", directory -> new OffHeapConsultationRepository(1 << 20),
+            "tiered", directory -> new TieredConsultationRepository(1, directory, 1 << 16),
+            "journaled", directory -> new JournaledConsultationRepository(
+                    new JournalSettings(directory, FsyncPolicy.OS, Duration.ofMillis(10), 1 << 20)),
+            "write-behind", directory -> new WriteBehindConsultationRepository(new InMemoryConsultationRepository(),
+                    1024, 64, Duration.ofSeconds(1), Duration.ofSeconds(5)),
+            "jdbc", directory -> {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setJdbcUrl("jdbc:h2:file:" + directory.resolve("consultations").toAbsolutePath());
+                dataSource.setMaximumPoolSize(THREADS);
+                return new JdbcConsultationRepository(dataSource, 64);
+            });
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldLetExactlyOneReviewerWin_whenAllExpectTheSameVersion() throws Exception {
+        for (Map.Entry<String, Store> store : STORES.entrySet()) {
+            for (int round = 0; round < 50; round++) {
+                ConsultationRepository repository = open(store);
+                repository.save(consultation("c-1"));
+                AtomicInteger wins = new AtomicInteger();
+                AtomicInteger conflicts = new AtomicInteger();
+
+                race(reviewer -> {
+                    try {
+                        repository.update("c-1", 0L, c -> c.withDoctorReview(review(reviewer, "won")));
+                        wins.incrementAndGet();
+                    } catch (ConsultationVersionConflictException e) {
+                        assertEquals(1L, e.getCurrentVersion());
+                        conflicts.incrementAndGet();
+                    }
+                });
+
+                assertEquals(1, wins.get(), store.getKey());
+                assertEquals(THREADS - 1, conflicts.get(), store.getKey());
+                Consultation stored = repository.findById("c-1").orElseThrow();
+                assertEquals(1L, stored.getVersion(), store.getKey());
+                assertEquals(ConsultationStatus.APPROVED, stored.getStatus(), store.getKey());
+                close(repository);
+            }
+        }
+    }
+
+    @Test
+    void shouldNotLoseUpdates_whenReviewersRetryConflicts() throws Exception {
+        int updatesPerThread = 200;
+        for (Map.Entry<String, Store> store : STORES.entrySet()) {
+            ConsultationRepository repository = open(store);
+            repository.save(consultation("c-1"));
+            repository.save(consultation("c-2"));
+
+            race(reviewer -> {
+                for (int i = 0; i < updatesPerThread; i++) {
+                    String id = i % 2 == 0 ? "c-1" : "c-2";
+                    while (true) {
+                        Consultation current = repository.findById(id).orElseThrow();
+                        try {
+                            // The notes count the updates, so a lost one shows up in the total
+                            repository.update(id, current.getVersion(),
+                                    c -> c.withDoctorReview(review(reviewer, String.valueOf(count(c) + 1))));
+                            break;
+                        } catch (ConsultationVersionConflictException e) {
+                            // Lost the race, read again
+                        }
+                    }
+                }
+            });
+
+            long expected = (long) THREADS * updatesPerThread / 2;
+            for (String id : List.of("c-1", "c-2")) {
+                Consultation stored = repository.findById(id).orElseThrow();
+                assertEquals(expected, stored.getVersion(), store.getKey());
+                assertEquals(expected, count(stored), store.getKey());
+            }
+            assertEquals(2, repository.findPage(new ConsultationQuery(
+                    null, ConsultationStatus.APPROVED, null, null, null, 10)).consultations().size(), store.getKey());
+            assertTrue(repository.findPage(new ConsultationQuery(
+                    null, ConsultationStatus.PENDING_REVIEW, null, null, null, 10)).consultations().isEmpty(), store.getKey());
+            close(repository);
+        }
+    }
+
+    @Test
+    void shouldReturnEmpty_whenUpdatingUnknownConsultation() throws Exception {
+        for (Map.Entry<String, Store> store : STORES.entrySet()) {
+            ConsultationRepository repository = open(store);
+
+            assertTrue(repository.update("missing", 0L, c -> c).isEmpty(), store.getKey());
+            assertTrue(repository.findById("missing").isEmpty(), store.getKey());
+            close(repository);
+        }
+    }
+
+    private ConsultationRepository open(Map.Entry<String, Store> store) throws Exception {
+        return store.getValue().open(Files.createTempDirectory(directory, store.getKey()));
+    }
+
+    private static void close(ConsultationRepository repository) throws Exception {
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static void race(ReviewerTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                String reviewer = "dr-" + t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(reviewer);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long count(Consultation consultation) {
+        return consultation.getDoctorReview() == null ? 0L : Long.parseLong(consultation.getDoctorReview().notes());
+    }
+
+    private static DoctorReview review(String reviewer, String notes) {
+        return new DoctorReview(reviewer, START.plusSeconds(60), true, notes);
+    }
+
+    private static Consultation consultation(String id) {
+        return new Consultation(id, "pear-allergy", List.of(new Answer("Q1", "YES")), START,
+                EligibilityResult.eligible());
+    }
+
+    private interface ReviewerTask {
+        void run(String reviewer);
+    }
+
+    private interface Store {
+        ConsultationRepository open(Path directory) throws Exception;
+    }
+}
@@ -0,0 +1,200 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileQuestionRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private FileQuestionRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldRoundTripQuestions_throughBinaryCatalog() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        List<Question> questions = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+                new Question("Q2", "Any of these? \u2713", QuestionType.MULTIPLE_CHOICE, false, null,
+                        List.of("Asthma", "Eczema"))
+        );
+        BinaryQuestionCatalog.write(file, Map.of("pear-allergy", questions));
+
+        repository = new FileQuestionRepository(file);
+        List<Question> loaded = repository.findByProductId("pear-allergy");
+
+        assertEquals(2, loaded.size());
+        assertEquals("Any of these? \u2713", loaded.get(1).text());
+        assertEquals(List.of("Asthma", "Eczema"), loaded.get(1).subPoints());
+        assertNull(loaded.get(1).disqualifyingAnswer());
+        assertEquals("NO", loaded.get(0).disqualifyingAnswer());
+        assertTrue(loaded.get(0).required());
+    }
+
+    @Test
+    void shouldDecodeProductOnce_andReturnSameList() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(1000));
+
+        repository = new FileQuestionRepository(file);
+
+        assertSame(repository.findByProductId("product-42"), repository.findByProductId("product-42"));
+        assertEquals("product-999 question", repository.findByProductId("product-999").get(0).text());
+        assertTrue(repository.findByProductId("unknown").isEmpty());
+        assertTrue(repository.findByProductId(null).isEmpty());
+        assertEquals(0L, repository.getCatalogVersion("unknown"));
+    }
+
+    @Test
+    void shouldSwapCatalog_andBumpVersion_onReload() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(1));
+        repository = new FileQuestionRepository(file);
+        List<Question> before = repository.findByProductId("product-0");
+        long versionBefore = repository.getCatalogVersion("product-0");
+
+        BinaryQuestionCatalog.write(file, Map.of("product-0", List.of(
+                new Question("Q1", "Updated", QuestionType.YES_NO, true, "NO", null))));
+        assertTrue(repository.reload());
+
+        assertNotSame(before, repository.findByProductId("product-0"));
+        assertEquals("Updated", repository.findByProductId("product-0").get(0).text());
+        assertTrue(repository.getCatalogVersion("product-0") > versionBefore);
+    }
+
+    @Test
+    void shouldKeepPreviousCatalog_whenNewFileIsCorrupt() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(1));
+        repository = new FileQuestionRepository(file);
+
+        // Replaced, not rewritten in place: the active catalog still maps the old file
+        Path corrupt = Files.write(directory.resolve("corrupt.bin"), new byte[]{1, 2, 3});
+        Files.move(corrupt, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        assertFalse(repository.reload());
+        assertEquals(1, repository.findByProductId("product-0").size());
+    }
+
+    @Test
+    void shouldKeepPreviousCatalog_whenAProductBlockIsMalformed() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(2));
+        repository = new FileQuestionRepository(file);
+
+        // Valid index, but product-1's only question has an unknown type code
+        Path next = directory.resolve("next.bin");
+        BinaryQuestionCatalog.write(next, catalogWithProducts(2));
+        byte[] bytes = Files.readAllBytes(next);
+        byte[] text = "product-1 question".getBytes(StandardCharsets.UTF_8);
+        bytes[indexOf(bytes, text) + text.length] = 0x7F;
+        Files.write(next, bytes);
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        assertFalse(repository.reload());
+        assertEquals("product-1 question", repository.findByProductId("product-1").get(0).text());
+    }
+
+    @Test
+    void shouldKeepVersionAndQuestions_ofUnchangedProducts_onReload() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(2));
+        repository = new FileQuestionRepository(file);
+        List<Question> unchanged = repository.findByProductId("product-0");
+        long unchangedVersion = repository.getCatalogVersion("product-0");
+        long changedVersion = repository.getCatalogVersion("product-1");
+
+        Map<String, List<Question>> next = catalogWithProducts(2);
+        next.put("product-1", List.of(new Question("Q1", "Updated", QuestionType.YES_NO, true, "NO", null)));
+        BinaryQuestionCatalog.write(file, next);
+        assertTrue(repository.reload());
+
+        assertSame(unchanged, repository.findByProductId("product-0"));
+        assertEquals(unchangedVersion, repository.getCatalogVersion("product-0"));
+        assertTrue(repository.getCatalogVersion("product-1") > changedVersion);
+        assertEquals("Updated", repository.findByProductId("product-1").get(0).text());
+    }
+
+    @Test
+    void shouldNotifyCatalogListener_whenProductIsDecodedOrChangedOnReload() throws IOException {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(3));
+        repository = new FileQuestionRepository(file);
+        List<Question> decodedEarly = repository.findByProductId("product-0");
+        Map<String, List<Question>> loaded = new LinkedHashMap<>();
+        repository.addCatalogListener(loaded::put);
+        assertEquals(Map.of("product-0", decodedEarly), loaded);
+
+        List<Question> decodedLater = repository.findByProductId("product-1");
+        repository.findByProductId("product-1");
+        assertSame(decodedLater, loaded.get("product-1"));
+        assertEquals(2, loaded.size());
+
+        loaded.clear();
+        Map<String, List<Question>> next = catalogWithProducts(3);
+        next.put("product-1", List.of(new Question("Q1", "Updated", QuestionType.YES_NO, true, "NO", null)));
+        next.put("product-2", List.of(new Question("Q1", "Not yet used", QuestionType.YES_NO, true, "NO", null)));
+        BinaryQuestionCatalog.write(file, next);
+        assertTrue(repository.reload());
+
+        // Only the changed product that was in use, handed over before it is served
+        assertEquals(List.of("product-1"), List.copyOf(loaded.keySet()));
+        assertSame(loaded.get("product-1"), repository.findByProductId("product-1"));
+    }
+
+    @Test
+    void shouldReloadAutomatically_whenWatchedFileChanges() throws Exception {
+        Path file = directory.resolve("catalog.bin");
+        BinaryQuestionCatalog.write(file, catalogWithProducts(1));
+        repository = new FileQuestionRepository(file);
+        repository.startWatching();
+
+        BinaryQuestionCatalog.write(file, catalogWithProducts(2));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (repository.findByProductId("product-1").isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, repository.findByProductId("product-1").size());
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        for (int i = 0; i + part.length <= bytes.length; i++) {
+            if (Arrays.equals(bytes, i, i + part.length, part, 0, part.length)) {
+                return i;
+            }
+        }
+        throw new AssertionError("Not found");
+    }
+
+    private static Map<String, List<Question>> catalogWithProducts(int count) {
+        Map<String, List<Question>> catalog = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            catalog.put("product-" + i, List.of(
+                    new Question("Q1", "product-" + i + " question", QuestionType.YES_NO, true, "NO", null)));
+        }
+        return catalog;
+    }
+}
@@ -2,15 +2,26 @@ package com.genovia.consultation.adapter.out.persistence;
 
 import com.genovia.consultation.domain.model.Answer;
 import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationQuery;
 import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -18,6 +29,9 @@ import static org.junit.jupiter.api.Assertions.*;
 
 
 class InMemoryConsultationRepositoryTest {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
 
     private InMemoryConsultationRepository repository;
 
@@ -30,6 +44,7 @@ class InMemoryConsultationRepositoryTest {
     void shouldSaveAndRetrieveConsultation() {
 
         Consultation consultation = new Consultation(
+                IDS.nextId(),
                 "pear-allergy",
                 List.of(new Answer("Q1", "YES")),
                 EligibilityResult.eligible()
@@ -56,6 +71,7 @@ class InMemoryConsultationRepositoryTest {
     @Test
     void shouldOverwriteConsultation_whenSavingWithSameId() {
         Consultation original = new Consultation(
+                IDS.nextId(),
                 "pear-allergy",
                 List.of(new Answer("Q1", "YES")),
                 EligibilityResult.eligible()
@@ -83,8 +99,8 @@ class InMemoryConsultationRepositoryTest {
     @Test
     void shouldClearAllConsultations() {
 
-        repository.save(new Consultation("pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible()));
-        repository.save(new Consultation("hair-loss", List.of(new Answer("Q1", "NO")), EligibilityResult.eligible()));
+        repository.save(new Consultation(IDS.nextId(), "pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible()));
+        repository.save(new Consultation(IDS.nextId(), "hair-loss", List.of(new Answer("Q1", "NO")), EligibilityResult.eligible()));
         assertEquals(2, repository.count());
 
 
@@ -99,8 +115,8 @@ class InMemoryConsultationRepositoryTest {
 
         assertEquals(0, repository.count());
 
-        repository.save(new Consultation("pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible()));
-        repository.save(new Consultation("hair-loss", List.of(new Answer("Q1", "NO")), EligibilityResult.eligible()));
+        repository.save(new Consultation(IDS.nextId(), "pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible()));
+        repository.save(new Consultation(IDS.nextId(), "hair-loss", List.of(new Answer("Q1", "NO")), EligibilityResult.eligible()));
 
         assertEquals(2, repository.count());
     }
@@ -119,4 +135,114 @@ class InMemoryConsultationRepositoryTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void shouldDropOnlyWhollyExpiredBuckets_ofProductsWithRetention() {
+        MutableClock clock = new MutableClock(START);
+        repository = new InMemoryConsultationRepository(new ConsultationRetention(
+                null, Map.of("hair-loss", Duration.ofHours(1)), Duration.ofMinutes(10)), clock, Duration.ZERO);
+        repository.save(consultation("old", "hair-loss", START));
+        repository.save(consultation("straddling", "hair-loss", START.plus(Duration.ofMinutes(12))));
+        repository.save(consultation("fresh", "hair-loss", START.plus(Duration.ofMinutes(30))));
+        repository.save(consultation("kept", "pear-allergy", START));
+
+        clock.now = START.plus(Duration.ofMinutes(75));
+
+        assertEquals(1, repository.sweepExpired());
+        assertTrue(repository.findById("old").isEmpty());
+        assertTrue(repository.findById("straddling").isPresent());
+        assertTrue(repository.findById("kept").isPresent());
+        assertEquals(List.of("kept", "straddling", "fresh"), repository.findPage(
+                new ConsultationQuery(null, null, null, null, null, 10)).consultations().stream()
+                .map(Consultation::getId).toList());
+        assertEquals(1L, repository.expired());
+        assertEquals(0, repository.sweepExpired());
+    }
+
+    @Test
+    void shouldKeepConsultation_whenResavedUnderProductWithoutRetention() {
+        MutableClock clock = new MutableClock(START);
+        repository = new InMemoryConsultationRepository(new ConsultationRetention(
+                Duration.ofHours(1), Map.of("pear-allergy", Duration.ZERO), Duration.ofMinutes(10)), clock, Duration.ZERO);
+        repository.save(consultation("c-1", "hair-loss", START));
+        repository.save(consultation("c-1", "pear-allergy", START));
+
+        clock.now = START.plus(Duration.ofDays(1));
+
+        assertEquals(0, repository.sweepExpired());
+        assertEquals("pear-allergy", repository.findById("c-1").orElseThrow().getProductId());
+    }
+
+    @Test
+    void shouldKeepEveryLiveConsultation_whenSweepingDuringSaves() throws Exception {
+        MutableClock clock = new MutableClock(START.plus(Duration.ofDays(1)));
+        repository = new InMemoryConsultationRepository(new ConsultationRetention(
+                Duration.ofHours(1), Map.of(), Duration.ofMinutes(1)), clock, Duration.ZERO);
+        for (int i = 0; i < 5_000; i++) {
+            repository.save(consultation("old-" + i, "hair-loss", START.plusSeconds(i)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 1_000; i++) {
+                        String id = "live-" + thread + "-" + i;
+                        repository.save(consultation(id, "hair-loss", clock.now));
+                        assertTrue(repository.findById(id).isPresent());
+                    }
+                }));
+            }
+            int swept = 0;
+            while (swept < 5_000) {
+                swept += repository.sweepExpired();
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(4_000, repository.count());
+        assertEquals(5_000L, repository.expired());
+    }
+
+    @Test
+    void shouldRejectMalformedProductRetention() {
+        assertThrows(IllegalArgumentException.class, () -> ConsultationRetention.parse(0, "hair-loss", Duration.ofHours(1)));
+        assertThrows(IllegalArgumentException.class, () -> ConsultationRetention.parse(0, "hair-loss=soon", Duration.ofHours(1)));
+        assertEquals(Duration.ofHours(720),
+                ConsultationRetention.parse(24, "hair-loss=720, pear-allergy=0", Duration.ofHours(1)).retentionFor("hair-loss"));
+        assertNull(ConsultationRetention.parse(24, "pear-allergy=0", Duration.ofHours(1)).retentionFor("pear-allergy"));
+        assertEquals(Duration.ofHours(24), ConsultationRetention.parse(24, "", Duration.ofHours(1)).retentionFor("other"));
+    }
+
+    private static Consultation consultation(String id, String productId, Instant submittedAt) {
+        return new Consultation(id, productId, List.of(new Answer("Q1", "YES")), submittedAt, EligibilityResult.eligible());
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
 }
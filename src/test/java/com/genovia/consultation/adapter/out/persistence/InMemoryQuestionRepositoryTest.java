@@ -5,7 +5,10 @@ import com.genovia.consultation.domain.model.QuestionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -83,6 +86,54 @@ class InMemoryQuestionRepositoryTest {
         assertEquals("Updated question", result.get(0).text());
     }
 
+    @Test
+    void shouldBumpCatalogVersion_whenProductQuestionsChange() {
+
+        long pearAllergyVersion = repository.getCatalogVersion("pear-allergy");
+        repository.addProductQuestions("hair-loss", List.of(
+                new Question("HL1", "Are you male?", QuestionType.YES_NO, true, "NO", null)
+        ));
+        long firstVersion = repository.getCatalogVersion("hair-loss");
+        repository.addProductQuestions("hair-loss", List.of(
+                new Question("HL1", "Are you aged 18-65?", QuestionType.YES_NO, true, "NO", null)
+        ));
+
+
+        assertEquals(pearAllergyVersion, repository.getCatalogVersion("pear-allergy"));
+        assertTrue(repository.getCatalogVersion("hair-loss") > firstVersion);
+        assertEquals(0L, repository.getCatalogVersion("non-existent-product"));
+    }
+
+
+    @Test
+    void shouldKeepStoredCatalog_whenCallerChangesItsListAfterAdding() {
+        List<Question> questions = new ArrayList<>(List.of(
+                new Question("HL1", "Are you male?", QuestionType.YES_NO, true, "NO", null)
+        ));
+
+        repository.addProductQuestions("hair-loss", questions);
+        questions.clear();
+        List<Question> result = repository.findByProductId("hair-loss");
+
+        assertEquals(1, result.size());
+        assertThrows(UnsupportedOperationException.class, () -> result.add(result.get(0)));
+        assertThrows(UnsupportedOperationException.class,
+                () -> repository.findByProductId("pear-allergy").set(0, result.get(0)));
+    }
+
+    @Test
+    void shouldNotifyCatalogListener_forLoadedAndAddedCatalogs() {
+        Map<String, List<Question>> loaded = new HashMap<>();
+        repository.addCatalogListener(loaded::put);
+        List<Question> hairLossQuestions = List.of(
+                new Question("HL1", "Are you male?", QuestionType.YES_NO, true, "NO", null)
+        );
+
+        repository.addProductQuestions("hair-loss", hairLossQuestions);
+
+        assertSame(repository.findByProductId("pear-allergy"), loaded.get("pear-allergy"));
+        assertSame(repository.findByProductId("hair-loss"), loaded.get("hair-loss"));
+    }
 
     @Test
     void shouldReturnEmpty_whenProductIdIsNull() {
@@ -0,0 +1,147 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.AnswerDictionary;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapConsultationRepositoryTest {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    private OffHeapConsultationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new OffHeapConsultationRepository(4096);
+    }
+
+    @Test
+    void shouldMaterializeEqualConsultation_whenFoundById() {
+        Consultation saved = repository.save(new Consultation(IDS.nextId(), "pear-allergy",
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "Caf\u00e9 allergy")),
+                EligibilityResult.ineligible("Not suitable"), 3L));
+
+        Consultation found = repository.findById(saved.getId()).orElseThrow();
+
+        assertNotSame(saved, found);
+        assertEquals(saved.getId(), found.getId());
+        assertEquals("pear-allergy", found.getProductId());
+        assertEquals(saved.getAnswers(), found.getAnswers());
+        assertEquals(saved.getSubmittedAt(), found.getSubmittedAt());
+        assertEquals(EligibilityResult.ineligible("Not suitable"), found.getEligibilityResult());
+        assertEquals(ConsultationStatus.PENDING_REVIEW, found.getStatus());
+        assertEquals(3L, found.getStrategyVersion());
+    }
+
+    @Test
+    void shouldReplaceRecord_whenSameIdSavedAgain() {
+        Consultation saved = repository.save(new Consultation(IDS.nextId(), "hair-loss",
+                List.of(new Answer("HL1", "YES")), EligibilityResult.eligible()));
+        DoctorReview review = new DoctorReview("dr-who", Instant.parse("2024-01-01T10:00:00.123Z"), false, null);
+        repository.save(saved.withDoctorReview(review));
+
+        Consultation found = repository.findById(saved.getId()).orElseThrow();
+
+        assertEquals(1, repository.count());
+        assertEquals(ConsultationStatus.REJECTED, found.getStatus());
+        assertEquals(review, found.getDoctorReview());
+        assertTrue(repository.deadBytes() > 0);
+    }
+
+    @Test
+    void shouldCodeOnlyCatalogValues_whenAnswersAreFreeTextOrOffCatalog() {
+        AnswerDictionary answers = new AnswerDictionary("pear-allergy", List.of(
+                new Question("Q1", "Allergic to pears?", QuestionType.YES_NO, true, "YES", null),
+                new Question("Q2", "Anything else?", QuestionType.TEXT, false, null, null)));
+        repository.save(new Consultation(IDS.nextId(), "pear-allergy",
+                answers.encode(List.of(new Answer("Q1", "NO"), new Answer("Q2", "none"))), EligibilityResult.eligible()));
+        int catalogCodes = repository.dictionarySize();
+
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Consultation saved = repository.save(new Consultation(IDS.nextId(), "pear-allergy",
+                    answers.encode(List.of(new Answer("Q1", "NO"), new Answer("Q2", "note " + i),
+                            new Answer("X" + i, "YES"))), EligibilityResult.eligible()));
+            repository.save(saved.withDoctorReview(DoctorReview.approved("dr-" + i, "notes " + i)));
+            ids.add(saved.getId());
+        }
+
+        assertEquals(catalogCodes, repository.dictionarySize());
+        Consultation found = repository.findById(ids.get(7)).orElseThrow();
+        assertEquals(List.of(new Answer("Q1", "NO"), new Answer("Q2", "note 7"), new Answer("X7", "YES")),
+                found.getAnswers());
+        assertEquals("dr-7", found.getDoctorReview().reviewedBy());
+    }
+
+    @Test
+    void shouldStoreNonUuidIds() {
+        Consultation saved = repository.save(new Consultation("legacy-42", "pear-allergy",
+                List.of(new Answer("Q1", "NO")), Instant.EPOCH, EligibilityResult.eligible()));
+
+        assertEquals("legacy-42", repository.findById("legacy-42").orElseThrow().getId());
+        assertEquals(saved.getId(), repository.findById(saved.getId()).orElseThrow().getId());
+        assertTrue(repository.findById("LEGACY-42").isEmpty());
+    }
+
+    @Test
+    void shouldReturnEmpty_whenIdUnknownOrNull() {
+        repository.save(new Consultation(IDS.nextId(), "pear-allergy", List.of(), EligibilityResult.eligible()));
+
+        assertTrue(repository.findById(java.util.UUID.randomUUID().toString()).isEmpty());
+        assertTrue(repository.findById(null).isEmpty());
+    }
+
+    @Test
+    void shouldGrowIndexAndSegments_whenManyConsultationsSaved() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(repository.save(new Consultation(IDS.nextId(), "pear-allergy",
+                    List.of(new Answer("Q1", i % 2 == 0 ? "YES" : "NO")), EligibilityResult.eligible())).getId());
+        }
+
+        assertEquals(5_000, repository.count());
+        assertTrue(repository.allocatedBytes() > 4096);
+        for (int i = 0; i < ids.size(); i++) {
+            Consultation found = repository.findById(ids.get(i)).orElseThrow();
+            assertEquals(i % 2 == 0 ? "YES" : "NO", found.getAnswers().get(0).answer());
+        }
+    }
+
+    @Test
+    void shouldFindEverySavedConsultation_whenSavedConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            futures.add(executor.submit(() -> {
+                String id = repository.save(new Consultation(IDS.nextId(), "pear-allergy",
+                        List.of(new Answer("Q1", "YES")), EligibilityResult.eligible())).getId();
+                assertTrue(repository.findById(id).isPresent());
+                return id;
+            }));
+        }
+        for (Future<String> future : futures) {
+            assertTrue(repository.findById(future.get()).isPresent());
+        }
+        executor.shutdown();
+
+        assertEquals(2_000, repository.count());
+    }
+}
@@ -0,0 +1,94 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedConsultationRepositoryTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private ShardedConsultationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ShardedConsultationRepository(4);
+    }
+
+    @Test
+    void shouldRejectShardCount_whenNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new ShardedConsultationRepository(3));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedConsultationRepository(0));
+    }
+
+    @Test
+    void shouldSpreadConsultationsAcrossShards_andCountPerShard() {
+        for (int i = 0; i < 1_000; i++) {
+            repository.save(consultation("c-" + i, START.plusSeconds(i)));
+        }
+        repository.findById("c-1");
+        repository.findById("missing");
+
+        List<ShardedConsultationRepository.ShardStats> stats = repository.shardStats();
+        assertEquals(4, stats.size());
+        assertEquals(1_000, stats.stream().mapToInt(ShardedConsultationRepository.ShardStats::size).sum());
+        assertEquals(1_000L, stats.stream().mapToLong(ShardedConsultationRepository.ShardStats::saves).sum());
+        assertEquals(2L, stats.stream().mapToLong(ShardedConsultationRepository.ShardStats::reads).sum());
+        assertEquals(1L, stats.stream().mapToLong(ShardedConsultationRepository.ShardStats::misses).sum());
+        stats.forEach(shard -> assertTrue(shard.size() > 150, "shard " + shard.shard() + " has " + shard.size()));
+        assertEquals(repository.shardOf("c-1"), repository.shardOf("c-1"));
+    }
+
+    @Test
+    void shouldMergeShardPages_inSubmissionOrder() {
+        for (int i = 0; i < 25; i++) {
+            repository.save(consultation(String.format("c-%02d", i), START.plusSeconds(i)));
+        }
+
+        List<String> ids = new ArrayList<>();
+        ConsultationPage page = repository.findPage(new ConsultationQuery(null, null, null, null, null, 7));
+        ids.addAll(page.consultations().stream().map(Consultation::getId).toList());
+        while (page.hasNext()) {
+            page = repository.findPage(new ConsultationQuery(null, null, null, null, page.next(), 7));
+            ids.addAll(page.consultations().stream().map(Consultation::getId).toList());
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            expected.add(String.format("c-%02d", i));
+        }
+        assertEquals(expected, ids);
+    }
+
+    @Test
+    void shouldMergeShardPages_inConsultationIdOrder_whenSubmittedAtTheSameInstant() {
+        // Three different shards; String order would put the legacy id second
+        List<String> expected = List.of("00000000-0000-7000-8000-000000000002", "ffffffff-0000-7000-8000-000000000001",
+                "1-legacy");
+        expected.forEach(id -> repository.save(consultation(id, START)));
+
+        List<String> ids = new ArrayList<>();
+        ConsultationPage page = repository.findPage(new ConsultationQuery(null, null, null, null, null, 1));
+        ids.addAll(page.consultations().stream().map(Consultation::getId).toList());
+        while (page.hasNext()) {
+            page = repository.findPage(new ConsultationQuery(null, null, null, null, page.next(), 1));
+            ids.addAll(page.consultations().stream().map(Consultation::getId).toList());
+        }
+
+        assertEquals(expected, ids);
+    }
+
+    private static Consultation consultation(String id, Instant submittedAt) {
+        return new Consultation(id, "pear-allergy", List.of(new Answer("Q1", "YES")), submittedAt, EligibilityResult.eligible());
+    }
+}
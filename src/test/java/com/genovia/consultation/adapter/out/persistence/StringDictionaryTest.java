@@ -0,0 +1,32 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    void shouldKeepExistingCodes_andRefuseNewValues_whenFull() {
+        StringDictionary dictionary = new StringDictionary(2);
+
+        assertEquals(0, dictionary.codeOf("YES"));
+        assertEquals(1, dictionary.codeOf("NO"));
+        assertEquals(StringDictionary.NOT_ENCODED, dictionary.codeOf("MAYBE"));
+        assertEquals(StringDictionary.NOT_ENCODED, dictionary.codeOf("LATER"));
+
+        assertEquals(1, dictionary.codeOf("NO"));
+        assertEquals("YES", dictionary.valueOf(0));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void shouldOnlyLookUp_whenAskedForExistingCode() {
+        StringDictionary dictionary = new StringDictionary(16);
+        dictionary.codeOf("YES");
+
+        assertEquals(0, dictionary.existingCodeOf("YES"));
+        assertEquals(StringDictionary.NOT_ENCODED, dictionary.existingCodeOf("free text"));
+        assertEquals(1, dictionary.size());
+    }
+}
@@ -0,0 +1,146 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredConsultationRepositoryTest {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    @TempDir
+    Path directory;
+
+    private TieredConsultationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new TieredConsultationRepository(3, directory, 1024);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void shouldSpillLeastRecentlyUsed_whenHotTierFull() {
+        Consultation first = repository.save(consultation());
+        Consultation second = repository.save(consultation());
+        repository.save(consultation());
+        repository.findById(first.getId());
+        repository.save(consultation());
+
+        TieredConsultationRepository.TierStats stats = repository.stats();
+        assertEquals(3, stats.hotSize());
+        assertEquals(1, stats.coldSize());
+        assertTrue(stats.spilledBytes() > 0);
+        assertEquals(4, repository.count());
+
+        Consultation spilled = repository.findById(second.getId()).orElseThrow();
+        assertEquals(second.getId(), spilled.getId());
+        assertEquals(second.getAnswers(), spilled.getAnswers());
+        assertEquals(1, repository.stats().coldHits());
+    }
+
+    @Test
+    void shouldPromoteColdRecord_andServeNextReadFromHotTier() {
+        Consultation first = repository.save(consultation());
+        for (int i = 0; i < 3; i++) {
+            repository.save(consultation());
+        }
+
+        repository.findById(first.getId());
+        repository.findById(first.getId());
+
+        TieredConsultationRepository.TierStats stats = repository.stats();
+        assertEquals(1, stats.coldHits());
+        assertEquals(1, stats.hotHits());
+        assertEquals(0.5, stats.hotHitRatio());
+    }
+
+    @Test
+    void shouldReturnLatestVersion_whenUpdatedRecordIsSpilledAgain() {
+        Consultation original = repository.save(consultation());
+        for (int i = 0; i < 3; i++) {
+            repository.save(consultation());
+        }
+        repository.save(original.withDoctorReview(DoctorReview.approved("dr-who", "ok")));
+        for (int i = 0; i < 3; i++) {
+            repository.save(consultation());
+        }
+
+        assertEquals(ConsultationStatus.APPROVED, repository.findById(original.getId()).orElseThrow().getStatus());
+        assertEquals(7, repository.count());
+    }
+
+    @Test
+    void shouldMoveColdRecordToNewStatusInPages_whenSavedAgain() {
+        Consultation original = repository.save(consultation());
+        for (int i = 0; i < 3; i++) {
+            repository.save(consultation());
+        }
+        assertEquals(1, repository.stats().coldSize());
+
+        repository.save(original.withDoctorReview(DoctorReview.approved("dr-who", "ok")));
+
+        assertEquals(List.of(original.getId()), ids(new ConsultationQuery(null, ConsultationStatus.APPROVED, null,
+                null, null, 10)));
+        assertFalse(ids(new ConsultationQuery(null, ConsultationStatus.PENDING_REVIEW, null, null, null, 10))
+                .contains(original.getId()));
+    }
+
+    @Test
+    void shouldCountMiss_whenIdUnknown() {
+        assertTrue(repository.findById("missing").isEmpty());
+        assertTrue(repository.findById(null).isEmpty());
+
+        assertEquals(1, repository.stats().misses());
+    }
+
+    @Test
+    void shouldFindEveryConsultation_whenSavedAndReadConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            futures.add(executor.submit(() -> {
+                String id = repository.save(consultation()).getId();
+                assertTrue(repository.findById(id).isPresent());
+                return id;
+            }));
+        }
+        for (Future<String> future : futures) {
+            assertTrue(repository.findById(future.get()).isPresent());
+        }
+        executor.shutdown();
+
+        assertEquals(1_000, repository.count());
+    }
+
+    private List<String> ids(ConsultationQuery query) {
+        return repository.findPage(query).consultations().stream().map(Consultation::getId).toList();
+    }
+
+    private static Consultation consultation() {
+        return new Consultation(IDS.nextId(), "pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible());
+    }
+}
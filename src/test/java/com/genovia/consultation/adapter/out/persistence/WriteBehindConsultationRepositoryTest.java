@@ -0,0 +1,265 @@
+package com.genovia.consultation.adapter.out.persistence;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationStoreBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindConsultationRepositoryTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final GatedRepository delegate = new GatedRepository();
+    private WriteBehindConsultationRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        delegate.release();
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldReadOwnWrites_beforeDelegateStoresThem() {
+        repository = open(10);
+        Consultation consultation = repository.save(consultation("c-1", START));
+
+        assertEquals(consultation, repository.findById("c-1").orElseThrow());
+        assertTrue(delegate.findById("c-1").isEmpty());
+        assertEquals(1, repository.pending());
+    }
+
+    @Test
+    void shouldShowLatestBufferedVersion_whenStoredVersionIsOlder() throws InterruptedException {
+        delegate.release();
+        repository = open(10);
+        Consultation original = repository.save(consultation("c-1", START));
+        awaitFlushed(1);
+        delegate.hold();
+
+        repository.save(original.withDoctorReview(DoctorReview.approved("dr-who", "fine")));
+
+        assertEquals(ConsultationStatus.APPROVED, repository.findById("c-1").orElseThrow().getStatus());
+        assertEquals(ConsultationStatus.PENDING_REVIEW, delegate.findById("c-1").orElseThrow().getStatus());
+        assertTrue(repository.findPage(new ConsultationQuery(
+                null, ConsultationStatus.PENDING_REVIEW, null, null, null, 10)).consultations().isEmpty());
+    }
+
+    @Test
+    void shouldMergeBufferedAndStoredConsultations_inPages() throws InterruptedException {
+        delegate.release();
+        repository = open(100);
+        for (int i = 0; i < 10; i += 2) {
+            repository.save(consultation(String.format("c-%02d", i), START.plusSeconds(i)));
+        }
+        awaitFlushed(5);
+        delegate.hold();
+        for (int i = 1; i < 10; i += 2) {
+            repository.save(consultation(String.format("c-%02d", i), START.plusSeconds(i)));
+        }
+
+        ConsultationPage first = repository.findPage(new ConsultationQuery(null, null, null, null, null, 4));
+        ConsultationPage second = repository.findPage(new ConsultationQuery(null, null, null, null, first.next(), 4));
+
+        assertEquals(List.of("c-00", "c-01", "c-02", "c-03"), idsOf(first));
+        assertEquals(List.of("c-04", "c-05", "c-06", "c-07"), idsOf(second));
+    }
+
+    @Test
+    void shouldMergeBufferedAndStoredConsultations_inConsultationIdOrder() throws InterruptedException {
+        delegate.release();
+        repository = open(100);
+        repository.save(consultation("00000000-0000-7000-8000-000000000001", START));
+        awaitFlushed(1);
+        delegate.hold();
+        repository.save(consultation("0-legacy", START));
+        repository.save(consultation("ffffffff-0000-7000-8000-000000000001", START));
+
+        ConsultationPage first = repository.findPage(new ConsultationQuery(null, null, null, null, null, 2));
+        ConsultationPage second = repository.findPage(new ConsultationQuery(null, null, null, null, first.next(), 2));
+
+        assertEquals(List.of("00000000-0000-7000-8000-000000000001", "ffffffff-0000-7000-8000-000000000001"),
+                idsOf(first));
+        assertEquals(List.of("0-legacy"), idsOf(second));
+    }
+
+    @Test
+    void shouldRejectSave_whenBufferStaysFull() {
+        repository = open(2);
+        repository.save(consultation("c-1", START));
+        repository.save(consultation("c-2", START));
+
+        assertThrows(ConsultationStoreBusyException.class, () -> repository.save(consultation("c-3", START)));
+        assertThrows(ConsultationStoreBusyException.class, () -> repository.saveAll(List.of(
+                consultation("c-4", START), consultation("c-5", START))));
+        assertTrue(repository.findById("c-3").isEmpty());
+        assertEquals(3, repository.rejected());
+    }
+
+    @Test
+    void shouldAcceptSavesAgain_onceFlusherCatchesUp() throws InterruptedException {
+        repository = open(2);
+        repository.save(consultation("c-1", START));
+        repository.save(consultation("c-2", START));
+
+        delegate.release();
+        awaitFlushed(2);
+
+        repository.save(consultation("c-3", START));
+        assertEquals(0, repository.rejected());
+    }
+
+    @Test
+    void shouldDrainEveryBufferedSave_whenClosed() {
+        repository = open(1_000);
+        for (int i = 0; i < 500; i++) {
+            repository.save(consultation("c-" + i, START.plusMillis(i)));
+        }
+        delegate.release();
+
+        repository.close();
+
+        assertEquals(500, delegate.count());
+        assertEquals(0, repository.pending());
+        assertThrows(IllegalStateException.class, () -> repository.save(consultation("c-late", START)));
+    }
+
+    @Test
+    void shouldRetryFailedFlush_withoutLosingConsultations() throws InterruptedException {
+        delegate.failures.set(3);
+        delegate.release();
+        repository = open(10);
+
+        repository.save(consultation("c-1", START));
+        awaitFlushed(1);
+
+        assertTrue(delegate.findById("c-1").isPresent());
+    }
+
+    @Test
+    void shouldStoreTheRest_andDropConsultation_thatDelegateAlwaysRefuses() throws InterruptedException {
+        RefusingRepository refusing = new RefusingRepository("c-bad");
+        repository = new WriteBehindConsultationRepository(refusing, 10, 64,
+                Duration.ofMillis(20), Duration.ofSeconds(10), 3);
+
+        repository.save(consultation("c-bad", START));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        for (int i = 0; repository.dropped() == 0; i++) {
+            assertTrue(System.nanoTime() < deadline, "refused consultation was never dropped");
+            repository.save(consultation("c-" + i, START.plusSeconds(i)));
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, repository.dropped());
+        assertEquals(0, repository.rejected());
+        assertTrue(repository.findById("c-bad").isEmpty());
+        assertTrue(refusing.findById("c-0").isPresent());
+        repository.save(consultation("c-after", START));
+        while (refusing.findById("c-after").isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "later save was not stored");
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void shouldNotDrop_whileDelegateRefusesEverything() throws InterruptedException {
+        delegate.failures.set(6);
+        delegate.release();
+        // The outage may end between two halves of a split, which counts once against the other half
+        repository = new WriteBehindConsultationRepository(delegate, 10, 64,
+                Duration.ofMillis(20), Duration.ofSeconds(10), 2);
+
+        repository.save(consultation("c-1", START));
+        repository.save(consultation("c-2", START));
+        awaitFlushed(2);
+
+        assertEquals(0, repository.dropped());
+        assertTrue(delegate.findById("c-1").isPresent());
+        assertTrue(delegate.findById("c-2").isPresent());
+    }
+
+    private WriteBehindConsultationRepository open(int capacity) {
+        return new WriteBehindConsultationRepository(delegate, capacity, 64,
+                Duration.ofMillis(20), Duration.ofSeconds(10));
+    }
+
+    private void awaitFlushed(long count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (repository.flushed() < count) {
+            assertTrue(System.nanoTime() < deadline, "flusher did not catch up");
+            Thread.sleep(5);
+        }
+    }
+
+    private static List<String> idsOf(ConsultationPage page) {
+        return page.consultations().stream().map(Consultation::getId).toList();
+    }
+
+    private static Consultation consultation(String id, Instant submittedAt) {
+        return new Consultation(id, "pear-allergy", List.of(new Answer("Q1", "YES")), submittedAt,
+                EligibilityResult.eligible());
+    }
+
+    /** Refuses every batch containing one particular consultation, like a row hitting a constraint. */
+    private static class RefusingRepository extends InMemoryConsultationRepository {
+        private final String refusedId;
+
+        RefusingRepository(String refusedId) {
+            this.refusedId = refusedId;
+        }
+
+        @Override
+        public List<Consultation> saveAll(List<Consultation> consultations) {
+            for (Consultation consultation : consultations) {
+                if (consultation.getId().equals(refusedId)) {
+                    throw new IllegalStateException("Value too long for column answers");
+                }
+            }
+            return super.saveAll(consultations);
+        }
+    }
+
+    /** Holds flushes until opened, and can fail the next few of them. */
+    private static class GatedRepository extends InMemoryConsultationRepository {
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile CountDownLatch gate = new CountDownLatch(1);
+
+        void release() {
+            gate.countDown();
+        }
+
+        void hold() {
+            gate = new CountDownLatch(1);
+        }
+
+        @Override
+        public List<Consultation> saveAll(List<Consultation> consultations) {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failures.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            return super.saveAll(consultations);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.genovia.consultation.adapter.out.persistence.jdbc;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JdbcConsultationRepositoryTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private JdbcConsultationRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void shouldRestoreAllFields_whenReopened() {
+        Consultation reviewed = consultation("c-1", START, EligibilityResult.eligible())
+                .withDoctorReview(DoctorReview.approved("dr-who", "fine"));
+        Consultation ineligible = consultation("c-2", START.plusNanos(5), EligibilityResult.ineligible("No pears"));
+        repository.save(reviewed);
+        repository.save(ineligible);
+        repository.close();
+
+        repository = open();
+
+        Consultation restored = repository.findById("c-1").orElseThrow();
+        assertEquals(ConsultationStatus.APPROVED, restored.getStatus());
+        assertEquals(reviewed.getDoctorReview(), restored.getDoctorReview());
+        assertEquals(reviewed.getAnswers(), restored.getAnswers());
+        assertEquals(START, restored.getSubmittedAt());
+        assertEquals(7L, restored.getStrategyVersion());
+        Consultation restoredIneligible = repository.findById("c-2").orElseThrow();
+        assertEquals("No pears", restoredIneligible.getEligibilityResult().getReason());
+        assertNull(restoredIneligible.getDoctorReview());
+        assertTrue(repository.findById("missing").isEmpty());
+    }
+
+    @Test
+    void shouldOverwrite_whenSameIdSavedAgain() {
+        Consultation original = repository.save(consultation("c-1", START, EligibilityResult.eligible()));
+        repository.save(original.withDoctorReview(DoctorReview.rejected("dr-no", "nope")));
+
+        assertEquals(1, repository.count());
+        assertEquals(ConsultationStatus.REJECTED, repository.findById("c-1").orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldCommitSaveAllInOneTransaction_acrossSeveralStatements() {
+        List<Consultation> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(consultation("c-" + i, START.plusSeconds(i), EligibilityResult.eligible()));
+        }
+        batch.add(batch.get(0).withDoctorReview(DoctorReview.approved("dr-who", "fine")));
+
+        repository.saveAll(batch);
+
+        assertEquals(1, repository.transactions());
+        assertEquals(100, repository.count());
+        assertEquals(ConsultationStatus.APPROVED, repository.findById("c-0").orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldStoreEveryConcurrentSave() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        repository.save(consultation("c-" + thread + "-" + i, START, EligibilityResult.eligible()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(400, repository.count());
+    }
+
+    @Test
+    void shouldStoreOrRejectEverySave_whenClosedWhileWritersSave() throws Exception {
+        AtomicLong acknowledged = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; ; i++) {
+                        try {
+                            repository.save(consultation("c-" + thread + "-" + i, START, EligibilityResult.eligible()));
+                            acknowledged.incrementAndGet();
+                        } catch (IllegalStateException closed) {
+                            return;
+                        }
+                    }
+                }));
+            }
+            while (acknowledged.get() < 100) {
+                Thread.sleep(1);
+            }
+            repository.close();
+            for (Future<?> writer : writers) {
+                // A save stranded in the queue after the writer stopped fails here
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        repository = open();
+        assertEquals(acknowledged.get(), repository.count());
+    }
+
+    @Test
+    void shouldPageInSubmissionOrder_withFiltersAndCursor() {
+        for (int i = 0; i < 25; i++) {
+            Consultation consultation = consultation(String.format("c-%02d", i), START.plusSeconds(i),
+                    EligibilityResult.eligible());
+            repository.save(i % 2 == 0 ? consultation : consultation.withDoctorReview(DoctorReview.approved("dr", "ok")));
+        }
+
+        ConsultationPage first = repository.findPage(new ConsultationQuery(
+                "pear-allergy", ConsultationStatus.PENDING_REVIEW, START.plusSeconds(2), null, null, 5));
+        ConsultationPage second = repository.findPage(new ConsultationQuery(
+                "pear-allergy", ConsultationStatus.PENDING_REVIEW, START.plusSeconds(2), null, first.next(), 5));
+
+        assertEquals(List.of("c-02", "c-04", "c-06", "c-08", "c-10"), idsOf(first));
+        assertEquals(List.of("c-12", "c-14", "c-16", "c-18", "c-20"), idsOf(second));
+        ConsultationPage last = repository.findPage(new ConsultationQuery(
+                null, null, null, START.plusSeconds(3), null, 5));
+        assertEquals(List.of("c-00", "c-01", "c-02"), idsOf(last));
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void shouldReadButRefuseWrites_whenOpenedReadOnly() {
+        repository.save(consultation("c-1", START, EligibilityResult.eligible()));
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:file:" + directory.resolve("consultations").toAbsolutePath());
+        dataSource.setMaximumPoolSize(1);
+
+        try (JdbcConsultationRepository readOnly = JdbcConsultationRepository.readOnly(dataSource)) {
+            assertEquals(Optional.of("c-1"), readOnly.findById("c-1").map(Consultation::getId));
+            assertThrows(IllegalStateException.class,
+                    () -> readOnly.save(consultation("c-2", START, EligibilityResult.eligible())));
+            assertThrows(IllegalStateException.class,
+                    () -> readOnly.update("c-1", 7L, current -> current));
+        }
+        assertTrue(repository.findById("c-2").isEmpty());
+    }
+
+    @Test
+    void shouldRoundTripAnswers_throughCompactColumn() {
+        List<Answer> answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "caf\u00e9 ".repeat(50)));
+
+        assertEquals(answers, AnswerColumnCodec.decode(AnswerColumnCodec.encode(answers)));
+        assertEquals(8, AnswerColumnCodec.encode(List.of(new Answer("Q1", "YES"))).length);
+    }
+
+    private JdbcConsultationRepository open() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:file:" + directory.resolve("consultations").toAbsolutePath());
+        dataSource.setMaximumPoolSize(2);
+        return new JdbcConsultationRepository(dataSource, 512);
+    }
+
+    private static List<String> idsOf(ConsultationPage page) {
+        return page.consultations().stream().map(Consultation::getId).toList();
+    }
+
+    private static Consultation consultation(String id, Instant submittedAt, EligibilityResult result) {
+        return new Consultation(id, "pear-allergy", List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")),
+                submittedAt, result, ConsultationStatus.PENDING_REVIEW, null, 7L);
+    }
+}
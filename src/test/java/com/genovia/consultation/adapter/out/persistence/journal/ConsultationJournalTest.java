@@ -0,0 +1,92 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultationJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void shouldWriteOrRejectEveryAppend_whenClosedWhileWritersAppend() throws Exception {
+        ConsultationJournal journal = ConsultationJournal.open(settings(FsyncPolicy.ALWAYS, 1 << 20), (sequence, record) -> { });
+        AtomicLong acknowledged = new AtomicLong();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int t = 0; t < 16; t++) {
+                writers.add(executor.submit(() -> {
+                    while (true) {
+                        try {
+                            journal.append("record".getBytes(StandardCharsets.UTF_8));
+                            acknowledged.incrementAndGet();
+                        } catch (IllegalStateException closed) {
+                            return;
+                        }
+                    }
+                }));
+            }
+            while (acknowledged.get() < 200) {
+                Thread.sleep(1);
+            }
+            journal.close();
+            for (Future<?> writer : writers) {
+                // Any other failure (e.g. ClosedByInterruptException) or a stranded append fails here
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> replayed = new ArrayList<>();
+        ConsultationJournal.open(settings(FsyncPolicy.ALWAYS, 1 << 20), (sequence, record) -> replayed.add(sequence))
+                .close();
+        assertEquals(acknowledged.get(), replayed.size());
+        assertEquals(acknowledged.get(), (long) replayed.get(replayed.size() - 1));
+    }
+
+    @Test
+    void shouldReuseSequenceAndKeepAppending_whenSegmentRollFails() throws IOException {
+        JournalSettings settings = settings(FsyncPolicy.ALWAYS, 1);
+        ConsultationJournal journal = ConsultationJournal.open(settings, (sequence, record) -> { });
+        assertEquals(1L, journal.append(bytes("first")));
+
+        // Something already sits where the next segment goes, so opening it fails
+        Path blocker = Files.createDirectory(ConsultationJournal.segmentPath(directory, 2L));
+        assertThrows(UncheckedIOException.class, () -> journal.append(bytes("lost")));
+        Files.delete(blocker);
+
+        assertEquals(2L, journal.append(bytes("second")));
+        journal.close();
+
+        List<String> replayed = new ArrayList<>();
+        ConsultationJournal.open(settings, (sequence, record) ->
+                replayed.add(sequence + ":" + new String(record, StandardCharsets.UTF_8))).close();
+        assertEquals(List.of("1:first", "2:second"), replayed);
+    }
+
+    private JournalSettings settings(FsyncPolicy policy, long segmentBytes) {
+        return new JournalSettings(directory, policy, Duration.ofMillis(5), segmentBytes);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
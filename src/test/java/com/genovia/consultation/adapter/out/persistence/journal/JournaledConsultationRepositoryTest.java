@@ -0,0 +1,287 @@
+package com.genovia.consultation.adapter.out.persistence.journal;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
+import com.genovia.consultation.domain.port.out.ConsultationVersionConflictException;
+import com.genovia.consultation.domain.service.TimeOrderedConsultationIdGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledConsultationRepositoryTest {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+
+    @TempDir
+    Path directory;
+
+    private JournaledConsultationRepository repository;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (repository != null) {
+            repository.close();
+        }
+    }
+
+    @Test
+    void shouldRestoreConsultations_whenReopened() throws IOException {
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        Consultation eligible = repository.save(consultation(EligibilityResult.eligible()));
+        Consultation reviewed = repository.save(consultation(EligibilityResult.eligible())
+                .withDoctorReview(DoctorReview.approved("dr-who", "fine")));
+        Consultation ineligible = repository.save(consultation(EligibilityResult.ineligible("No pears")));
+        repository.close();
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+
+        assertEquals(3, repository.count());
+        Consultation restored = repository.findById(reviewed.getId()).orElseThrow();
+        assertEquals(ConsultationStatus.APPROVED, restored.getStatus());
+        assertEquals("dr-who", restored.getDoctorReview().reviewedBy());
+        assertEquals(reviewed.getSubmittedAt(), restored.getSubmittedAt());
+        assertEquals(reviewed.getAnswers(), restored.getAnswers());
+        assertEquals(7L, restored.getStrategyVersion());
+        assertTrue(repository.findById(eligible.getId()).orElseThrow().getEligibilityResult().isEligible());
+        assertEquals("No pears", repository.findById(ineligible.getId()).orElseThrow().getEligibilityResult().getReason());
+        assertEquals(List.of(reviewed.getId()), repository.findPage(new ConsultationQuery(
+                null, ConsultationStatus.APPROVED, null, null, null, 10)).consultations().stream()
+                .map(Consultation::getId).toList());
+    }
+
+    @Test
+    void shouldKeepLatestVersion_whenSameIdSavedTwice() throws IOException {
+        repository = open(FsyncPolicy.OS, 1 << 20);
+        Consultation original = repository.save(consultation(EligibilityResult.eligible()));
+        repository.save(original.withDoctorReview(DoctorReview.rejected("dr-no", "nope")));
+        repository.close();
+
+        repository = open(FsyncPolicy.OS, 1 << 20);
+
+        assertEquals(1, repository.count());
+        assertEquals(ConsultationStatus.REJECTED, repository.findById(original.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldRestoreUpdateVersion_andKeepCheckingIt_whenReopened() throws IOException {
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        Consultation original = repository.save(consultation(EligibilityResult.eligible()));
+        repository.update(original.getId(), 0L, c -> c.withDoctorReview(DoctorReview.approved("dr-who", "fine")));
+        repository.close();
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+
+        assertEquals(1L, repository.findById(original.getId()).orElseThrow().getVersion());
+        assertThrows(ConsultationVersionConflictException.class, () -> repository.update(original.getId(), 0L,
+                c -> c.withDoctorReview(DoctorReview.rejected("dr-no", "nope"))));
+        assertEquals(ConsultationStatus.APPROVED, repository.findById(original.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void shouldRejectStaleUpdate_onJournalThread_andSkipItWhenReopened() throws Exception {
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        Consultation original = repository.save(consultation(EligibilityResult.eligible()));
+        CountDownLatch transforming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> stale = executor.submit(() -> repository.update(original.getId(), 0L, c -> {
+                transforming.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return c.withDoctorReview(DoctorReview.rejected("dr-no", "nope"));
+            }));
+            assertTrue(transforming.await(5, TimeUnit.SECONDS));
+
+            // Not held back by the update still in its transform
+            repository.update(original.getId(), 0L, c -> c.withDoctorReview(DoctorReview.approved("dr-who", "fine")));
+            release.countDown();
+
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> stale.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ConsultationVersionConflictException.class, failure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3L, repository.lastSequence());
+        repository.close();
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+
+        Consultation restored = repository.findById(original.getId()).orElseThrow();
+        assertEquals(ConsultationStatus.APPROVED, restored.getStatus());
+        assertEquals(1L, restored.getVersion());
+    }
+
+    @Test
+    void shouldRestoreBothIdForms_whenCompactAndLegacyIdsSaved() throws IOException {
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        Consultation compact = repository.save(consultation(EligibilityResult.eligible()));
+        repository.save(new Consultation("legacy-1", "pear-allergy", List.of(new Answer("Q1", "YES")),
+                compact.getSubmittedAt(), EligibilityResult.eligible()));
+        repository.close();
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+
+        assertTrue(repository.findById(compact.getId()).orElseThrow().getConsultationId().isCompact());
+        assertEquals("legacy-1", repository.findById("legacy-1").orElseThrow().getId());
+    }
+
+    @Test
+    void shouldRollSegments_andReplayAcrossThem() throws IOException {
+        repository = open(FsyncPolicy.INTERVAL, 512);
+        List<Consultation> saved = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            saved.add(repository.save(consultation(EligibilityResult.eligible())));
+        }
+        repository.saveAll(List.of(consultation(EligibilityResult.eligible()), consultation(EligibilityResult.eligible())));
+        repository.close();
+
+        assertTrue(ConsultationJournal.segments(directory).size() > 1);
+        repository = open(FsyncPolicy.INTERVAL, 512);
+
+        assertEquals(52, repository.count());
+        assertEquals(52L, repository.lastSequence());
+        saved.forEach(c -> assertTrue(repository.findById(c.getId()).isPresent()));
+    }
+
+    @Test
+    void shouldTruncateTornTail_andKeepAppending() throws IOException {
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        Consultation first = repository.save(consultation(EligibilityResult.eligible()));
+        Consultation second = repository.save(consultation(EligibilityResult.eligible()));
+        repository.close();
+
+        Path segment = ConsultationJournal.segments(directory).get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        assertTrue(repository.findById(first.getId()).isPresent());
+        assertFalse(repository.findById(second.getId()).isPresent());
+
+        Consultation third = repository.save(consultation(EligibilityResult.eligible()));
+        assertEquals(2L, repository.lastSequence());
+        repository.close();
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        assertEquals(2, repository.count());
+        assertTrue(repository.findById(third.getId()).isPresent());
+    }
+
+    @Test
+    void shouldAcknowledgeEveryConcurrentSave() throws Exception {
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Consultation>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            futures.add(executor.submit(() -> repository.save(consultation(EligibilityResult.eligible()))));
+        }
+        for (Future<Consultation> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        repository.close();
+
+        repository = open(FsyncPolicy.ALWAYS, 1 << 20);
+        assertEquals(400, repository.count());
+        assertEquals(400L, repository.lastSequence());
+    }
+
+    @Test
+    void shouldRecoverFromSnapshotAndJournalTail_whenSegmentsReleased() throws IOException {
+        repository = open(FsyncPolicy.OS, 512);
+        List<Consultation> beforeSnapshot = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            beforeSnapshot.add(repository.save(consultation(EligibilityResult.eligible())));
+        }
+        Path snapshot = repository.snapshot().orElseThrow();
+        Consultation updated = repository.save(beforeSnapshot.get(0)
+                .withDoctorReview(DoctorReview.approved("dr-who", "ok")));
+        Consultation afterSnapshot = repository.save(consultation(EligibilityResult.eligible()));
+        repository.close();
+
+        assertEquals(40L, ConsultationSnapshots.sequenceOf(snapshot));
+        assertTrue(ConsultationJournal.firstSequence(ConsultationJournal.segments(directory).get(0)) > 1L);
+
+        repository = open(FsyncPolicy.OS, 512);
+
+        assertEquals(41, repository.count());
+        assertEquals(42L, repository.lastSequence());
+        assertEquals(ConsultationStatus.APPROVED, repository.findById(updated.getId()).orElseThrow().getStatus());
+        assertTrue(repository.findById(afterSnapshot.getId()).isPresent());
+        beforeSnapshot.forEach(c -> assertTrue(repository.findById(c.getId()).isPresent()));
+    }
+
+    @Test
+    void shouldSkipSnapshot_whenNothingSavedSinceLastOne() throws IOException {
+        repository = open(FsyncPolicy.OS, 1 << 20);
+        assertTrue(repository.snapshot().isEmpty());
+
+        repository.save(consultation(EligibilityResult.eligible()));
+        assertTrue(repository.snapshot().isPresent());
+        assertTrue(repository.snapshot().isEmpty());
+        assertEquals(1, ConsultationSnapshots.snapshots(directory).size());
+    }
+
+    @Test
+    void shouldWritePointInTimeSnapshot_whileSavesContinue() throws Exception {
+        repository = open(FsyncPolicy.OS, 1 << 16);
+        for (int i = 0; i < 2_000; i++) {
+            repository.save(consultation(EligibilityResult.eligible()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Consultation>> futures = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            futures.add(executor.submit(() -> repository.save(consultation(EligibilityResult.eligible()))));
+        }
+        Path snapshot = repository.snapshot().orElseThrow();
+        for (Future<Consultation> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Every save adds a new id, so a consistent snapshot holds exactly one consultation per sequence
+        long[] loaded = new long[1];
+        long sequence = ConsultationSnapshots.load(snapshot, consultation -> loaded[0]++);
+        assertEquals(sequence, loaded[0]);
+        repository.close();
+
+        repository = open(FsyncPolicy.OS, 1 << 16);
+        assertEquals(4_000, repository.count());
+    }
+
+    private JournaledConsultationRepository open(FsyncPolicy policy, long segmentBytes) {
+        return new JournaledConsultationRepository(
+                new JournalSettings(directory, policy, Duration.ofMillis(5), segmentBytes));
+    }
+
+    private static Consultation consultation(EligibilityResult result) {
+        return new Consultation(IDS.nextId(), "pear-allergy",
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")), result, 7L);
+    }
+}
@@ -0,0 +1,95 @@
+package com.genovia.consultation.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerDictionaryTest {
+
+    private static final List<Question> CATALOG = List.of(
+            new Question("D1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+            new Question("D2", "Skin type?", QuestionType.MULTIPLE_CHOICE, true, null, List.of("DRY", "OILY")),
+            new Question("D3", "Anything else?", QuestionType.TEXT, false, null, null)
+    );
+
+    @Test
+    void shouldShareAnswerInstances_whenAnswersAreClosedSet() {
+        AnswerDictionary dictionary = new AnswerDictionary("dictionary-closed", CATALOG);
+
+        List<Answer> first = dictionary.encode(List.of(new Answer(new String("D1"), new String("YES")),
+                new Answer("D2", "OILY")));
+        List<Answer> second = dictionary.encode(List.of(new Answer("D1", "YES"), new Answer("D2", "OILY")));
+
+        assertEquals(List.of(new Answer("D1", "YES"), new Answer("D2", "OILY")), first);
+        assertSame(first.get(0), second.get(0));
+        assertSame(first.get(1), second.get(1));
+        assertEquals(4, dictionary.size());
+    }
+
+    @Test
+    void shouldKeepFreeTextAsIs_whenQuestionIsText() {
+        AnswerDictionary dictionary = new AnswerDictionary("dictionary-free-text", CATALOG);
+
+        List<Answer> answers = dictionary.encode(List.of(new Answer("D1", "NO"), new Answer("D3", "Hay fever"),
+                new Answer("D1", "maybe")));
+
+        assertEquals(List.of(new Answer("D1", "NO"), new Answer("D3", "Hay fever"), new Answer("D1", "maybe")), answers);
+        assertSame(answers.get(0).questionId(), answers.get(2).questionId());
+        assertEquals(4, dictionary.size());
+    }
+
+    @Test
+    void shouldKeepOffCatalogInputInline_withoutGrowingDictionary() {
+        AnswerDictionary dictionary = new AnswerDictionary("dictionary-off-catalog", CATALOG);
+
+        for (int i = 0; i < 100; i++) {
+            List<Answer> answers = dictionary.encode(List.of(new Answer("X" + i, "YES"), new Answer("D2", "V" + i)));
+            assertEquals(List.of(new Answer("X" + i, "YES"), new Answer("D2", "V" + i)), answers);
+        }
+
+        assertEquals(4, dictionary.size());
+    }
+
+    @Test
+    void shouldReportClosedSetAnswersAndCatalogQuestions_onlyForEncodedLists() {
+        AnswerDictionary dictionary = new AnswerDictionary("dictionary-marks", CATALOG);
+        List<Answer> plain = List.of(new Answer("D1", "YES"), new Answer("D3", "Hay fever"), new Answer("X", "YES"));
+        List<Answer> encoded = dictionary.encode(plain);
+
+        assertTrue(AnswerDictionary.isClosedSet(encoded, 0));
+        assertFalse(AnswerDictionary.isClosedSet(encoded, 1));
+        assertFalse(AnswerDictionary.isClosedSet(encoded, 2));
+        assertTrue(AnswerDictionary.isCatalogQuestion(encoded, 1));
+        assertFalse(AnswerDictionary.isCatalogQuestion(encoded, 2));
+        assertFalse(AnswerDictionary.isClosedSet(plain, 0));
+        assertFalse(AnswerDictionary.isCatalogQuestion(plain, 0));
+    }
+
+    @Test
+    void shouldPassEncodedListsThrough_andReportWhichCatalogItWasBuiltFrom() {
+        AnswerDictionary dictionary = new AnswerDictionary("dictionary-identity", CATALOG);
+        List<Answer> encoded = dictionary.encode(List.of(new Answer("D1", "YES")));
+
+        assertSame(encoded, dictionary.encode(encoded));
+        assertTrue(dictionary.isBuiltFrom(CATALOG));
+        assertFalse(dictionary.isBuiltFrom(List.copyOf(new java.util.ArrayList<>(CATALOG))));
+    }
+
+    @Test
+    void shouldStoreEncodedAnswers_andNotCopyOnRead() {
+        AnswerDictionary dictionary = new AnswerDictionary("dictionary-consultation", CATALOG);
+        List<Answer> encoded = dictionary.encode(List.of(new Answer("D1", "YES")));
+        Consultation consultation = new Consultation("c-1", "dictionary-consultation", encoded,
+                Instant.parse("2024-01-01T00:00:00Z"), EligibilityResult.eligible());
+
+        List<Answer> answers = consultation.getAnswers();
+
+        assertSame(encoded, answers);
+        assertSame(answers, consultation.getAnswers());
+        assertSame(answers, consultation.withDoctorReview(DoctorReview.approved("dr", "ok")).getAnswers());
+        assertThrows(UnsupportedOperationException.class, () -> answers.add(new Answer("Q2", "NO")));
+    }
+}
@@ -0,0 +1,60 @@
+package com.genovia.consultation.domain.model;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultationFootprintTest {
+
+    private static final int CONSULTATIONS = 1_000;
+    private static final Instant SUBMITTED_AT = Instant.parse("2024-01-01T00:00:00Z");
+    private static final List<Question> CATALOG = List.of(
+            new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+            new Question("Q2", "Any anaphylaxis?", QuestionType.YES_NO, true, "YES", null),
+            new Question("Q3", "Pregnant?", QuestionType.YES_NO, true, "YES", null),
+            new Question("Q4", "Other medication?", QuestionType.YES_NO, true, null, null),
+            new Question("Q5", "Severity?", QuestionType.MULTIPLE_CHOICE, true, null, List.of("MILD", "SEVERE")),
+            new Question("Q6", "Anything else?", QuestionType.TEXT, false, null, null)
+    );
+
+    @Test
+    void shouldUseSeveralTimesLessHeapForAnswers_whenDictionaryEncoded() {
+        AnswerDictionary dictionary = new AnswerDictionary("footprint", CATALOG);
+        List<List<Answer>> deserialized = new ArrayList<>(CONSULTATIONS);
+        List<List<Answer>> stored = new ArrayList<>(CONSULTATIONS);
+        for (int i = 0; i < CONSULTATIONS; i++) {
+            List<Answer> answers = deserializedAnswers(i);
+            deserialized.add(answers);
+            stored.add(new Consultation("c-" + i, "footprint", dictionary.encode(answers), SUBMITTED_AT,
+                    EligibilityResult.eligible())
+                    .getAnswers());
+        }
+
+        // The shared dictionary is counted once, amortized over all consultations
+        long deserializedBytes = GraphLayout.parseInstance(deserialized.toArray()).totalSize();
+        long storedBytes = GraphLayout.parseInstance(stored.toArray()).totalSize();
+
+        assertEquals(deserialized, stored);
+        assertTrue(deserializedBytes >= 4 * storedBytes,
+                "deserialized=" + deserializedBytes / CONSULTATIONS + "B, stored=" + storedBytes / CONSULTATIONS + "B per consultation");
+    }
+
+    // Fresh strings per request, as Jackson produces them; one in ten adds a free-text answer
+    private static List<Answer> deserializedAnswers(int i) {
+        List<Answer> answers = new ArrayList<>();
+        answers.add(new Answer(new String("Q1"), new String("YES")));
+        answers.add(new Answer(new String("Q2"), new String("NO")));
+        answers.add(new Answer(new String("Q3"), new String("NO")));
+        answers.add(new Answer(new String("Q4"), new String(i % 2 == 0 ? "YES" : "NO")));
+        answers.add(new Answer(new String("Q5"), new String(i % 3 == 0 ? "SEVERE" : "MILD")));
+        if (i % 10 == 0) {
+            answers.add(new Answer(new String("Q6"), "Seasonal hay fever, mostly in spring " + i));
+        }
+        return List.copyOf(answers);
+    }
+}
@@ -0,0 +1,83 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.adapter.out.persistence.InMemoryConsultationRepository;
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.Consultation;
+import com.genovia.consultation.domain.model.ConsultationPage;
+import com.genovia.consultation.domain.model.ConsultationQuery;
+import com.genovia.consultation.domain.model.ConsultationStatus;
+import com.genovia.consultation.domain.model.DoctorReview;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsultationExportServiceTest {
+
+    private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final PageCountingRepository repository = new PageCountingRepository();
+    private final ConsultationExportService exportService = new ConsultationExportService(repository);
+
+    @Test
+    void shouldExportEveryConsultation_oneSmallPageAtATime() throws IOException {
+        for (int i = 0; i < 1_234; i++) {
+            repository.save(consultation(String.format("c-%04d", i), START.plusSeconds(i)));
+        }
+        List<String> exported = new ArrayList<>();
+
+        long count = exportService.exportConsultations(new ConsultationQuery(null, null, null, null, null, 100),
+                consultation -> {
+                    // Never more than the page being written has been read
+                    assertTrue(repository.pages.get() <= exported.size() / 100 + 1);
+                    exported.add(consultation.getId());
+                });
+
+        assertEquals(1_234L, count);
+        assertEquals(13, repository.pages.get());
+        assertEquals("c-0000", exported.get(0));
+        assertEquals("c-1233", exported.get(exported.size() - 1));
+        assertEquals(1_234L, exported.stream().distinct().count());
+    }
+
+    @Test
+    void shouldApplyFilters_acrossPages() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            Consultation consultation = consultation(String.format("c-%02d", i), START.plusSeconds(i));
+            repository.save(i % 5 == 0 ? consultation.withDoctorReview(DoctorReview.approved("dr", "ok")) : consultation);
+        }
+        List<String> exported = new ArrayList<>();
+
+        exportService.exportConsultations(new ConsultationQuery("pear-allergy", ConsultationStatus.APPROVED,
+                START.plusSeconds(10), START.plusSeconds(40), null, 2), consultation -> exported.add(consultation.getId()));
+
+        assertEquals(List.of("c-10", "c-15", "c-20", "c-25", "c-30", "c-35"), exported);
+    }
+
+    @Test
+    void shouldThrowException_whenFilterIsNull() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.exportConsultations(null, consultation -> {
+        }));
+    }
+
+    private static Consultation consultation(String id, Instant submittedAt) {
+        return new Consultation(id, "pear-allergy", List.of(new Answer("Q1", "YES")), submittedAt,
+                EligibilityResult.eligible());
+    }
+
+    private static class PageCountingRepository extends InMemoryConsultationRepository {
+        private final AtomicInteger pages = new AtomicInteger();
+
+        @Override
+        public ConsultationPage findPage(ConsultationQuery query) {
+            pages.incrementAndGet();
+            return super.findPage(query);
+        }
+    }
+}
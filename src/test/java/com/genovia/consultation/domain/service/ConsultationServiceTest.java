@@ -2,28 +2,37 @@ package com.genovia.consultation.domain.service;
 
 import com.genovia.consultation.adapter.out.messaging.ConsultationEventPublisher;
 import com.genovia.consultation.domain.model.*;
+import com.genovia.consultation.domain.port.out.ConsultationIdGenerator;
 import com.genovia.consultation.domain.port.out.ConsultationRepository;
 import com.genovia.consultation.domain.port.out.QuestionRepository;
 import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
 import com.genovia.consultation.domain.service.eligibility.HairLossEligibilityStrategy;
 import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.QuestionnaireEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.StrategyRegistration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class ConsultationServiceTest {
+    private static final ConsultationIdGenerator IDS = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
 
     private ConsultationService consultationService;
     private QuestionRepository questionRepository;
     private ConsultationRepository consultationRepository;
     private EligibilityService eligibilityService;
+    private EligibilityStrategyFactory strategyFactory;
     private ConsultationEventPublisher eventPublisher;
 
     @BeforeEach
@@ -31,7 +40,7 @@ class ConsultationServiceTest {
         questionRepository = mock(QuestionRepository.class);
         consultationRepository = mock(ConsultationRepository.class);
 
-        EligibilityStrategyFactory strategyFactory = new EligibilityStrategyFactory(
+        strategyFactory = new EligibilityStrategyFactory(
                 List.of(new PearAllergyEligibilityStrategy(), new HairLossEligibilityStrategy())
         );
         eligibilityService = new EligibilityService(strategyFactory);
@@ -100,6 +109,50 @@ class ConsultationServiceTest {
         verify(consultationRepository).save(any(Consultation.class));
     }
 
+    @Test
+    void shouldStoreReadOnlyAnswersAndSharedEligibleResult_withoutCopyOnRead() {
+
+        String productId = "pear-allergy";
+        List<Question> questions = List.of(new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null));
+        List<Answer> answers = List.of(new Answer("Q1", "YES"));
+
+        when(questionRepository.findByProductId(productId)).thenReturn(questions);
+        when(consultationRepository.save(any(Consultation.class))).thenAnswer(invocation ->
+                invocation.getArgument(0)
+        );
+
+        Consultation result = consultationService.submitConsultation(productId, answers);
+
+        List<Answer> stored = result.getAnswers();
+        assertEquals(answers, stored);
+        assertSame(stored, result.getAnswers());
+        assertThrows(UnsupportedOperationException.class, () -> stored.add(new Answer("Q2", "NO")));
+        assertSame(EligibilityResult.eligible(), result.getEligibilityResult());
+    }
+
+    @Test
+    void shouldRecordStrategyVersion_thatEvaluatedTheConsultation() {
+
+        String productId = "pear-allergy";
+        List<Question> questions = List.of(new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null));
+        List<Answer> answers = List.of(new Answer("Q1", "YES"));
+
+        when(questionRepository.findByProductId(productId)).thenReturn(questions);
+        when(consultationRepository.save(any(Consultation.class))).thenAnswer(invocation ->
+                invocation.getArgument(0)
+        );
+
+        long originalVersion = strategyFactory.getRegistration(productId).version();
+        Consultation before = consultationService.submitConsultation(productId, answers);
+        StrategyRegistration replacement = strategyFactory.register(
+                new QuestionnaireEligibilityStrategy(productId, "Please see your GP.")
+        );
+        Consultation after = consultationService.submitConsultation(productId, answers);
+
+        assertEquals(originalVersion, before.getStrategyVersion());
+        assertEquals(replacement.version(), after.getStrategyVersion());
+    }
+
     @Test
     void shouldSubmitConsultation_andReturnIneligible_whenAnswersAreDisqualifying() {
 
@@ -143,6 +196,7 @@ class ConsultationServiceTest {
     void shouldGetConsultation_whenIdExists() {
         String consultationId = "test-id";
         Consultation expectedConsultation = new Consultation(
+                IDS.nextId(),
                 "pear-allergy",
                 List.of(new Answer("Q1", "YES")),
                 EligibilityResult.eligible()
@@ -171,6 +225,29 @@ class ConsultationServiceTest {
         );
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldReviewConsultation_throughVersionedUpdate() {
+        Consultation pending = new Consultation(IDS.nextId(), "pear-allergy", List.of(new Answer("Q1", "YES")), EligibilityResult.eligible());
+        when(consultationRepository.update(eq(pending.getId()), eq(0L), any())).thenAnswer(invocation ->
+                Optional.of(((UnaryOperator<Consultation>) invocation.getArgument(2)).apply(pending).withVersion(1L)));
+
+        Consultation reviewed = consultationService.reviewConsultation(pending.getId(), 0L,
+                DoctorReview.rejected("dr-no", "nope")).orElseThrow();
+
+        assertEquals(ConsultationStatus.REJECTED, reviewed.getStatus());
+        assertEquals("dr-no", reviewed.getDoctorReview().reviewedBy());
+        verify(consultationRepository, never()).save(any());
+    }
+
+    @Test
+    void shouldThrowException_whenReviewHasNoReviewer() {
+        assertThrows(IllegalArgumentException.class, () ->
+                consultationService.reviewConsultation("c-1", 0L, DoctorReview.approved(" ", "fine"))
+        );
+        verifyNoInteractions(consultationRepository);
+    }
+
     @Test
     void shouldPublishEvent_whenConsultationIsEligibleAndKafkaEnabled() {
         eventPublisher = mock(ConsultationEventPublisher.class);
@@ -234,4 +311,125 @@ class ConsultationServiceTest {
 
         assertNotNull(result);
     }
+
+    @Test
+    void shouldSubmitBatch_withSingleBulkSave_andRejectUnknownProducts() {
+        List<Question> questions = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null)
+        );
+        when(questionRepository.findByProductId("pear-allergy")).thenReturn(questions);
+        when(questionRepository.findByProductId("unknown-product")).thenReturn(List.of());
+        when(consultationRepository.saveAll(any())).thenAnswer(i -> i.getArgument(0));
+
+        List<BatchSubmissionResult> results = consultationService.submitConsultations(List.of(
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "YES"))),
+                new ConsultationSubmission("unknown-product", List.of(new Answer("Q1", "YES"))),
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "NO")))
+        ));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isAccepted());
+        assertTrue(results.get(0).consultation().getEligibilityResult().isEligible());
+        assertFalse(results.get(1).isAccepted());
+        assertTrue(results.get(1).error().contains("unknown-product"));
+        assertTrue(results.get(2).isAccepted());
+        assertFalse(results.get(2).consultation().getEligibilityResult().isEligible());
+        verify(questionRepository, times(1)).findByProductId("pear-allergy");
+        verify(consultationRepository, times(1)).saveAll(any());
+        verify(consultationRepository, never()).save(any(Consultation.class));
+    }
+
+    @Test
+    void shouldRejectOnlyInvalidItem_whenBatchContainsDuplicateAnswers() {
+        List<Question> questions = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null)
+        );
+        when(questionRepository.findByProductId("pear-allergy")).thenReturn(questions);
+        when(consultationRepository.saveAll(any())).thenAnswer(i -> i.getArgument(0));
+
+        List<BatchSubmissionResult> results = consultationService.submitConsultations(List.of(
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "YES"), new Answer("Q1", "NO"))),
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "YES"))),
+                new ConsultationSubmission("pear-allergy", List.of())
+        ));
+
+        assertFalse(results.get(0).isAccepted());
+        assertTrue(results.get(0).error().contains("Duplicate answer"));
+        assertTrue(results.get(1).isAccepted());
+        assertFalse(results.get(2).isAccepted());
+    }
+
+    @Test
+    void shouldCountEachBatchItemOnce_whenCachedBatchFallsBackAfterABadSubmission() {
+        List<Question> questions = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null)
+        );
+        when(questionRepository.findByProductId("pear-allergy")).thenReturn(questions);
+        when(consultationRepository.saveAll(any())).thenAnswer(i -> i.getArgument(0));
+        EligibilityService cachedService = new EligibilityService(
+                strategyFactory, new EligibilityResultCache(100), new EligibilityFunnelStatistics());
+        ConsultationService service = new ConsultationService(
+                questionRepository, consultationRepository, cachedService, null);
+
+        List<BatchSubmissionResult> results = service.submitConsultations(List.of(
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "YES"))),
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "NO"))),
+                new ConsultationSubmission("pear-allergy", List.of(new Answer("Q1", "YES"), new Answer("Q1", "NO")))
+        ));
+
+        EligibilityFunnel funnel = cachedService.getEligibilityFunnel();
+        assertFalse(results.get(2).isAccepted());
+        assertEquals(1, funnel.eligible());
+        assertEquals(1, funnel.ineligible());
+        assertEquals(new EligibilityFunnel.QuestionFunnel("Q1", 2, 0, 1), funnel.products().get(0).questions().get(0));
+    }
+
+    @Test
+    void shouldPublishEligibleBatchEvents_inSingleCall() {
+        eventPublisher = mock(ConsultationEventPublisher.class);
+        ConsultationService serviceWithKafka = new ConsultationService(
+                questionRepository,
+                consultationRepository,
+                eligibilityService,
+                eventPublisher
+        );
+        List<Question> questions = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null)
+        );
+        when(questionRepository.findByProductId("hair-loss")).thenReturn(questions);
+        when(consultationRepository.saveAll(any())).thenAnswer(i -> i.getArgument(0));
+
+        serviceWithKafka.submitConsultations(List.of(
+                new ConsultationSubmission("hair-loss", List.of(new Answer("Q1", "YES"))),
+                new ConsultationSubmission("hair-loss", List.of(new Answer("Q1", "YES"))),
+                new ConsultationSubmission("hair-loss", List.of(new Answer("Q1", "NO")))
+        ));
+
+        verify(eventPublisher, times(1)).publishConsultationsSubmitted(argThat(events -> events.size() == 2));
+        verify(eventPublisher, never()).publishConsultationSubmitted(any(ConsultationSubmittedEvent.class));
+    }
+
+    @Test
+    void shouldThrowException_whenBatchIsEmpty() {
+        assertThrows(IllegalArgumentException.class, () ->
+                consultationService.submitConsultations(List.of())
+        );
+    }
+
+    @Test
+    void shouldShareCatalogAnswerInstances_acrossSubmissions() {
+
+        String productId = "pear-allergy";
+        List<Question> questions = List.of(new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null));
+
+        when(questionRepository.findByProductId(productId)).thenReturn(questions);
+        when(consultationRepository.save(any(Consultation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Consultation first = consultationService.submitConsultation(productId, List.of(new Answer("Q1", "YES")));
+        Consultation second = consultationService.submitConsultation(productId,
+                List.of(new Answer(new String("Q1"), new String("YES")), new Answer("Q9", "client-only")));
+
+        assertSame(first.getAnswers().get(0), second.getAnswers().get(0));
+        assertEquals(new Answer("Q9", "client-only"), second.getAnswers().get(1));
+    }
 }
@@ -0,0 +1,121 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.ProductFunnel;
+import com.genovia.consultation.domain.model.EligibilityFunnel.QuestionFunnel;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityFunnelStatisticsTest {
+
+    private final List<Question> questions = List.of(
+            new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+            new Question("Q2", "Have you had anaphylaxis?", QuestionType.YES_NO, true, "YES", null),
+            new Question("Q3", "Anything else?", QuestionType.TEXT, false, null, null)
+    );
+
+    private final EligibilityFunnelStatistics statistics = new EligibilityFunnelStatistics();
+
+    @Test
+    void shouldCountAnsweredMissingAndDisqualified_perQuestion() {
+        statistics.record("pear-allergy", questions,
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"), new Answer("Q3", "hay fever")),
+                EligibilityResult.eligible());
+        statistics.record("pear-allergy", questions,
+                List.of(new Answer("Q1", "no"), new Answer("Q2", "YES")),
+                EligibilityResult.ineligible("Not eligible"));
+        statistics.record("pear-allergy", questions,
+                List.of(new Answer("Q1", "  "), new Answer("UNKNOWN", "YES")),
+                EligibilityResult.ineligible("Please answer Q1"));
+
+        ProductFunnel product = statistics.snapshot().products().get(0);
+
+        assertEquals(1, product.eligible());
+        assertEquals(2, product.ineligible());
+        assertEquals(List.of(
+                new QuestionFunnel("Q1", 2, 1, 1),
+                new QuestionFunnel("Q2", 2, 1, 1),
+                new QuestionFunnel("Q3", 1, 0, 0)
+        ), product.questions());
+    }
+
+    @Test
+    void shouldSumTotalsAcrossProducts_inProductOrder() {
+        statistics.record("pear-allergy", questions, List.of(), EligibilityResult.ineligible("Please answer Q1"));
+        statistics.record("hair-loss", questions, List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")),
+                EligibilityResult.eligible());
+
+        EligibilityFunnel funnel = statistics.snapshot();
+
+        assertEquals(1, funnel.eligible());
+        assertEquals(1, funnel.ineligible());
+        assertEquals(List.of("hair-loss", "pear-allergy"),
+                funnel.products().stream().map(ProductFunnel::productId).toList());
+    }
+
+    @Test
+    void shouldKeepCounts_whenCatalogIsReloaded() {
+        statistics.record("pear-allergy", questions, List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")),
+                EligibilityResult.eligible());
+        List<Question> reloaded = List.of(questions.get(1), questions.get(0));
+        statistics.record("pear-allergy", reloaded, List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")),
+                EligibilityResult.eligible());
+        statistics.record("pear-allergy", List.of(questions.get(0)), List.of(new Answer("Q1", "YES")),
+                EligibilityResult.eligible());
+
+        List<QuestionFunnel> counts = statistics.snapshot().products().get(0).questions();
+
+        assertEquals(List.of(new QuestionFunnel("Q1", 3, 0, 0), new QuestionFunnel("Q2", 2, 0, 0),
+                new QuestionFunnel("Q3", 0, 0, 0)), counts);
+    }
+
+    @Test
+    void shouldCountRequiredQuestions_pastSixtyFourSlots() {
+        List<Question> large = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            large.add(new Question("Q" + i, "Question " + i, QuestionType.YES_NO, true, "YES", null));
+        }
+
+        statistics.record("large", large, List.of(new Answer("Q69", "YES")), EligibilityResult.ineligible("No"));
+
+        List<QuestionFunnel> counts = statistics.snapshot().products().get(0).questions();
+        assertEquals(new QuestionFunnel("Q0", 0, 1, 0), counts.get(0));
+        assertEquals(new QuestionFunnel("Q69", 1, 0, 1), counts.get(69));
+    }
+
+    @Test
+    void shouldLoseNoIncrements_underConcurrentRecording() throws Exception {
+        List<Answer> answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "YES"));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        statistics.record("pear-allergy", questions, answers, EligibilityResult.ineligible("No"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        ProductFunnel product = statistics.snapshot().products().get(0);
+        assertEquals(80_000, product.ineligible());
+        assertEquals(new QuestionFunnel("Q2", 80_000, 0, 80_000), product.questions().get(1));
+    }
+}
@@ -0,0 +1,222 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityAssessment;
+import com.genovia.consultation.domain.model.EligibilityCacheStats;
+import com.genovia.consultation.domain.model.EligibilityFunnel;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import com.genovia.consultation.domain.service.eligibility.EligibilityStrategyFactory;
+import com.genovia.consultation.domain.service.eligibility.PearAllergyEligibilityStrategy;
+import com.genovia.consultation.domain.service.eligibility.rules.DisqualificationRule;
+import com.genovia.consultation.domain.service.eligibility.rules.EligibilityRuleSet;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleCondition;
+import com.genovia.consultation.domain.service.eligibility.rules.RuleSetCompiler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EligibilityServiceTest {
+
+    private final List<Question> questions = List.of(
+            new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+            new Question("Q2", "Have you had anaphylaxis?", QuestionType.YES_NO, true, "YES", null)
+    );
+
+    private EligibilityResultCache resultCache;
+    private EligibilityService eligibilityService;
+
+    @BeforeEach
+    void setUp() {
+        resultCache = new EligibilityResultCache(100);
+        eligibilityService = new EligibilityService(
+                new EligibilityStrategyFactory(List.of(new PearAllergyEligibilityStrategy())),
+                resultCache
+        );
+    }
+
+    @Test
+    void shouldReturnSharedResult_whenAnswerVectorsAreEquivalent() {
+        EligibilityResult first = eligibilityService.determineEligibility("pear-allergy", 1L, questions, List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "NO")
+        ));
+        EligibilityResult second = eligibilityService.determineEligibility("pear-allergy", 1L, questions, List.of(
+                new Answer("Q2", "no"),
+                new Answer("Q1", "Yes"),
+                new Answer("UNKNOWN", "YES")
+        ));
+
+        assertTrue(first.isEligible());
+        assertSame(first, second);
+        assertEquals(1, resultCache.hits());
+        assertEquals(1, resultCache.misses());
+    }
+
+    @Test
+    void shouldInvalidateEntries_whenCatalogVersionChanges() {
+        List<Answer> answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"));
+
+        eligibilityService.determineEligibility("pear-allergy", 1L, questions, answers);
+        eligibilityService.determineEligibility("pear-allergy", 2L, questions, answers);
+
+        assertEquals(0, resultCache.hits());
+        assertEquals(2, resultCache.misses());
+        assertEquals(1, resultCache.size());
+    }
+
+    @Test
+    void shouldMiss_whenQuestionListIsReplacedUnderSameVersion() {
+        List<Answer> answers = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"));
+
+        eligibilityService.determineEligibility("pear-allergy", 1L, questions, answers);
+        EligibilityResult result = eligibilityService.determineEligibility(
+                "pear-allergy", 1L, List.of(questions.get(0)), answers);
+
+        assertTrue(result.isEligible());
+        assertEquals(0, resultCache.hits());
+    }
+
+    @Test
+    void shouldBypassCache_whenAnswersAreNotCanonicalizable() {
+        EligibilityResult result = eligibilityService.determineEligibility("pear-allergy", 1L, questions, List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "maybe")
+        ));
+
+        assertTrue(result.isEligible());
+        assertEquals(0, resultCache.size());
+        assertEquals(0, resultCache.misses());
+        assertThrows(IllegalArgumentException.class, () ->
+                eligibilityService.determineEligibility("pear-allergy", 1L, questions, List.of(
+                        new Answer("Q1", "YES"),
+                        new Answer("Q1", "NO")
+                ))
+        );
+    }
+
+    @Test
+    void shouldKeyCacheOnRuleQuestions_missingFromCatalog() {
+        EligibilityService service = new EligibilityService(new EligibilityStrategyFactory(List.of(
+                RuleSetCompiler.compile(new EligibilityRuleSet("pear-allergy", "No", List.of("Q1"), List.of(
+                        new DisqualificationRule(new RuleCondition.AnswerIn("EXTRA", List.of("YES")), null)))))),
+                resultCache);
+
+        EligibilityResult withoutExtra = service.determineEligibility("pear-allergy", 1L, questions, List.of(
+                new Answer("Q1", "YES"), new Answer("EXTRA", "NO")));
+        EligibilityResult withExtra = service.determineEligibility("pear-allergy", 1L, questions, List.of(
+                new Answer("Q1", "YES"), new Answer("EXTRA", "YES")));
+
+        assertTrue(withoutExtra.isEligible());
+        assertFalse(withExtra.isEligible());
+        assertEquals(0, resultCache.hits());
+        assertEquals(2, resultCache.size());
+    }
+
+    @Test
+    void shouldStopCaching_whenCacheIsFull() {
+        EligibilityService service = new EligibilityService(
+                new EligibilityStrategyFactory(List.of(new PearAllergyEligibilityStrategy())),
+                new EligibilityResultCache(1)
+        );
+
+        service.determineEligibility("pear-allergy", 1L, questions, List.of(new Answer("Q1", "YES")));
+        EligibilityResult result = service.determineEligibility("pear-allergy", 1L, questions, List.of(new Answer("Q1", "NO")));
+
+        assertFalse(result.isEligible());
+        assertEquals(1, service.getResultCache().size());
+    }
+
+    @Test
+    void shouldEvaluateBatchThroughCache() {
+        List<EligibilityAssessment> results = eligibilityService.assessEligibilityBatch("pear-allergy", 1L, questions, List.of(
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")),
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO")),
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "YES"))
+        ));
+
+        assertTrue(results.get(0).result().isEligible());
+        assertSame(results.get(0).result(), results.get(1).result());
+        assertFalse(results.get(2).result().isEligible());
+        assertEquals(0, resultCache.hits());
+        assertEquals(2, resultCache.size());
+
+        List<EligibilityAssessment> again = eligibilityService.assessEligibilityBatch("pear-allergy", 1L, questions, List.of(
+                List.of(new Answer("Q2", "yes"), new Answer("Q1", "YES"))
+        ));
+        assertSame(results.get(2).result(), again.get(0).result());
+        assertEquals(1, resultCache.hits());
+    }
+
+    @Test
+    void shouldSendOnlyDistinctCacheMisses_throughStrategyBatch() {
+        List<List<List<Answer>>> batches = new ArrayList<>();
+        PearAllergyEligibilityStrategy strategy = new PearAllergyEligibilityStrategy() {
+            @Override
+            public List<EligibilityResult> evaluateBatch(List<Question> consultationQuestions,
+                                                         List<List<Answer>> answerSets) {
+                batches.add(answerSets);
+                return super.evaluateBatch(consultationQuestions, answerSets);
+            }
+        };
+        EligibilityService service = new EligibilityService(new EligibilityStrategyFactory(List.of(strategy)), resultCache);
+        List<Answer> eligible = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"));
+        List<Answer> ineligible = List.of(new Answer("Q1", "NO"), new Answer("Q2", "NO"));
+        List<Answer> freeText = List.of(new Answer("Q1", "maybe"), new Answer("Q2", "NO"));
+        service.determineEligibility("pear-allergy", 1L, questions, eligible);
+
+        List<EligibilityAssessment> results = service.assessEligibilityBatch("pear-allergy", 1L, questions,
+                List.of(eligible, ineligible, freeText, ineligible));
+
+        assertEquals(List.of(List.of(ineligible, freeText)), batches);
+        assertTrue(results.get(0).result().isEligible());
+        assertFalse(results.get(1).result().isEligible());
+        assertSame(results.get(1).result(), results.get(3).result());
+        assertEquals(new EligibilityCacheStats(true, 1, 3, 2), service.getResultCacheStats());
+    }
+
+    @Test
+    void shouldReportDisabledCacheStats_whenCacheIsOff() {
+        EligibilityService service = new EligibilityService(
+                new EligibilityStrategyFactory(List.of(new PearAllergyEligibilityStrategy())));
+
+        service.determineEligibility("pear-allergy", 1L, questions, List.of(new Answer("Q1", "YES")));
+
+        assertEquals(new EligibilityCacheStats(false, 0, 0, 0), service.getResultCacheStats());
+    }
+
+    @Test
+    void shouldRecordFunnel_forCacheHitsAndBatches_butNotRejectedSubmissions() {
+        EligibilityService service = new EligibilityService(
+                new EligibilityStrategyFactory(List.of(new PearAllergyEligibilityStrategy())),
+                resultCache,
+                new EligibilityFunnelStatistics()
+        );
+        List<Answer> eligible = List.of(new Answer("Q1", "YES"), new Answer("Q2", "NO"));
+
+        service.determineEligibility("pear-allergy", 1L, questions, eligible);
+        service.determineEligibility("pear-allergy", 1L, questions, eligible);
+        service.assessEligibilityBatch("pear-allergy", 1L, questions, List.of(
+                List.of(new Answer("Q1", "YES"), new Answer("Q2", "YES"))));
+        assertThrows(IllegalArgumentException.class, () -> service.determineEligibility("pear-allergy", 1L, questions,
+                List.of(new Answer("Q1", "YES"), new Answer("Q1", "NO"))));
+
+        EligibilityFunnel funnel = service.getEligibilityFunnel();
+        assertEquals(1, resultCache.hits());
+        assertEquals(2, funnel.eligible());
+        assertEquals(1, funnel.ineligible());
+        assertEquals(new EligibilityFunnel.QuestionFunnel("Q2", 3, 0, 1), funnel.products().get(0).questions().get(1));
+    }
+
+    @Test
+    void shouldReportEmptyFunnel_whenStatisticsAreDisabled() {
+        eligibilityService.determineEligibility("pear-allergy", 1L, questions, List.of(new Answer("Q1", "YES")));
+
+        assertEquals(new EligibilityFunnel(0, 0, List.of()), eligibilityService.getEligibilityFunnel());
+    }
+}
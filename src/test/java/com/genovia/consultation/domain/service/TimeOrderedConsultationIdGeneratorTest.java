@@ -0,0 +1,92 @@
+package com.genovia.consultation.domain.service;
+
+import com.genovia.consultation.domain.model.ConsultationId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedConsultationIdGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Test
+    void shouldProduceVersion7Uuids_whenIdGenerated() {
+        ConsultationId id = new TimeOrderedConsultationIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC)).nextId();
+
+        UUID uuid = UUID.fromString(id.toString());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(NOW, id.timestamp());
+    }
+
+    @Test
+    void shouldBeStrictlyIncreasing_whenClockDoesNotAdvance() {
+        TimeOrderedConsultationIdGenerator generator = new TimeOrderedConsultationIdGenerator(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        ConsultationId previous = generator.nextId();
+        for (int i = 0; i < 10_000; i++) {
+            ConsultationId next = generator.nextId();
+            assertTrue(previous.compareTo(next) < 0);
+            assertTrue(previous.toString().compareTo(next.toString()) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void shouldBeUnique_whenGeneratedConcurrently() throws InterruptedException {
+        TimeOrderedConsultationIdGenerator generator = new TimeOrderedConsultationIdGenerator(Clock.systemUTC());
+        Set<ConsultationId> ids = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, ids.size());
+    }
+
+    @Test
+    void shouldRoundTripThroughString_whenIdIsCanonicalUuid() {
+        ConsultationId id = new TimeOrderedConsultationIdGenerator(Clock.systemUTC()).nextId();
+
+        ConsultationId parsed = ConsultationId.of(id.toString());
+
+        assertTrue(parsed.isCompact());
+        assertEquals(id, parsed);
+        assertEquals(id.hashCode(), parsed.hashCode());
+    }
+
+    @Test
+    void shouldKeepStringAsIs_whenIdIsNotCanonicalUuid() {
+        Set<ConsultationId> ids = new HashSet<>();
+        ConsultationId legacy = ConsultationId.of("c-1");
+        ConsultationId upperCase = ConsultationId.of("0190B0A4-7C00-7000-8000-000000000001");
+        ids.add(legacy);
+        ids.add(upperCase);
+
+        assertFalse(legacy.isCompact());
+        assertEquals("c-1", legacy.toString());
+        assertEquals("0190B0A4-7C00-7000-8000-000000000001", upperCase.toString());
+        assertNull(legacy.timestamp());
+        assertTrue(ids.contains(ConsultationId.of("c-1")));
+        assertTrue(new TimeOrderedConsultationIdGenerator(Clock.systemUTC()).nextId().compareTo(legacy) < 0);
+    }
+}
@@ -0,0 +1,182 @@
+package com.genovia.consultation.domain.service.eligibility;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import com.genovia.consultation.domain.model.Question;
+import com.genovia.consultation.domain.model.QuestionType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecisionTableTest {
+
+    private static final String INELIGIBLE_MESSAGE = "Not eligible";
+
+    private final List<Question> questions = List.of(
+            new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+            new Question("Q2", "Have you had anaphylaxis?", QuestionType.YES_NO, true, "yes", null),
+            new Question("Q3", "Taking medication?", QuestionType.YES_NO, false, "YES", null)
+    );
+
+    @Test
+    void shouldReturnEligible_whenNoQuestionDisqualifies() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+
+        EligibilityResult result = table.evaluate(List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "NO")
+        ));
+
+        assertTrue(result.isEligible());
+    }
+
+    @Test
+    void shouldReportFirstFailingQuestionInCatalogOrder() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+
+        EligibilityResult result = table.evaluate(List.of(
+                new Answer("Q3", "YES"),
+                new Answer("Q2", "YES")
+        ));
+
+        assertFalse(result.isEligible());
+        assertEquals("Required question 'Q1' was not answered.", result.getReason());
+    }
+
+    @Test
+    void shouldMatchNormalizedDisqualifyingAnswer_caseInsensitively() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+
+        EligibilityResult result = table.evaluate(List.of(
+                new Answer("Q1", "yes"),
+                new Answer("Q2", "Yes")
+        ));
+
+        assertFalse(result.isEligible());
+        assertEquals(INELIGIBLE_MESSAGE, result.getReason());
+    }
+
+    @Test
+    void shouldTreatWhitespaceOnlyAnswer_asNotAnswered() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+
+        EligibilityResult result = table.evaluate(List.of(
+                new Answer("Q1", " \t "),
+                new Answer("Q2", "NO")
+        ));
+
+        assertEquals("Required question 'Q1' was not answered.", result.getReason());
+    }
+
+    @Test
+    void shouldIgnoreAnswersToUnknownQuestions() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+
+        EligibilityResult result = table.evaluate(List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "NO"),
+                new Answer("UNKNOWN", "YES")
+        ));
+
+        assertTrue(result.isEligible());
+    }
+
+    @Test
+    void shouldRejectDuplicateAnswers() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+
+        assertThrows(IllegalArgumentException.class, () -> table.evaluate(List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q1", "NO")
+        )));
+    }
+
+    @Test
+    void shouldRejectCatalogWithDuplicateQuestionIds() {
+        List<Question> duplicated = List.of(
+                new Question("Q1", "First", QuestionType.YES_NO, true, "NO", null),
+                new Question("Q1", "Second", QuestionType.YES_NO, true, "NO", null)
+        );
+
+        assertThrows(IllegalArgumentException.class, () ->
+                EligibilityRuleCompiler.compile(duplicated, INELIGIBLE_MESSAGE)
+        );
+    }
+
+    @Test
+    void shouldReuseTable_whileCatalogListIsUnchanged() {
+        PearAllergyEligibilityStrategy strategy = new PearAllergyEligibilityStrategy();
+
+        DecisionTable first = strategy.decisionTableFor(questions);
+        DecisionTable second = strategy.decisionTableFor(questions);
+        DecisionTable recompiled = strategy.decisionTableFor(List.copyOf(questions.subList(0, 2)));
+
+        assertSame(first, second);
+        assertNotSame(first, recompiled);
+        assertEquals(2, recompiled.size());
+    }
+
+    @Test
+    void shouldCompileSnapshot_whenCatalogListIsMutable() {
+        List<Question> mutable = new ArrayList<>(questions);
+
+        DecisionTable table = EligibilityRuleCompiler.compile(mutable, INELIGIBLE_MESSAGE);
+        mutable.remove(1);
+
+        assertEquals(3, table.size());
+        assertFalse(table.isCompiledFrom(mutable));
+        assertTrue(EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE).isCompiledFrom(questions));
+    }
+
+    @Test
+    void shouldUseBitmaskPath_onlyForYesNoQuestionnaires() {
+        List<Question> mixed = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null),
+                new Question("Q2", "Describe symptoms", QuestionType.TEXT, false, null, null)
+        );
+
+        assertTrue(EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE).isYesNoOnly());
+        assertFalse(EligibilityRuleCompiler.compile(mixed, INELIGIBLE_MESSAGE).isYesNoOnly());
+    }
+
+    @Test
+    void shouldFallBackToGenericPath_whenAnswerIsNotYesOrNo() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+        List<Answer> answers = List.of(
+                new Answer("Q1", "YES"),
+                new Answer("Q2", "maybe")
+        );
+
+        assertNull(table.evaluateBitmask(answers));
+        assertTrue(table.evaluate(answers).isEligible());
+    }
+
+    @Test
+    void shouldReturnIdenticalResults_fromBitmaskAndGenericPaths() {
+        DecisionTable table = EligibilityRuleCompiler.compile(questions, INELIGIBLE_MESSAGE);
+        String[] values = {null, "YES", "no", "Yes", "  ", "maybe"};
+
+        int combinations = (int) Math.pow(values.length, questions.size());
+        for (int combination = 0; combination < combinations; combination++) {
+            List<Answer> answers = new ArrayList<>();
+            int remaining = combination;
+            for (Question question : questions) {
+                String value = values[remaining % values.length];
+                remaining /= values.length;
+                if (value != null) {
+                    answers.add(new Answer(question.id(), value));
+                }
+            }
+
+            EligibilityResult generic = table.evaluateGeneric(answers);
+            EligibilityResult bitmask = table.evaluateBitmask(answers);
+            assertEquals(generic, table.evaluate(answers), answers.toString());
+            if (bitmask != null) {
+                assertSame(generic, bitmask, answers.toString());
+            }
+        }
+    }
+}
@@ -135,4 +135,37 @@ class EligibilityStrategyFactoryTest {
             () -> singleFactory.getStrategy("hair-loss")
         );
     }
+
+    @Test
+    void shouldReplaceStrategy_withNewVersion_whenRegisteringExistingProduct() {
+
+        StrategyRegistration original = factory.getRegistration("hair-loss");
+        StrategyRegistration replacement = factory.register(
+            new QuestionnaireEligibilityStrategy("hair-loss", "Please see a specialist.")
+        );
+
+        assertTrue(replacement.version() > original.version());
+        assertSame(replacement, factory.getRegistration("hair-loss"));
+        assertInstanceOf(QuestionnaireEligibilityStrategy.class, factory.getStrategy("hair-loss"));
+        assertInstanceOf(HairLossEligibilityStrategy.class, original.strategy());
+    }
+
+    @Test
+    void shouldRegisterNewProduct_atRuntime() {
+
+        factory.register(new QuestionnaireEligibilityStrategy("acne", "Please see your GP."));
+
+        assertTrue(factory.hasStrategy("acne"));
+        assertEquals(3, factory.getRegistrations().size());
+    }
+
+    @Test
+    void shouldRetireStrategy_andRejectLaterLookups() {
+
+        assertTrue(factory.retire("pear-allergy"));
+        assertFalse(factory.retire("pear-allergy"));
+
+        assertFalse(factory.hasStrategy("pear-allergy"));
+        assertThrows(IllegalArgumentException.class, () -> factory.getStrategy("pear-allergy"));
+    }
 }
@@ -7,6 +7,7 @@ import com.genovia.consultation.domain.model.QuestionType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -78,4 +79,22 @@ class PearAllergyEligibilityStrategyTest {
         assertFalse(result.isEligible());
         assertTrue(result.getReason().contains("Q2"));
     }
+
+    @Test
+    void shouldEvaluateBatch_inSubmissionOrder() {
+        List<Question> questions = List.of(
+                new Question("Q1", "Are you 18+?", QuestionType.YES_NO, true, "NO", null)
+        );
+        List<List<Answer>> answerSets = new ArrayList<>();
+        for (int i = 0; i < EligibilityStrategy.PARALLEL_BATCH_THRESHOLD * 2; i++) {
+            answerSets.add(List.of(new Answer("Q1", i % 3 == 0 ? "NO" : "YES")));
+        }
+
+        List<EligibilityResult> results = strategy.evaluateBatch(questions, answerSets);
+
+        assertEquals(answerSets.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i % 3 != 0, results.get(i).isEligible());
+        }
+    }
 }
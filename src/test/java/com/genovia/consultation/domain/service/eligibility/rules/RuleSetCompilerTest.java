@@ -0,0 +1,118 @@
+package com.genovia.consultation.domain.service.eligibility.rules;
+
+import com.genovia.consultation.domain.model.Answer;
+import com.genovia.consultation.domain.model.EligibilityResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSetCompilerTest {
+
+    private static final String INELIGIBLE_MESSAGE = "Please speak with your GP.";
+
+    private final EligibilityRuleSet ruleSet = new EligibilityRuleSet(
+            "acne",
+            INELIGIBLE_MESSAGE,
+            List.of("AC1", "AC2"),
+            List.of(
+                    new DisqualificationRule(new RuleCondition.AnswerIn("AC1", List.of("NO")), null),
+                    new DisqualificationRule(
+                            new RuleCondition.NumericThreshold("AC2", RuleCondition.Comparison.LESS_THAN, 12),
+                            "Treatment is only available from age 12."),
+                    new DisqualificationRule(new RuleCondition.AllOf(List.of(
+                            new RuleCondition.AnswerIn("AC3", List.of("YES")),
+                            new RuleCondition.AnyOf(List.of(
+                                    new RuleCondition.AnswerIn("AC4", List.of("PREGNANT", "BREASTFEEDING")),
+                                    new RuleCondition.Not(new RuleCondition.Answered("AC5"))
+                            ))
+                    )), null)
+            )
+    );
+
+    private final RuleBasedEligibilityStrategy strategy = RuleSetCompiler.compile(ruleSet);
+
+    @Test
+    void shouldReturnEligible_whenNoRuleMatches() {
+        EligibilityResult result = evaluate(
+                new Answer("AC1", "YES"),
+                new Answer("AC2", "30"),
+                new Answer("AC3", "NO")
+        );
+
+        assertTrue(result.isEligible());
+        assertEquals("acne", strategy.getProductId());
+    }
+
+    @Test
+    void shouldReportMissingRequiredAnswer_beforeAnyRule() {
+        EligibilityResult result = evaluate(
+                new Answer("AC1", "NO"),
+                new Answer("AC2", "  ")
+        );
+
+        assertEquals("Required question 'AC2' was not answered.", result.getReason());
+    }
+
+    @Test
+    void shouldMatchDisqualifyingValue_caseInsensitively() {
+        EligibilityResult result = evaluate(
+                new Answer("AC1", "no"),
+                new Answer("AC2", "30")
+        );
+
+        assertEquals(INELIGIBLE_MESSAGE, result.getReason());
+    }
+
+    @Test
+    void shouldApplyNumericThreshold_withRuleMessage() {
+        assertEquals("Treatment is only available from age 12.",
+                evaluate(new Answer("AC1", "YES"), new Answer("AC2", "11.5")).getReason());
+        assertTrue(evaluate(new Answer("AC1", "YES"), new Answer("AC2", "12")).isEligible());
+        assertTrue(evaluate(new Answer("AC1", "YES"), new Answer("AC2", "twelve")).isEligible());
+    }
+
+    @Test
+    void shouldCombineConditions_withAllAnyAndNot() {
+        assertEquals(INELIGIBLE_MESSAGE, evaluate(
+                new Answer("AC1", "YES"), new Answer("AC2", "30"),
+                new Answer("AC3", "YES"), new Answer("AC4", "pregnant"), new Answer("AC5", "x")
+        ).getReason());
+        assertEquals(INELIGIBLE_MESSAGE, evaluate(
+                new Answer("AC1", "YES"), new Answer("AC2", "30"), new Answer("AC3", "YES")
+        ).getReason());
+        assertTrue(evaluate(
+                new Answer("AC1", "YES"), new Answer("AC2", "30"),
+                new Answer("AC3", "YES"), new Answer("AC4", "NONE"), new Answer("AC5", "x")
+        ).isEligible());
+    }
+
+    @Test
+    void shouldRejectDuplicateAnswers() {
+        assertThrows(IllegalArgumentException.class, () -> evaluate(
+                new Answer("AC1", "YES"),
+                new Answer("AC1", "NO")
+        ));
+    }
+
+    @Test
+    void shouldRejectRuleSet_withoutProductId() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new EligibilityRuleSet(" ", INELIGIBLE_MESSAGE, List.of(), List.of())
+        );
+    }
+
+    @Test
+    void shouldBindEachRuleSet_intoItsOwnHiddenClass() {
+        RuleBasedEligibilityStrategy other = RuleSetCompiler.compile(ruleSet);
+
+        assertTrue(strategy.evaluator().getClass().isHidden());
+        assertNotSame(strategy.evaluator().getClass(), other.evaluator().getClass());
+        assertEquals(List.of("AC1", "AC2", "AC3", "AC4", "AC5"), strategy.observedQuestionIds());
+    }
+
+    private EligibilityResult evaluate(Answer... answers) {
+        return strategy.evaluate(List.of(), List.of(answers));
+    }
+}